@@ -0,0 +1,77 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.benchmarks;
+
+import com.github.breadmoirai.breadbot.framework.builder.BreadBotBuilder;
+import com.github.breadmoirai.breadbot.framework.event.CommandArgumentList;
+import com.github.breadmoirai.breadbot.framework.event.CommandEventFactory;
+import com.github.breadmoirai.breadbot.framework.event.internal.CommandEventInternal;
+import com.github.breadmoirai.breadbot.framework.internal.BreadBotImpl;
+import com.github.breadmoirai.breadbot.framework.parameter.CommandParameter;
+import com.github.breadmoirai.breadbot.framework.parameter.CommandParser;
+import com.github.breadmoirai.breadbot.framework.parameter.internal.ArgumentParserImpl;
+import com.github.breadmoirai.breadbot.plugins.prefix.UnmodifiablePrefixPlugin;
+import com.github.breadmoirai.tests.MockFactory;
+import com.github.breadmoirai.tests.commands.PingCommand;
+import net.dv8tion.jda.api.events.message.guild.GuildMessageReceivedEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link ArgumentParserImpl#parse} for each kind of width: a single argument ({@code 1}),
+ * the longest contiguous match ({@code 0}), all remaining arguments ({@code -1}) and a fixed count ({@code 3}).
+ * The target type is an Integer, so the wider parsers exercise their search over joined arguments.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArgumentParserBenchmark {
+
+    @Param({"1", "0", "-1", "3"})
+    public int width;
+
+    private CommandEventInternal event;
+    private CommandArgumentList arguments;
+    private ArgumentParserImpl argumentParser;
+
+    @Setup
+    public void setup() {
+        final BreadBotImpl bot = (BreadBotImpl) new BreadBotBuilder().addCommand(PingCommand.class).build();
+        final GuildMessageReceivedEvent jdaEvent = MockFactory.mockMessageEvent("!ping add twelve apples and 7 oranges to basket 42", MockFactory.UserType.BASIC);
+        event = new CommandEventFactory(new UnmodifiablePrefixPlugin("!")).createEvent(jdaEvent, jdaEvent.getMessage(), bot);
+        arguments = event.getArguments();
+        // resolve every argument up front so that the lazy list does not dominate the measurement
+        arguments.forEach(argument -> {});
+        argumentParser = new ArgumentParserImpl(0, width, false, null, bot.getArgumentTypes().getTypeParser(Integer.class));
+    }
+
+    @Benchmark
+    public Object parse() {
+        final CommandParser parser = new CommandParser(event, null, arguments, new CommandParameter[0]);
+        return argumentParser.parse(null, arguments, parser);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.benchmarks;
+
+import com.github.breadmoirai.breadbot.framework.event.ArgumentSplitter;
+import com.github.breadmoirai.breadbot.framework.event.internal.DefaultArgumentSplitterImpl;
+import com.github.breadmoirai.breadbot.framework.event.internal.DelimiterArgumentSplitter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.regex.Pattern;
+
+/**
+ * Measures {@link DefaultArgumentSplitterImpl#getArguments(String)} over plain, quoted and code-block content,
+ * and {@link DelimiterArgumentSplitter} over content split on a literal comma as with {@code @Delimiter(regex = ",")}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArgumentSplitterBenchmark {
+
+    @Param({"plain", "quoted", "codeblock", "delimited"})
+    public String kind;
+
+    private ArgumentSplitter splitter;
+    private String content;
+
+    @Setup
+    public void setup() {
+        splitter = new DefaultArgumentSplitterImpl();
+        switch (kind) {
+            case "plain":
+                content = "add 12 apples and 7 oranges to the basket";
+                break;
+            case "quoted":
+                content = "remind \"take out the trash\" in \"3 hours\" \"every day\"";
+                break;
+            case "codeblock":
+                content = "```java\npublic static void main(String[] args) {\n    System.out.println(\"hi\");\n}\n```";
+                break;
+            case "delimited":
+                splitter = DelimiterArgumentSplitter.compile(Pattern.compile(","), 0);
+                content = "red, green, blue, \"light yellow\", cyan";
+                break;
+            default:
+                throw new IllegalArgumentException(kind);
+        }
+    }
+
+    @Benchmark
+    public void getArguments(Blackhole bh) {
+        final Iterator<String> arguments = splitter.getArguments(content);
+        while (arguments.hasNext()) {
+            bh.consume(arguments.next());
+        }
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.benchmarks;
+
+import com.github.breadmoirai.breadbot.framework.command.internal.CommandMethodInvokers;
+import com.github.breadmoirai.breadbot.framework.command.internal.InvokableCommand;
+import com.github.breadmoirai.breadbot.framework.command.internal.InvokableCommandHandle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures calling command methods through one call site, as {@code CommandHandleImpl} does for every registered
+ * command, with the invokers that {@link CommandMethodInvokers} generates.
+ * They are compared against the spread {@link MethodHandle} that was used before, and against a single
+ * {@link LambdaMetafactory} adapter per arity that is shared by all commands.
+ * With {@code commands} greater than one the calls rotate through that many different command classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandInvokerBenchmark {
+
+    private static final Class<?>[] COMMANDS = {
+            Add.class, Subtract.class, Multiply.class, Divide.class, Max.class, Min.class, Xor.class, Shift.class
+    };
+
+    @Param({"generated", "shared", "handle"})
+    public String kind;
+
+    @Param({"1", "8"})
+    public int commands;
+
+    private InvokableCommand[] invokers;
+    private Object[] receivers;
+    private Object[] arguments;
+    private int next;
+
+    @Setup
+    public void setup() throws Throwable {
+        invokers = new InvokableCommand[commands];
+        receivers = new Object[commands];
+        for (int i = 0; i < commands; i++) {
+            final Method method = COMMANDS[i].getMethod("apply", int.class, int.class);
+            receivers[i] = COMMANDS[i].getConstructor().newInstance();
+            switch (kind) {
+                case "generated":
+                    invokers[i] = CommandMethodInvokers.create(method);
+                    break;
+                case "shared":
+                    invokers[i] = shared(method);
+                    break;
+                case "handle":
+                    invokers[i] = new InvokableCommandHandle(MethodHandles.publicLookup().unreflect(method)
+                                                                     .asSpreader(Object[].class, 2));
+                    break;
+                default:
+                    throw new IllegalArgumentException(kind);
+            }
+        }
+        arguments = new Object[]{12, 30};
+    }
+
+    @Benchmark
+    public Object invoke() throws Throwable {
+        final int i = next;
+        next = i + 1 == commands ? 0 : i + 1;
+        return invokers[i].invoke(receivers[i], arguments);
+    }
+
+    public interface Fn2 {
+        Object apply(Object o, Object a, Object b);
+    }
+
+    /**
+     * How two-argument commands were bound before: one class per command implementing {@link Fn2}, called from a
+     * lambda that every such command shares.
+     */
+    private static InvokableCommand shared(Method method) throws Throwable {
+        final MethodHandles.Lookup lookup = MethodHandles.lookup();
+        final MethodType instantiated = MethodType.methodType(Integer.class, method.getDeclaringClass(), Integer.class,
+                                                              Integer.class);
+        final Fn2 fn = (Fn2) LambdaMetafactory.metafactory(lookup, "apply", MethodType.methodType(Fn2.class),
+                                                           MethodType.genericMethodType(3), lookup.unreflect(method),
+                                                           instantiated).getTarget().invoke();
+        return (o, p) -> fn.apply(o, p[0], p[1]);
+    }
+
+    public static class Add {
+        public int apply(int a, int b) {
+            return a + b;
+        }
+    }
+
+    public static class Subtract {
+        public int apply(int a, int b) {
+            return a - b;
+        }
+    }
+
+    public static class Multiply {
+        public int apply(int a, int b) {
+            return a * b;
+        }
+    }
+
+    public static class Divide {
+        public int apply(int a, int b) {
+            return b == 0 ? 0 : a / b;
+        }
+    }
+
+    public static class Max {
+        public int apply(int a, int b) {
+            return Math.max(a, b);
+        }
+    }
+
+    public static class Min {
+        public int apply(int a, int b) {
+            return Math.min(a, b);
+        }
+    }
+
+    public static class Xor {
+        public int apply(int a, int b) {
+            return a ^ b;
+        }
+    }
+
+    public static class Shift {
+        public int apply(int a, int b) {
+            return a << (b & 31);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.benchmarks;
+
+import com.github.breadmoirai.breadbot.framework.annotation.command.Command;
+import com.github.breadmoirai.breadbot.framework.builder.BreadBotBuilder;
+import com.github.breadmoirai.breadbot.framework.event.CommandEvent;
+import com.github.breadmoirai.breadbot.framework.internal.BreadBotImpl;
+import com.github.breadmoirai.tests.MockFactory;
+import com.github.breadmoirai.tests.commands.PingCommand;
+import net.dv8tion.jda.api.events.message.guild.GuildMessageReceivedEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures a message from the moment JDA hands it to {@link BreadBotImpl#onEvent} until the command has returned.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DispatchBenchmark {
+
+    @Param({"!ping", "!add 12 30", "!unknown command", "just chatting"})
+    public String input;
+
+    private BreadBotImpl bot;
+    private GuildMessageReceivedEvent event;
+
+    @Setup
+    public void setup() {
+        bot = (BreadBotImpl) new BreadBotBuilder()
+                .addCommand(PingCommand.class)
+                .addCommand(AddCommand.class)
+                .build();
+        event = MockFactory.mockMessageEvent(input, MockFactory.UserType.BASIC);
+    }
+
+    @Benchmark
+    public void onEvent() {
+        bot.onEvent(event);
+    }
+
+    public static class AddCommand {
+
+        @Command
+        public void add(CommandEvent event, int a, int b) {
+            // builds the response without sending it
+            event.reply(String.valueOf(a + b));
+        }
+    }
+}
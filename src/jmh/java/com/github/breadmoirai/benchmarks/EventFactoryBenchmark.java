@@ -0,0 +1,66 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.benchmarks;
+
+import com.github.breadmoirai.breadbot.framework.builder.BreadBotBuilder;
+import com.github.breadmoirai.breadbot.framework.event.CommandEventFactory;
+import com.github.breadmoirai.breadbot.framework.event.internal.CommandEventInternal;
+import com.github.breadmoirai.breadbot.framework.internal.BreadBotImpl;
+import com.github.breadmoirai.breadbot.plugins.prefix.UnmodifiablePrefixPlugin;
+import com.github.breadmoirai.tests.MockFactory;
+import com.github.breadmoirai.tests.commands.PingCommand;
+import net.dv8tion.jda.api.events.message.guild.GuildMessageReceivedEvent;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link CommandEventFactory#createEvent} for a command, a command with arguments, and a message that is not a command.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventFactoryBenchmark {
+
+    @Param({"!ping", "!ping some arguments \"in quotes\"", "just chatting"})
+    public String input;
+
+    private BreadBotImpl bot;
+    private CommandEventFactory factory;
+    private GuildMessageReceivedEvent event;
+
+    @Setup
+    public void setup() {
+        bot = (BreadBotImpl) new BreadBotBuilder().addCommand(PingCommand.class).build();
+        factory = new CommandEventFactory(new UnmodifiablePrefixPlugin("!"));
+        event = MockFactory.mockMessageEvent(input, MockFactory.UserType.BASIC);
+    }
+
+    @Benchmark
+    public CommandEventInternal createEvent() {
+        return factory.createEvent(event, event.getMessage(), bot);
+    }
+}
@@ -0,0 +1,308 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.benchmarks.load;
+
+import com.github.breadmoirai.breadbot.framework.builder.BreadBotBuilder;
+import com.github.breadmoirai.breadbot.framework.command.Command;
+import com.github.breadmoirai.breadbot.framework.command.CommandExecutionStrategy;
+import com.github.breadmoirai.breadbot.framework.internal.BreadBotImpl;
+import com.github.breadmoirai.breadbot.framework.metrics.LatencyHistogram;
+import com.github.breadmoirai.breadbot.framework.metrics.LatencySnapshot;
+import com.github.breadmoirai.breadbot.framework.metrics.PipelineStage;
+import com.github.breadmoirai.tests.MockFactory;
+import net.dv8tion.jda.api.events.message.guild.GuildMessageReceivedEvent;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Replays a synthetic stream of guild messages through {@link BreadBotImpl#onEvent} from many threads and reports the
+ * sustained throughput, latency percentiles and GC pressure.
+ * Events are built from the stub-only fixtures in {@link MockFactory}, and every message the bot sends is counted
+ * instead of being sent, so a mismatch between messages delivered and responses captured points at a concurrency bug.
+ *
+ * <p>Options are passed as {@code --name=value}:
+ * <ul>
+ *     <li>{@code package} - the package to load commands from. Defaults to the commands next to this class.</li>
+ *     <li>{@code threads} - the number of threads delivering events. Defaults to the number of processors.</li>
+ *     <li>{@code events} - the number of events delivered while measuring. Defaults to 2,000,000.</li>
+ *     <li>{@code warmup} - the number of events delivered before measuring. Defaults to 200,000.</li>
+ *     <li>{@code guilds} - the number of guilds the messages are spread over, each with its own channel. Defaults to 64.</li>
+ *     <li>{@code mix} - the traffic mix as {@code content:weight} pairs separated by {@code |}.</li>
+ *     <li>{@code strategy} - one of {@code sync}, {@code perChannel} or {@code perGuild}. Defaults to {@code sync}.
+ *     With a queued strategy the recorded latency only covers handing the message off;
+ *     see the stage latencies for the time spent executing.</li>
+ *     <li>{@code queue} - the number of queued messages a queued strategy will hold. Defaults to 100,000.</li>
+ * </ul>
+ * Run it with {@code ./gradlew loadTest -Pload.args="--threads=16 --events=5000000"}.
+ */
+public class LoadGenerator {
+
+    private static final String DEFAULT_PACKAGE = "com.github.breadmoirai.benchmarks.load.commands";
+    private static final String DEFAULT_MIX = "!ping:40|!add 12 30:20|!echo \"hello world\" again:10|!unknown:5|just chatting:25";
+
+    public static void main(String[] args) throws InterruptedException {
+        final Map<String, String> options = parseOptions(args);
+        final String packageName = options.getOrDefault("package", DEFAULT_PACKAGE);
+        final int threads = Integer.parseInt(options.getOrDefault("threads", String.valueOf(Runtime.getRuntime().availableProcessors())));
+        final long events = Long.parseLong(options.getOrDefault("events", "2000000"));
+        final long warmup = Long.parseLong(options.getOrDefault("warmup", "200000"));
+        final int guilds = Integer.parseInt(options.getOrDefault("guilds", "64"));
+        final int queue = Integer.parseInt(options.getOrDefault("queue", "100000"));
+        final String strategyName = options.getOrDefault("strategy", "sync");
+
+        final CommandExecutionStrategy strategy;
+        switch (strategyName) {
+            case "sync":
+                strategy = CommandExecutionStrategy.synchronous();
+                break;
+            case "perChannel":
+                strategy = CommandExecutionStrategy.perChannel(threads, queue);
+                break;
+            case "perGuild":
+                strategy = CommandExecutionStrategy.perGuild(threads, queue);
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown strategy: " + strategyName);
+        }
+
+        final BreadBotImpl bot = (BreadBotImpl) new BreadBotBuilder()
+                .addCommands(packageName)
+                .setExecutionStrategy(strategy)
+                .build();
+        final Traffic[] mix = Traffic.parse(options.getOrDefault("mix", DEFAULT_MIX), guilds);
+
+        System.out.printf("Warming up with %,d events%n", warmup);
+        run(bot, mix, new LatencyHistogram(), threads, warmup);
+        awaitQueues(strategy);
+        for (Traffic traffic : mix) {
+            traffic.reset();
+        }
+        bot.getMetrics().snapshot(true);
+        bot.getMetrics().snapshotGlobal(true);
+
+        System.out.printf("Delivering %,d events from %d threads across %d guilds%n", events, threads, guilds);
+        final long gcCountBefore = gcCount();
+        final long gcTimeBefore = gcTime();
+        final long start = System.nanoTime();
+        final LatencyHistogram overall = new LatencyHistogram();
+        final long allocated = run(bot, mix, overall, threads, events);
+        awaitQueues(strategy);
+        final long elapsed = System.nanoTime() - start;
+        final long gcCount = gcCount() - gcCountBefore;
+        final long gcTime = gcTime() - gcTimeBefore;
+        strategy.shutdown();
+
+        final StringBuilder perTraffic = new StringBuilder();
+        final List<String> warnings = new ArrayList<>();
+        for (Traffic traffic : mix) {
+            final LatencySnapshot snapshot = traffic.latency.snapshot(false);
+            perTraffic.append(String.format("  %-32s %,12d sent %,12d responses %,8d errors  %s%n",
+                                            '"' + traffic.content + '"', traffic.sent.sum(), traffic.responses.sum(), traffic.errors.sum(), snapshot));
+            if (traffic.responses.sum() != 0 && traffic.responses.sum() != traffic.sent.sum()) {
+                warnings.add(String.format("\"%s\" captured %,d responses for %,d messages", traffic.content, traffic.responses.sum(), traffic.sent.sum()));
+            }
+        }
+
+        final double seconds = elapsed / 1e9;
+        System.out.println();
+        System.out.printf("Throughput: %,.0f events/s over %.2fs%n", events / seconds, seconds);
+        System.out.println("Latency:    " + overall.snapshot(false));
+        System.out.printf("GC:         %,d collections, %,d ms paused (%.1f%% of wall time)%n", gcCount, gcTime, gcTime / 10.0 / seconds);
+        if (allocated >= 0) {
+            System.out.printf("Allocation: %,.1f MB/s, %,d bytes/event on the delivering threads%n", allocated / seconds / (1 << 20), allocated / events);
+        }
+        System.out.println();
+        System.out.println("By message:");
+        System.out.print(perTraffic);
+        System.out.println();
+        System.out.println("By stage:");
+        bot.getMetrics().snapshotGlobal(false).forEach((stage, snapshot) -> {
+            if (snapshot.getCount() > 0) System.out.printf("  %-40s %s%n", stage, snapshot);
+        });
+        for (Map.Entry<Command, Map<PipelineStage, LatencySnapshot>> entry : bot.getMetrics().snapshot(false).entrySet()) {
+            entry.getValue().forEach((stage, snapshot) -> {
+                if (snapshot.getCount() > 0) System.out.printf("  %-40s %s%n", entry.getKey().getName() + ' ' + stage, snapshot);
+            });
+        }
+        if (!warnings.isEmpty()) {
+            System.out.println();
+            warnings.forEach(warning -> System.out.println("WARNING: " + warning));
+        }
+    }
+
+    /**
+     * Delivers {@code events} messages split across {@code threads} threads.
+     *
+     * @return the number of bytes allocated by the delivering threads, or {@code -1} if the JVM cannot measure it
+     */
+    private static long run(BreadBotImpl bot, Traffic[] mix, LatencyHistogram overall, int threads, long events) throws InterruptedException {
+        final int totalWeight = mix[mix.length - 1].cumulativeWeight;
+        final CountDownLatch ready = new CountDownLatch(1);
+        final AtomicLong allocated = new AtomicLong();
+        final Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            final long count = events / threads + (t < events % threads ? 1 : 0);
+            workers[t] = new Thread(() -> {
+                final ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    ready.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                final long allocatedBefore = allocatedBytes();
+                for (long i = 0; i < count; i++) {
+                    final Traffic traffic = Traffic.pick(mix, random.nextInt(totalWeight));
+                    final GuildMessageReceivedEvent event = traffic.events[random.nextInt(traffic.events.length)];
+                    final long start = System.nanoTime();
+                    try {
+                        bot.onEvent(event);
+                    } catch (Throwable t1) {
+                        traffic.errors.increment();
+                    }
+                    final long latency = System.nanoTime() - start;
+                    traffic.latency.record(latency);
+                    overall.record(latency);
+                    traffic.sent.increment();
+                }
+                final long allocatedAfter = allocatedBytes();
+                if (allocatedBefore < 0 || allocatedAfter < 0) {
+                    allocated.set(Long.MIN_VALUE);
+                } else {
+                    allocated.addAndGet(allocatedAfter - allocatedBefore);
+                }
+            }, "LoadGenerator-" + t);
+            workers[t].start();
+        }
+        ready.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return allocated.get() < 0 ? -1 : allocated.get();
+    }
+
+    private static void awaitQueues(CommandExecutionStrategy strategy) throws InterruptedException {
+        while (strategy.getQueueDepth() > 0) {
+            Thread.sleep(1);
+        }
+    }
+
+    private static long allocatedBytes() {
+        final ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (bean instanceof com.sun.management.ThreadMXBean) {
+            final com.sun.management.ThreadMXBean sunBean = (com.sun.management.ThreadMXBean) bean;
+            if (sunBean.isThreadAllocatedMemorySupported() && sunBean.isThreadAllocatedMemoryEnabled()) {
+                return sunBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, bean.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean bean : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, bean.getCollectionTime());
+        }
+        return time;
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        final Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') == -1) {
+                throw new IllegalArgumentException("Expected an option of the form --name=value but found " + arg);
+            }
+            final int i = arg.indexOf('=');
+            options.put(arg.substring(2, i), arg.substring(i + 1));
+        }
+        return options;
+    }
+
+    /**
+     * One kind of message in the traffic mix, with a copy of the event for each guild.
+     */
+    private static final class Traffic {
+
+        private final String content;
+        private final int cumulativeWeight;
+        private final GuildMessageReceivedEvent[] events;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder sent = new LongAdder();
+        private final LongAdder responses = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+
+        private Traffic(String content, int cumulativeWeight, int guilds) {
+            this.content = content;
+            this.cumulativeWeight = cumulativeWeight;
+            this.events = new GuildMessageReceivedEvent[guilds];
+            for (int g = 0; g < guilds; g++) {
+                final long guildId = 1000L + g;
+                events[g] = MockFactory.mockMessageEvent(content, MockFactory.UserType.BASIC, guildId, guildId * 10, message -> responses.increment());
+            }
+        }
+
+        private static Traffic[] parse(String mix, int guilds) {
+            final String[] entries = mix.split("\\|");
+            final Traffic[] traffic = new Traffic[entries.length];
+            int cumulativeWeight = 0;
+            for (int i = 0; i < entries.length; i++) {
+                final int separator = entries[i].lastIndexOf(':');
+                if (separator == -1) {
+                    throw new IllegalArgumentException("Expected content:weight but found " + entries[i]);
+                }
+                final int weight = Integer.parseInt(entries[i].substring(separator + 1).trim());
+                if (weight <= 0) {
+                    throw new IllegalArgumentException("Weight must be positive in " + entries[i]);
+                }
+                cumulativeWeight += weight;
+                traffic[i] = new Traffic(entries[i].substring(0, separator), cumulativeWeight, guilds);
+            }
+            return traffic;
+        }
+
+        private static Traffic pick(Traffic[] mix, int roll) {
+            for (Traffic traffic : mix) {
+                if (roll < traffic.cumulativeWeight) return traffic;
+            }
+            return mix[mix.length - 1];
+        }
+
+        private void reset() {
+            latency.snapshot(true);
+            sent.reset();
+            responses.reset();
+            errors.reset();
+        }
+    }
+}
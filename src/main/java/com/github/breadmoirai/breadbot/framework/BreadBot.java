@@ -18,8 +18,10 @@ package com.github.breadmoirai.breadbot.framework;
 
 import com.github.breadmoirai.breadbot.framework.command.Command;
 import com.github.breadmoirai.breadbot.framework.command.CommandEngine;
+import com.github.breadmoirai.breadbot.framework.command.CommandExecutionStrategy;
 import com.github.breadmoirai.breadbot.framework.command.CommandResultManager;
 import com.github.breadmoirai.breadbot.framework.error.MissingCommandPluginException;
+import com.github.breadmoirai.breadbot.framework.metrics.CommandMetrics;
 import com.github.breadmoirai.breadbot.framework.parameter.CommandParameterManager;
 
 import java.util.List;
@@ -69,6 +71,21 @@ public interface BreadBot {
      */
     CommandEngine getCommandEngine();
 
+    /**
+     * Retrieves the strategy that schedules the evaluation of incoming messages.
+     * This can be used to monitor the queue depth or to shut down command execution.
+     *
+     * @return the CommandExecutionStrategy set on the builder
+     */
+    CommandExecutionStrategy getExecutionStrategy();
+
+    /**
+     * Retrieves the latency histograms recorded for each stage of command execution.
+     *
+     * @return the CommandMetrics of this bot
+     */
+    CommandMetrics getMetrics();
+
     CommandParameterManager getArgumentTypes();
 
     CommandResultManager getResultManager();
@@ -0,0 +1,51 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.framework.annotation.command;
+
+import com.github.breadmoirai.breadbot.framework.annotation.InheritedProperty;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * After this command is used, it cannot be used again by the same user, channel, or guild, depending on the
+ * {@link #scope()}, until the cooldown has passed.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@InheritedProperty
+public @interface Cooldown {
+
+    /**
+     * @return the length of the cooldown in {@link #unit() units}.
+     */
+    long value();
+
+    TimeUnit unit() default TimeUnit.SECONDS;
+
+    RateLimitScope scope() default RateLimitScope.USER;
+
+    /**
+     * A message sent when the command is rejected. If empty, no message is sent.
+     *
+     * @return a message
+     */
+    String message() default "";
+}
@@ -0,0 +1,51 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.framework.annotation.command;
+
+import com.github.breadmoirai.breadbot.framework.annotation.InheritedProperty;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits this command to {@link #permits()} uses per {@link #period()} for each user, channel, or guild, depending on
+ * the {@link #scope()}. Up to {@link #permits()} uses may happen in a burst after which they are allowed at an even
+ * rate.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@InheritedProperty
+public @interface RateLimit {
+
+    int permits();
+
+    long period();
+
+    TimeUnit unit() default TimeUnit.SECONDS;
+
+    RateLimitScope scope() default RateLimitScope.USER;
+
+    /**
+     * A message sent when the command is rejected. If empty, no message is sent.
+     *
+     * @return a message
+     */
+    String message() default "";
+}
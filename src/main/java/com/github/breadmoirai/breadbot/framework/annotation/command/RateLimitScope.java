@@ -0,0 +1,35 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.framework.annotation.command;
+
+/**
+ * Determines who shares a {@link Cooldown} or {@link RateLimit}.
+ */
+public enum RateLimitScope {
+    /**
+     * Each user is limited separately, across all guilds.
+     */
+    USER,
+    /**
+     * All users in a channel share the limit.
+     */
+    CHANNEL,
+    /**
+     * All users in a guild share the limit.
+     */
+    GUILD
+}
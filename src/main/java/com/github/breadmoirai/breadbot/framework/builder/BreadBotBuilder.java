@@ -19,11 +19,13 @@ package com.github.breadmoirai.breadbot.framework.builder;
 import com.github.breadmoirai.breadbot.framework.BreadBot;
 import com.github.breadmoirai.breadbot.framework.CommandPlugin;
 import com.github.breadmoirai.breadbot.framework.command.Command;
+import com.github.breadmoirai.breadbot.framework.command.CommandExecutionStrategy;
 import com.github.breadmoirai.breadbot.framework.command.CommandPreprocessor;
 import com.github.breadmoirai.breadbot.framework.command.CommandResultHandler;
 import com.github.breadmoirai.breadbot.framework.command.internal.CommandHandleImpl;
 import com.github.breadmoirai.breadbot.framework.command.internal.CommandPropertiesManagerImpl;
 import com.github.breadmoirai.breadbot.framework.command.internal.CommandResultManagerImpl;
+import com.github.breadmoirai.breadbot.framework.command.internal.LazyCommandHandle;
 import com.github.breadmoirai.breadbot.framework.command.internal.builder.CommandHandleBuilderFactoryImpl;
 import com.github.breadmoirai.breadbot.framework.command.internal.builder.CommandHandleBuilderInternal;
 import com.github.breadmoirai.breadbot.framework.event.CommandEvent;
@@ -40,6 +42,8 @@ import com.github.breadmoirai.breadbot.plugins.waiter.EventWaiterPlugin;
 import net.dv8tion.jda.api.JDABuilder;
 import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.internal.utils.Checks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.lang.reflect.Type;
 import java.util.ArrayList;
@@ -49,6 +53,7 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
@@ -63,6 +68,8 @@ public class BreadBotBuilder implements
                              CommandPropertiesManager<BreadBotBuilder>,
                              InjectionBuilder<BreadBotBuilder> {
 
+    private static final Logger LOG = LoggerFactory.getLogger(BreadBotBuilder.class);
+
     private final List<CommandPlugin> plugins;
     private final CommandPropertiesManagerImpl commandProperties;
     private final CommandParameterTypeManagerImpl argumentTypes;
@@ -72,9 +79,14 @@ public class BreadBotBuilder implements
     private final CommandResultManagerImpl resultManager;
     private InjectionBuilderImpl injector;
     private boolean injectionEnabled;
-    private Predicate<Message> preProcessPredicate;
+    private final List<Predicate<Message>> preProcessPredicates = new ArrayList<>();
+    private boolean ignoreBots = true;
+    private boolean rejectUnknownKeys;
     private CommandEventFactory commandEventFactory;
     private boolean shouldEvaluateCommandOnMessageUpdate = false;
+    private CommandExecutionStrategy executionStrategy = CommandExecutionStrategy.synchronous();
+    private boolean lazyCommands = false;
+    private Executor lazyCommandVerifier;
 
     public BreadBotBuilder() {
         plugins = new ArrayList<>();
@@ -387,7 +399,10 @@ public class BreadBotBuilder implements
      * @return this
      */
     public BreadBotBuilder setPreProcessPredicate(Predicate<Message> predicate) {
-        preProcessPredicate = predicate;
+        preProcessPredicates.clear();
+        if (predicate != null) {
+            preProcessPredicates.add(predicate);
+        }
         return this;
     }
 
@@ -398,11 +413,35 @@ public class BreadBotBuilder implements
      * @return this
      */
     public BreadBotBuilder addPreProcessPredicate(Predicate<Message> predicate) {
-        if (preProcessPredicate == null) {
-            preProcessPredicate = predicate;
-        } else {
-            preProcessPredicate = preProcessPredicate.and(predicate);
-        }
+        Checks.notNull(predicate, "predicate");
+        preProcessPredicates.add(predicate);
+        return this;
+    }
+
+    /**
+     * Determines whether messages sent by bots or through webhooks are ignored.
+     * These are rejected before any prefix or command lookup takes place.
+     *
+     * @param ignoreBots By default this is {@code true}.
+     * @return this
+     */
+    public BreadBotBuilder setIgnoreBots(boolean ignoreBots) {
+        this.ignoreBots = ignoreBots;
+        return this;
+    }
+
+    /**
+     * Determines whether messages whose key does not belong to a registered command are discarded before a
+     * {@link com.github.breadmoirai.breadbot.framework.event.CommandEvent CommandEvent} is created for them.
+     * Such events are then no longer posted to the JDA event manager, so
+     * {@link com.github.breadmoirai.breadbot.plugins.waiter.CommandEventActionBuilder#withKeys(String...)} and any other
+     * listener for unclaimed command events will not receive them.
+     *
+     * @param rejectUnknownKeys By default this is {@code false}.
+     * @return this
+     */
+    public BreadBotBuilder setRejectUnknownKeys(boolean rejectUnknownKeys) {
+        this.rejectUnknownKeys = rejectUnknownKeys;
         return this;
     }
 
@@ -419,6 +458,53 @@ public class BreadBotBuilder implements
         return this;
     }
 
+    /**
+     * Determines which threads messages are parsed and commands are executed on.
+     * By default, commands are executed synchronously on the JDA event thread that received the message.
+     * Use {@link CommandExecutionStrategy#perChannel(int, int)} or {@link CommandExecutionStrategy#perGuild(int, int)}
+     * to keep slow commands from blocking the event thread.
+     *
+     * @param executionStrategy a non-null {@link CommandExecutionStrategy}
+     * @return this
+     */
+    public BreadBotBuilder setExecutionStrategy(CommandExecutionStrategy executionStrategy) {
+        Checks.notNull(executionStrategy, "executionStrategy");
+        this.executionStrategy = executionStrategy;
+        return this;
+    }
+
+    /**
+     * Defers building each top level command until it is first used.
+     * Command builders, along with their parameters, type parsers, and modifiers, are still created when a command is
+     * added, and only the command keys are registered when {@link #build()} is called. The method invoker, injection,
+     * persistent command instances, and the built parameters of a command and all of its subcommands are created on
+     * the first message that routes to it. Errors from those steps, such as a method that cannot be invoked or a
+     * missing injection binding, are then thrown on that message instead of from {@link #build()}.
+     * This builder should not be modified after {@link #build()} is called while lazy commands are enabled.
+     *
+     * @param lazyCommands By default this is {@code false}.
+     * @return this
+     * @see #setLazyCommandVerifier(Executor)
+     */
+    public BreadBotBuilder setLazyCommands(boolean lazyCommands) {
+        this.lazyCommands = lazyCommands;
+        return this;
+    }
+
+    /**
+     * If lazy commands are enabled, a single task is submitted to this executor after {@link #build()} that builds
+     * every command that has not been used yet and logs any that fail.
+     *
+     * @param verifier an {@link Executor} to build commands on, or {@code null} to not verify lazy commands. By default
+     *                 this is {@code null}.
+     * @return this
+     * @see #setLazyCommands(boolean)
+     */
+    public BreadBotBuilder setLazyCommandVerifier(Executor verifier) {
+        this.lazyCommandVerifier = verifier;
+        return this;
+    }
+
     @Override
     public BreadBotBuilder self() {
         return this;
@@ -456,27 +542,59 @@ public class BreadBotBuilder implements
         if (commandEventFactory == null)
             commandEventFactory = new CommandEventFactory(getPlugin(PrefixPlugin.class));
         Map<Type, CommandPlugin> typeMap = createPluginTypeMap(plugins);
-        final List<CommandHandleImpl> build;
         final BreadInjector breadInjector;
         if (injectionEnabled) {
             typeMap.forEach((type, commandPlugin) -> {
                 injector.bindInjectionUnchecked(type, commandPlugin);
             });
             breadInjector = injector.build();
-            for (CommandHandleBuilderInternal commandBuilder : commandBuilders) {
-                commandBuilder.setInjector(breadInjector);
+        } else {
+            breadInjector = null;
+        }
+        final List<LazyCommandHandle> lazy;
+        if (lazyCommands) {
+            lazy = commandBuilders.stream()
+                    .map(o -> new LazyCommandHandle(o, breadInjector))
+                    .collect(Collectors.toList());
+            commands.addAll(lazy);
+        } else {
+            lazy = null;
+            if (breadInjector != null) {
+                for (CommandHandleBuilderInternal commandBuilder : commandBuilders) {
+                    commandBuilder.setInjector(breadInjector);
+                }
             }
+            final List<CommandHandleImpl> build = commandBuilders.stream()
+                    .map(o -> o.build(null))
+                    .collect(Collectors.toList());
+            commands.addAll(build);
         }
-        build = commandBuilders.stream().map(o -> o.build(null)).collect(Collectors.toList());
-        commands.addAll(build);
-        commandEventFactory.setPreprocessor(preProcessPredicate);
+        commandEventFactory.setPreprocessors(preProcessPredicates);
+        commandEventFactory.setIgnoreBots(ignoreBots);
+        commandEventFactory.setRejectUnknownKeys(rejectUnknownKeys);
         final BreadBotImpl breadBotClient = new BreadBotImpl(plugins, typeMap, commands, resultManager,
-                                                             argumentTypes, commandEventFactory,
+                                                             argumentTypes, commandEventFactory, executionStrategy,
                                                              shouldEvaluateCommandOnMessageUpdate);
         breadBotClient.propagateReadyEvent();
+        if (lazy != null && lazyCommandVerifier != null) {
+            lazyCommandVerifier.execute(() -> verifyLazyCommands(lazy));
+        }
         return breadBotClient;
     }
 
+    private static void verifyLazyCommands(List<LazyCommandHandle> commands) {
+        int failed = 0;
+        for (LazyCommandHandle command : commands) {
+            try {
+                command.materialize();
+            } catch (RuntimeException e) {
+                failed++;
+                LOG.error("Failed to build command " + command, e);
+            }
+        }
+        LOG.info("Verified " + (commands.size() - failed) + " of " + commands.size() + " lazy commands");
+    }
+
     private Map<Type, CommandPlugin> createPluginTypeMap(List<CommandPlugin> modules) {
         final HashMap<Type, CommandPlugin> typeMap = new HashMap<>(modules.size());
         for (CommandPlugin module : modules) {
@@ -0,0 +1,85 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.framework.command;
+
+import com.github.breadmoirai.breadbot.framework.command.internal.KeyedCommandExecutionStrategy;
+import net.dv8tion.jda.api.events.message.guild.GenericGuildMessageEvent;
+
+/**
+ * Determines which thread a guild message is parsed and its command executed on.
+ * The default strategy, {@link #synchronous()}, runs everything on the JDA event thread that delivered the message.
+ */
+public interface CommandExecutionStrategy {
+
+    /**
+     * Schedules the evaluation of a message.
+     *
+     * @param event the event that delivered the message
+     * @param task parses the message and executes the matching command, if any
+     */
+    void execute(GenericGuildMessageEvent event, Runnable task);
+
+    /**
+     * The number of messages that have been accepted but have not yet finished executing.
+     *
+     * @return the total queue depth, {@code 0} if this strategy does not queue.
+     */
+    default int getQueueDepth() {
+        return 0;
+    }
+
+    /**
+     * Stops accepting new messages. Messages that have already been accepted are still executed.
+     */
+    default void shutdown() {
+    }
+
+    /**
+     * Executes commands directly on the event thread.
+     *
+     * @return a strategy without any queueing
+     */
+    static CommandExecutionStrategy synchronous() {
+        return (event, task) -> task.run();
+    }
+
+    /**
+     * Executes commands on a fixed pool of threads.
+     * Commands issued in the same channel are executed one at a time in the order received while commands in
+     * different channels may run in parallel.
+     *
+     * @param threads the number of threads used to execute commands
+     * @param maxQueued the maximum amount of messages waiting to be executed. Messages received while full are dropped.
+     * @return a new strategy
+     */
+    static CommandExecutionStrategy perChannel(int threads, int maxQueued) {
+        return new KeyedCommandExecutionStrategy(event -> event.getChannel().getIdLong(), threads, maxQueued);
+    }
+
+    /**
+     * Executes commands on a fixed pool of threads.
+     * Commands issued in the same guild are executed one at a time in the order received while commands in
+     * different guilds may run in parallel.
+     *
+     * @param threads the number of threads used to execute commands
+     * @param maxQueued the maximum amount of messages waiting to be executed. Messages received while full are dropped.
+     * @return a new strategy
+     */
+    static CommandExecutionStrategy perGuild(int threads, int maxQueued) {
+        return new KeyedCommandExecutionStrategy(event -> event.getGuild().getIdLong(), threads, maxQueued);
+    }
+}
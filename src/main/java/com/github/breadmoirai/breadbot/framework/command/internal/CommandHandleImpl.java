@@ -21,9 +21,13 @@ import com.github.breadmoirai.breadbot.framework.command.CommandHandle;
 import com.github.breadmoirai.breadbot.framework.command.CommandPreprocessor;
 import com.github.breadmoirai.breadbot.framework.command.CommandPropertyMap;
 import com.github.breadmoirai.breadbot.framework.command.CommandResultHandler;
+import com.github.breadmoirai.breadbot.framework.event.ArgumentSplitter;
 import com.github.breadmoirai.breadbot.framework.event.internal.CommandEventInternal;
+import com.github.breadmoirai.breadbot.framework.metrics.CommandMetrics;
 import com.github.breadmoirai.breadbot.framework.parameter.CommandParameter;
 import com.github.breadmoirai.breadbot.framework.parameter.CommandParser;
+import com.github.breadmoirai.breadbot.framework.parameter.internal.ParameterBindingPlan;
+import com.github.breadmoirai.breadbot.util.CaseInsensitiveTrie;
 
 import java.lang.reflect.Method;
 import java.util.Arrays;
@@ -32,7 +36,6 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.StringJoiner;
-import java.util.regex.Pattern;
 
 public class CommandHandleImpl implements CommandHandle {
 
@@ -46,15 +49,18 @@ public class CommandHandleImpl implements CommandHandle {
     //    private final BreadBotClientImpl client;
     private final CommandObjectFactory commandSupplier;
     private final CommandParameter[] commandParameters;
+    private final ParameterBindingPlan bindingPlan;
     private final InvokableCommand invokableCommand;
     private final CommandResultHandler<?> resultHandler;
     private final Map<String, CommandHandleImpl> subCommandMap;
+    private CaseInsensitiveTrie<CommandHandleImpl> subCommandRouter;
+    private CommandHandleImpl subCommandHelp;
     private final List<CommandPreprocessor> preprocessors;
     private final CommandPropertyMap propertyMap;
-    private final Pattern splitRegex;
-    private final int splitLimit;
+    private final ArgumentSplitter argumentSplitter;
     private final boolean isHelp;
     private Command superCommand;
+    private volatile CommandMetrics.CommandLatencies latencies;
 
     public CommandHandleImpl(String[] keys,
                              String name,
@@ -66,13 +72,13 @@ public class CommandHandleImpl implements CommandHandle {
 //                             BreadBotClientImpl client,
                              CommandObjectFactory commandSupplier,
                              CommandParameter[] commandParameters,
+                             ParameterBindingPlan bindingPlan,
                              InvokableCommand commandFunction,
                              CommandResultHandler<?> resultHandler,
                              Map<String, CommandHandleImpl> subCommandMap,
                              List<CommandPreprocessor> preprocessors,
                              CommandPropertyMap propertyMap,
-                             Pattern splitRegex,
-                             int splitLimit,
+                             ArgumentSplitter argumentSplitter,
                              Command superCommand) {
         this.keys = keys;
         this.name = name;
@@ -84,13 +90,13 @@ public class CommandHandleImpl implements CommandHandle {
 //        this.client = client;
         this.commandSupplier = commandSupplier;
         this.commandParameters = commandParameters;
+        this.bindingPlan = bindingPlan;
         this.invokableCommand = commandFunction;
         this.resultHandler = resultHandler;
         this.subCommandMap = subCommandMap;
         this.preprocessors = preprocessors;
         this.propertyMap = propertyMap;
-        this.splitRegex = splitRegex;
-        this.splitLimit = splitLimit;
+        this.argumentSplitter = argumentSplitter;
         this.superCommand = superCommand;
         this.isHelp = Arrays.stream(keys).anyMatch(s -> s.equalsIgnoreCase("help"));
     }
@@ -100,37 +106,60 @@ public class CommandHandleImpl implements CommandHandle {
         if (isHelp && event.isHelpEvent()) {
             return runThis(event);
         }
-        if (keyItr != null && keyItr.hasNext() && subCommandMap != null) {
-            String next = keyItr.next().toLowerCase();
-            if (subCommandMap.containsKey(next)) {
-                Command subHandle = subCommandMap.get(next);
+        if (keyItr != null && subCommandRouter != null && keyItr.hasNext()) {
+            Command subHandle = subCommandRouter.get(keyItr.next());
+            if (subHandle != null) {
                 if (event.isHelpEvent()) {
-                    return subHandle.handle(event, keyItr) || (subCommandMap.containsKey("help") && subCommandMap.get("help").handle(event, null));
+                    return subHandle.handle(event, keyItr) || (subCommandHelp != null && subCommandHelp.handle(event, null));
                 } else {
                     return subHandle.handle(event, keyItr) || runThis(event);
                 }
             }
         }
-        if (event.isHelpEvent() && subCommandMap != null) {
-            return subCommandMap.containsKey("help") && subCommandMap.get("help").handle(event, null);
+        if (event.isHelpEvent() && subCommandRouter != null) {
+            return subCommandHelp != null && subCommandHelp.handle(event, null);
         } else {
             return runThis(event);
         }
     }
 
+    /**
+     * Compiles the subcommands that have been put into the subcommand map into a routing trie.
+     * This should be called once after all subcommands have been built.
+     */
+    public void compileSubCommands() {
+        if (subCommandMap == null) return;
+        final CaseInsensitiveTrie.Builder<CommandHandleImpl> router = CaseInsensitiveTrie.builder();
+        router.putAll(subCommandMap);
+        subCommandRouter = router.build();
+        subCommandHelp = subCommandRouter.get("help");
+    }
+
     private boolean runThis(CommandEventInternal event) {
         event.setCommand(this);
         Object commandObj = commandSupplier.getOrNull();
         if (commandObj == null) return false;
         if (invokableCommand != null) {
-            final CommandParser parser = new CommandParser(event, this, splitRegex == null ? event.getArguments() : event.createNewArgumentList(splitRegex, splitLimit), getParameters());
-            final CommandRunner runner = new CommandRunner(commandObj, event, invokableCommand, parser, this, resultHandler);
-            final CommandProcessStack commandProcessStack = new CommandProcessStack(commandObj, this, event, preprocessors, runner);
+            final CommandParser parser = new CommandParser(event, this, argumentSplitter == null ? event.getArguments() : event.getArguments(argumentSplitter), commandParameters, bindingPlan);
+            final CommandMetrics.CommandLatencies latencies = getLatencies(event);
+            final CommandRunner runner = new CommandRunner(commandObj, event, invokableCommand, parser, this, resultHandler, latencies);
+            final CommandProcessStack commandProcessStack = new CommandProcessStack(commandObj, this, event, preprocessors, runner, latencies);
             commandProcessStack.runNext();
             return commandProcessStack.result();
         } else return false;
     }
 
+    private CommandMetrics.CommandLatencies getLatencies(CommandEventInternal event) {
+        CommandMetrics.CommandLatencies l = latencies;
+        if (l == null) {
+            final CommandMetrics metrics = event.getClient().getMetrics();
+            if (metrics != null) {
+                latencies = l = metrics.getLatencies(this);
+            }
+        }
+        return l;
+    }
+
     @Override
     public String[] getKeys() {
         if (keys == null) return null;
@@ -0,0 +1,127 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.framework.command.internal;
+
+import org.reflections.Reflections;
+import org.reflections.scanners.SubTypesScanner;
+import org.reflections.util.ClasspathHelper;
+import org.reflections.util.ConfigurationBuilder;
+import org.reflections.util.FilterBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Reads the command index written by {@link com.github.breadmoirai.breadbot.processor.CommandIndexProcessor}.
+ * Each line of the index names a top-level class that has a command method, declared or inherited, itself or through
+ * a public nested class.
+ * Every index on the classpath is read, so commands may be spread over several jars.
+ * Classpath roots that contain the package but have no index, such as a jar compiled without the processor, are
+ * scanned instead.
+ */
+public final class CommandIndex {
+
+    public static final String RESOURCE = "META-INF/breadbot/commands";
+
+    private static final Logger LOG = LoggerFactory.getLogger(CommandIndex.class);
+
+    private CommandIndex() {
+    }
+
+    /**
+     * Loads the indexed classes whose names start with the package name, followed by the classes found by scanning
+     * the classpath roots that contain the package but have no index.
+     * Entries that can no longer be loaded are skipped.
+     *
+     * @param packageName the package prefix
+     * @return the classes, which may include classes without any command methods
+     */
+    public static List<Class<?>> getCommandClasses(String packageName) {
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        if (loader == null) loader = CommandIndex.class.getClassLoader();
+        final Set<String> names = new LinkedHashSet<>();
+        final Set<String> indexedRoots = new HashSet<>();
+        try {
+            final Enumeration<URL> resources = loader.getResources(RESOURCE);
+            while (resources.hasMoreElements()) {
+                readIndex(resources.nextElement(), packageName, names);
+            }
+            // normalized the same way as the package roots below
+            for (URL root : ClasspathHelper.forResource(RESOURCE, loader)) {
+                indexedRoots.add(root.toExternalForm());
+            }
+        } catch (IOException e) {
+            LOG.warn("The command index could not be read, falling back to classpath scanning", e);
+            names.clear();
+            indexedRoots.clear();
+        }
+        final Set<Class<?>> classes = new LinkedHashSet<>(names.size());
+        for (String name : names) {
+            try {
+                classes.add(Class.forName(name, false, loader));
+            } catch (ClassNotFoundException | LinkageError e) {
+                LOG.debug("Skipping {} from the command index", name, e);
+            }
+        }
+        final List<URL> unindexedRoots = new ArrayList<>();
+        for (URL root : ClasspathHelper.forPackage(packageName, loader)) {
+            if (!indexedRoots.contains(root.toExternalForm())) {
+                unindexedRoots.add(root);
+            }
+        }
+        if (!unindexedRoots.isEmpty()) {
+            LOG.debug("Scanning {} for commands in {} since they have no command index", unindexedRoots, packageName);
+            classes.addAll(scan(packageName, unindexedRoots, loader));
+        }
+        return new ArrayList<>(classes);
+    }
+
+    private static Set<Class<?>> scan(String packageName, Collection<URL> roots, ClassLoader loader) {
+        // the default SubTypesScanner leaves out classes that directly extend Object
+        return new Reflections(new ConfigurationBuilder()
+                                       .setUrls(roots)
+                                       .addClassLoader(loader)
+                                       .setScanners(new SubTypesScanner(false))
+                                       .filterInputsBy(new FilterBuilder().includePackage(packageName)))
+                .getSubTypesOf(Object.class);
+    }
+
+    private static void readIndex(URL url, String packageName, Set<String> names) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(url.openStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                line = line.trim();
+                if (line.isEmpty() || line.charAt(0) == '#') continue;
+                if (line.startsWith(packageName)) {
+                    names.add(line);
+                }
+            }
+        }
+    }
+}
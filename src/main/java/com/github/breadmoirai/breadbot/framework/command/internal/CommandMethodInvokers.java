@@ -0,0 +1,240 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.framework.command.internal;
+
+import com.github.breadmoirai.breadbot.framework.error.BreadBotException;
+import com.github.breadmoirai.breadbot.processor.CommandInvokerProcessor;
+import com.github.breadmoirai.breadbot.processor.GeneratedInvokers;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the {@link InvokableCommand} for a command method.
+ * <p>If the {@link CommandInvokerProcessor} generated an invoker for the method, that invoker is used.
+ * Otherwise a class is generated for the method that implements {@link InvokableCommand} itself. It casts and unboxes
+ * the arguments, calls the method directly and boxes the result. Every command method gets its own class, so the call
+ * inside it has a single target that the JIT can inline regardless of how many commands are registered.
+ * <p>The generated class is defined by a class loader beneath the one that loaded the command, so the method and the
+ * types in its signature must be public. Any other method is invoked through a spread {@link MethodHandle}.
+ */
+public final class CommandMethodInvokers {
+
+    private static final String INVOKABLE_COMMAND = Type.getInternalName(InvokableCommand.class);
+    private static final String INVOKE_DESCRIPTOR = "(Ljava/lang/Object;[Ljava/lang/Object;)Ljava/lang/Object;";
+
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private static final ClassValue<GeneratedInvokers> GENERATED = new ClassValue<GeneratedInvokers>() {
+        @Override
+        protected GeneratedInvokers computeValue(Class<?> type) {
+            return findGeneratedInvokers(type);
+        }
+    };
+
+    private static final ClassValue<InvokerClassLoader> LOADERS = new ClassValue<InvokerClassLoader>() {
+        @Override
+        protected InvokerClassLoader computeValue(Class<?> type) {
+            return new InvokerClassLoader(type.getClassLoader());
+        }
+    };
+
+    private CommandMethodInvokers() {
+    }
+
+    public static InvokableCommand create(Method method) throws BreadBotException {
+        final GeneratedInvokers generated = GENERATED.get(method.getDeclaringClass());
+        if (generated != null) {
+            final InvokableCommand invoker = generated.get(getSignature(method));
+            if (invoker != null) {
+                return invoker;
+            }
+        }
+        final MethodHandle handle;
+        try {
+            handle = MethodHandles.publicLookup().unreflect(method);
+        } catch (IllegalAccessException e) {
+            throw new BreadBotException(method + " could not be accessed.", e);
+        }
+        if (canLink(method)) {
+            try {
+                return spin(method);
+            } catch (ReflectiveOperationException | LinkageError ignored) {
+                // fall back to the method handle below
+            }
+        }
+        return new InvokableCommandHandle(handle.asSpreader(Object[].class, method.getParameterCount()));
+    }
+
+    private static GeneratedInvokers findGeneratedInvokers(Class<?> type) {
+        final StringBuilder name = new StringBuilder(type.getSimpleName());
+        Class<?> topLevel = type;
+        for (Class<?> c = type.getDeclaringClass(); c != null; c = c.getDeclaringClass()) {
+            name.insert(0, '_').insert(0, c.getSimpleName());
+            topLevel = c;
+        }
+        final int lastDot = topLevel.getName().lastIndexOf('.');
+        if (lastDot >= 0) {
+            name.insert(0, topLevel.getName().substring(0, lastDot + 1));
+        }
+        name.append(GeneratedInvokers.SUFFIX);
+        try {
+            final Class<?> generated = Class.forName(name.toString(), true, type.getClassLoader());
+            if (!GeneratedInvokers.class.isAssignableFrom(generated)) return null;
+            return (GeneratedInvokers) generated.getConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private static String getSignature(Method method) {
+        final StringBuilder sb = new StringBuilder(method.getName()).append('(');
+        final Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i != 0) sb.append(',');
+            sb.append(parameterTypes[i].getTypeName());
+        }
+        return sb.append(')').toString();
+    }
+
+    /**
+     * Generates the equivalent of
+     * <pre><code>
+     * public final class Command$$Invoker$1 implements InvokableCommand {
+     *     public Object invoke(Object o, Object[] p) {
+     *         return Integer.valueOf(((Command) o).add(((Integer) p[0]).intValue(), (String) p[1]));
+     *     }
+     * }
+     * </code></pre>
+     */
+    private static InvokableCommand spin(Method method) throws ReflectiveOperationException {
+        final Class<?> declaringClass = method.getDeclaringClass();
+        final String name = declaringClass.getName() + "$$Invoker$" + COUNTER.incrementAndGet();
+        final String owner = Type.getInternalName(declaringClass);
+
+        final ClassWriter cw = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        cw.visit(Opcodes.V1_8, Opcodes.ACC_PUBLIC | Opcodes.ACC_FINAL | Opcodes.ACC_SUPER | Opcodes.ACC_SYNTHETIC,
+                 name.replace('.', '/'), null, "java/lang/Object", new String[]{INVOKABLE_COMMAND});
+
+        MethodVisitor mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 0);
+        mv.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V", false);
+        mv.visitInsn(Opcodes.RETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+
+        mv = cw.visitMethod(Opcodes.ACC_PUBLIC, "invoke", INVOKE_DESCRIPTOR, null, null);
+        mv.visitCode();
+        mv.visitVarInsn(Opcodes.ALOAD, 1);
+        mv.visitTypeInsn(Opcodes.CHECKCAST, owner);
+        final Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            mv.visitVarInsn(Opcodes.ALOAD, 2);
+            mv.visitLdcInsn(i);
+            mv.visitInsn(Opcodes.AALOAD);
+            unbox(mv, parameterTypes[i]);
+        }
+        final boolean isInterface = declaringClass.isInterface();
+        mv.visitMethodInsn(isInterface ? Opcodes.INVOKEINTERFACE : Opcodes.INVOKEVIRTUAL, owner, method.getName(),
+                           Type.getMethodDescriptor(method), isInterface);
+        box(mv, method.getReturnType());
+        mv.visitInsn(Opcodes.ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        cw.visitEnd();
+
+        final Class<?> invoker = LOADERS.get(declaringClass).define(name, cw.toByteArray());
+        return (InvokableCommand) invoker.getConstructor().newInstance();
+    }
+
+    private static void unbox(MethodVisitor mv, Class<?> type) {
+        if (type == Object.class) return;
+        if (!type.isPrimitive()) {
+            mv.visitTypeInsn(Opcodes.CHECKCAST, Type.getInternalName(type));
+            return;
+        }
+        final Type primitive = Type.getType(type);
+        final String wrapper = Type.getInternalName(MethodType.methodType(type).wrap().returnType());
+        mv.visitTypeInsn(Opcodes.CHECKCAST, wrapper);
+        mv.visitMethodInsn(Opcodes.INVOKEVIRTUAL, wrapper, type.getName() + "Value",
+                           "()" + primitive.getDescriptor(), false);
+    }
+
+    private static void box(MethodVisitor mv, Class<?> type) {
+        if (type == void.class) {
+            mv.visitInsn(Opcodes.ACONST_NULL);
+        } else if (type.isPrimitive()) {
+            final String wrapper = Type.getInternalName(MethodType.methodType(type).wrap().returnType());
+            mv.visitMethodInsn(Opcodes.INVOKESTATIC, wrapper, "valueOf",
+                               "(" + Type.getDescriptor(type) + ")L" + wrapper + ";", false);
+        }
+    }
+
+    /**
+     * The generated class is in a different runtime package from the command, so it can only link against public
+     * types that the command's class loader resolves to the same classes.
+     */
+    private static boolean canLink(Method method) {
+        final Class<?> declaringClass = method.getDeclaringClass();
+        if (Modifier.isStatic(method.getModifiers()) || !Modifier.isPublic(method.getModifiers())) return false;
+        final ClassLoader loader = declaringClass.getClassLoader();
+        if (!isVisible(InvokableCommand.class, loader)) return false;
+        if (!isVisible(declaringClass, loader) || !isVisible(method.getReturnType(), loader)) return false;
+        for (Class<?> type : method.getParameterTypes()) {
+            if (!isVisible(type, loader)) return false;
+        }
+        return true;
+    }
+
+    private static boolean isVisible(Class<?> type, ClassLoader loader) {
+        while (type.isArray()) type = type.getComponentType();
+        if (type.isPrimitive()) return true;
+        if (!Modifier.isPublic(type.getModifiers())) return false;
+        try {
+            return Class.forName(type.getName(), false, loader) == type;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    /**
+     * Defines the invokers for the commands declared by one class.
+     */
+    private static final class InvokerClassLoader extends ClassLoader {
+
+        static {
+            registerAsParallelCapable();
+        }
+
+        InvokerClassLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        Class<?> define(String name, byte[] bytes) {
+            return defineClass(name, bytes, 0, bytes.length);
+        }
+    }
+}
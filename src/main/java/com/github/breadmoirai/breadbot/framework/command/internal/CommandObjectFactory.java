@@ -16,10 +16,12 @@
 
 package com.github.breadmoirai.breadbot.framework.command.internal;
 
+import com.github.breadmoirai.breadbot.framework.error.BreadBotException;
 import com.github.breadmoirai.breadbot.framework.inject.BreadInjector;
 import org.slf4j.LoggerFactory;
 
 import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
 import java.util.Objects;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
@@ -70,11 +72,32 @@ public abstract class CommandObjectFactory {
         return new MethodHandleCommandObjectFactory(returnType, handle);
     }
 
+    /**
+     * Creates objects with a constructor whose parameters are all provided by the {@link BreadInjector}.
+     * An object built this way has no fields written after construction unless it also has
+     * {@link javax.inject.Inject @Inject} fields.
+     * If injection is not enabled, objects are created with the {@code noArgsConstructor} instead.
+     *
+     * @param noArgsConstructor a handle to the public no-args constructor, or {@code null} if there is none
+     */
+    public static CommandObjectFactory of(Class<?> returnType, Constructor<?> injectableConstructor,
+                                          MethodHandle noArgsConstructor) {
+        return new ConstructorCommandObjectFactory(returnType, injectableConstructor, noArgsConstructor);
+    }
+
     public void setInjector(BreadInjector injector) {
         if (returnType == null || injector == null) return;
         this.injector = injector.getInjectorFor(returnType);
     }
 
+    /**
+     * Called when the command is built, after the injector has been set if injection is enabled.
+     *
+     * @throws BreadBotException if this factory will not be able to create objects
+     */
+    public void verify() {
+    }
+
     public abstract Object get() throws Throwable;
 
     public final Object getOrNull() {
@@ -96,7 +119,7 @@ public abstract class CommandObjectFactory {
         }
 
         @Override
-        public Object get() throws IllegalAccessException {
+        public Object get() {
             if (injector != null) {
                 injector.inject(o);
                 injector = null;
@@ -115,7 +138,7 @@ public abstract class CommandObjectFactory {
         }
 
         @Override
-        public Object get() throws IllegalAccessException {
+        public Object get() {
             final Object o = supplier.get();
             if (injector != null) {
                 injector.inject(o);
@@ -143,6 +166,48 @@ public abstract class CommandObjectFactory {
         }
     }
 
+    private static class ConstructorCommandObjectFactory extends CommandObjectFactory {
+
+        private final Constructor<?> constructor;
+        private final MethodHandle noArgsConstructor;
+        private MethodHandle handle;
+
+        private ConstructorCommandObjectFactory(Class<?> returnType, Constructor<?> constructor,
+                                                MethodHandle noArgsConstructor) {
+            super(returnType);
+            this.constructor = constructor;
+            this.noArgsConstructor = noArgsConstructor;
+        }
+
+        @Override
+        public void setInjector(BreadInjector injector) {
+            if (injector == null) return;
+            super.setInjector(injector);
+            handle = injector.getConstructorFor(constructor);
+        }
+
+        @Override
+        public void verify() {
+            if (handle == null && noArgsConstructor == null) {
+                throw new BreadBotException(constructor + " can only be called with injection enabled and " +
+                                                    returnType + " does not have a public no-args constructor.");
+            }
+        }
+
+        @Override
+        public Object get() throws Throwable {
+            if (handle == null) {
+                verify();
+                return noArgsConstructor.invoke();
+            }
+            final Object o = (Object) handle.invokeExact();
+            if (injector != null) {
+                injector.inject(o);
+            }
+            return o;
+        }
+    }
+
     private static class EmptyCommandObjectFactory extends CommandObjectFactory {
 
         public EmptyCommandObjectFactory() {
@@ -19,6 +19,7 @@ package com.github.breadmoirai.breadbot.framework.command.internal;
 import com.github.breadmoirai.breadbot.framework.command.Command;
 import com.github.breadmoirai.breadbot.framework.command.CommandPreprocessor;
 import com.github.breadmoirai.breadbot.framework.event.CommandEvent;
+import com.github.breadmoirai.breadbot.framework.metrics.CommandMetrics;
 
 import java.util.ArrayDeque;
 import java.util.Collection;
@@ -33,14 +34,22 @@ public class CommandProcessStack extends ArrayDeque<CommandPreprocessor> {
     private final Command targetHandle;
     private final CommandEvent event;
     private final Runnable onEnd;
+    private final CommandMetrics.CommandLatencies latencies;
     private boolean ranEnd;
+    private String segmentIdentifier;
+    private long segmentStart;
 
     public CommandProcessStack(Object object, Command targetHandle, CommandEvent event, Collection<CommandPreprocessor> preprocessors, Runnable onEnd) {
+        this(object, targetHandle, event, preprocessors, onEnd, null);
+    }
+
+    public CommandProcessStack(Object object, Command targetHandle, CommandEvent event, Collection<CommandPreprocessor> preprocessors, Runnable onEnd, CommandMetrics.CommandLatencies latencies) {
         super(preprocessors);
         this.object = object;
         this.targetHandle = targetHandle;
         this.event = event;
         this.onEnd = onEnd;
+        this.latencies = latencies;
         this.ranEnd = false;
     }
 
@@ -60,14 +69,33 @@ public class CommandProcessStack extends ArrayDeque<CommandPreprocessor> {
      * It is generally recommended to use this method to continue operation. Calling this method when this stack is empty will run the command.
      */
     public void runNext() {
-        if (!this.isEmpty())
-            this.pop().process(object, targetHandle, event, this);
-        else {
+        if (latencies != null) {
+            endSegment();
+        }
+        if (!this.isEmpty()) {
+            final CommandPreprocessor preprocessor = this.pop();
+            if (latencies != null) {
+                // a preprocessor is timed until it either continues to the next one or returns
+                segmentIdentifier = preprocessor.getIdentifier();
+                segmentStart = System.nanoTime();
+                preprocessor.process(object, targetHandle, event, this);
+                endSegment();
+            } else {
+                preprocessor.process(object, targetHandle, event, this);
+            }
+        } else {
             onEnd.run();
             ranEnd = true;
         }
     }
 
+    private void endSegment() {
+        if (segmentStart != 0) {
+            latencies.recordPreprocessor(segmentIdentifier, System.nanoTime() - segmentStart);
+            segmentStart = 0;
+        }
+    }
+
     /**
      * Returns {@code true} if the command has been executed.
      *
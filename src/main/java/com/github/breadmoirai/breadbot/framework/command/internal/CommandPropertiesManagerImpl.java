@@ -35,13 +35,15 @@ import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 public class CommandPropertiesManagerImpl implements CommandPropertiesManager<CommandPropertiesManagerImpl> {
 
-    private static Map<Package, CommandPropertyMapImpl> packageMap = new HashMap<>();
+    private static final ConcurrentMap<Package, CommandPropertyMapImpl> packageMap = new ConcurrentHashMap<>();
     private final Map<Class<?>, BiConsumer<?, CommandHandleBuilder>> commandPropertyMap = new HashMap<>();
     private final Map<Class<?>, BiConsumer<?, CommandParameterBuilder>> parameterPropertyMap = new HashMap<>();
     private List<String> preprocessorPriorityList = Collections.emptyList();
@@ -70,7 +72,12 @@ public class CommandPropertiesManagerImpl implements CommandPropertiesManager<Co
 
     public static CommandPropertyMapImpl getPP(Package p) {
         if (p == null) return null;
-        return packageMap.computeIfAbsent(p, CommandPropertiesManagerImpl::createPropertiesForPackage);
+        final CommandPropertyMapImpl existing = packageMap.get(p);
+        if (existing != null) return existing;
+        // the parent package is resolved recursively, which ConcurrentHashMap#computeIfAbsent does not permit
+        final CommandPropertyMapImpl created = createPropertiesForPackage(p);
+        final CommandPropertyMapImpl raced = packageMap.putIfAbsent(p, created);
+        return raced != null ? raced : created;
     }
 
     @Override
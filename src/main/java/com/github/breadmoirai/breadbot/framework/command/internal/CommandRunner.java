@@ -20,6 +20,8 @@ import com.github.breadmoirai.breadbot.framework.command.Command;
 import com.github.breadmoirai.breadbot.framework.command.CommandHandle;
 import com.github.breadmoirai.breadbot.framework.command.CommandResultHandler;
 import com.github.breadmoirai.breadbot.framework.event.internal.CommandEventInternal;
+import com.github.breadmoirai.breadbot.framework.metrics.CommandMetrics;
+import com.github.breadmoirai.breadbot.framework.metrics.PipelineStage;
 import com.github.breadmoirai.breadbot.framework.parameter.CommandParameter;
 import com.github.breadmoirai.breadbot.framework.parameter.CommandParser;
 import org.slf4j.Logger;
@@ -38,24 +40,30 @@ public class CommandRunner implements Runnable {
     private final CommandParser parser;
     private final Command command;
     private final CommandResultHandler<?> resultHandler;
+    private final CommandMetrics.CommandLatencies latencies;
 
     CommandRunner(Object o,
                   CommandEventInternal event,
                   InvokableCommand invokableCommand,
                   CommandParser parser,
                   Command command,
-                  CommandResultHandler<?> resultHandler) {
+                  CommandResultHandler<?> resultHandler,
+                  CommandMetrics.CommandLatencies latencies) {
         this.o = o;
         this.event = event;
         this.invokableCommand = invokableCommand;
         this.parser = parser;
         this.command = command;
         this.resultHandler = resultHandler;
+        this.latencies = latencies;
     }
 
     @Override
     public void run() {
-        if (parser.mapAll()) {
+        long start = System.nanoTime();
+        final boolean mapped = parser.mapAll();
+        record(PipelineStage.PARSING, start);
+        if (mapped) {
 
             if (LOG.isDebugEnabled()) {
                 final int tp = parser.getParameters().length;
@@ -72,14 +80,22 @@ public class CommandRunner implements Runnable {
             }
 
             try {
-                Object result = invokableCommand.invoke(o, parser.getResults());
+                start = System.nanoTime();
+                Object result;
+                try {
+                    result = invokableCommand.invoke(o, parser.getResults());
+                } finally {
+                    record(PipelineStage.INVOCATION, start);
+                }
                 if (LOG.isDebugEnabled())
                     if (command instanceof CommandHandle &&
                             ((CommandHandle) command).getDeclaringMethod().getReturnType() != Void.TYPE) {
                         LOG.debug("Command Result: " + result);
                     }
                 if (result != null) {
+                    start = System.nanoTime();
                     CommandResultHandler.handleObject(resultHandler, command, event, result);
+                    record(PipelineStage.RESULT_HANDLING, start);
                 }
                 LOG.debug("Command Execution Completed");
                 return;
@@ -95,4 +111,9 @@ public class CommandRunner implements Runnable {
         LOG.debug("Command Execution Failed");
     }
 
-}
\ No newline at end of file
+    private void record(PipelineStage stage, long start) {
+        if (latencies != null) {
+            latencies.record(stage, System.nanoTime() - start);
+        }
+    }
+}
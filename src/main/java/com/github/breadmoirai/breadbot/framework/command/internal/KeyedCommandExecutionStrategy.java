@@ -0,0 +1,196 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.framework.command.internal;
+
+import com.github.breadmoirai.breadbot.framework.command.CommandExecutionStrategy;
+import net.dv8tion.jda.api.events.message.guild.GenericGuildMessageEvent;
+import net.dv8tion.jda.internal.utils.Checks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
+
+/**
+ * Runs tasks on a fixed thread pool, serially per key.
+ * Each key with pending work occupies at most one slot in the executor so a busy channel cannot starve the others.
+ */
+public class KeyedCommandExecutionStrategy implements CommandExecutionStrategy {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CommandExecutionStrategy.class);
+    private static final AtomicInteger POOL_COUNT = new AtomicInteger();
+
+    private final ToLongFunction<GenericGuildMessageEvent> keyFunction;
+    private final int maxQueued;
+    private final ExecutorService executor;
+    private final ConcurrentMap<Long, SerialQueue> queues = new ConcurrentHashMap<>();
+    private final AtomicInteger depth = new AtomicInteger();
+
+    public KeyedCommandExecutionStrategy(ToLongFunction<GenericGuildMessageEvent> keyFunction, int threads, int maxQueued) {
+        Checks.notNull(keyFunction, "keyFunction");
+        Checks.positive(threads, "threads");
+        Checks.positive(maxQueued, "maxQueued");
+        this.keyFunction = keyFunction;
+        this.maxQueued = maxQueued;
+        this.executor = Executors.newFixedThreadPool(threads, new CommandThreadFactory());
+    }
+
+    @Override
+    public void execute(GenericGuildMessageEvent event, Runnable task) {
+        if (executor.isShutdown()) {
+            LOG.warn("Command executor has been shut down, dropping message " + event.getMessageIdLong());
+            return;
+        }
+        if (depth.incrementAndGet() > maxQueued) {
+            depth.decrementAndGet();
+            LOG.warn("Command queue is full, dropping message " + event.getMessageIdLong());
+            return;
+        }
+        final long key = keyFunction.applyAsLong(event);
+        SerialQueue queue;
+        do {
+            queue = queues.computeIfAbsent(key, SerialQueue::new);
+        } while (!queue.offer(task));
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return depth.get();
+    }
+
+    /**
+     * The number of messages waiting on or executing for a single channel or guild.
+     *
+     * @param key the channel id or guild id depending on how this strategy was created
+     * @return the queue depth for that key
+     */
+    public int getQueueDepth(long key) {
+        final SerialQueue queue = queues.get(key);
+        return queue == null ? 0 : queue.size();
+    }
+
+    @Override
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void schedule(SerialQueue queue) {
+        try {
+            executor.execute(queue);
+        } catch (RejectedExecutionException e) {
+            LOG.warn("Command executor has been shut down, dropping " + queue.size() + " queued messages");
+            depth.addAndGet(-queue.retire());
+        }
+    }
+
+    private final class SerialQueue implements Runnable {
+
+        private final long key;
+        private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        private boolean scheduled;
+        private boolean retired;
+
+        private SerialQueue(long key) {
+            this.key = key;
+        }
+
+        /**
+         * @return {@code false} if this queue has been removed from the map and a new one must be created
+         */
+        private boolean offer(Runnable task) {
+            final boolean schedule;
+            synchronized (this) {
+                if (retired) return false;
+                tasks.add(task);
+                schedule = !scheduled;
+                scheduled = true;
+            }
+            if (schedule) schedule(this);
+            return true;
+        }
+
+        private synchronized int size() {
+            return tasks.size();
+        }
+
+        private synchronized int retire() {
+            retired = true;
+            queues.remove(key, this);
+            final int size = tasks.size();
+            tasks.clear();
+            return size;
+        }
+
+        @Override
+        public void run() {
+            boolean more;
+            do {
+                final Runnable task;
+                synchronized (this) {
+                    task = tasks.peek();
+                }
+                try {
+                    task.run();
+                } catch (Throwable t) {
+                    LOG.error("Uncaught exception while executing command", t);
+                } finally {
+                    depth.decrementAndGet();
+                }
+                synchronized (this) {
+                    tasks.poll();
+                    more = !tasks.isEmpty();
+                    if (!more) {
+                        scheduled = false;
+                        retired = true;
+                        queues.remove(key, this);
+                    }
+                }
+                // yield the thread after each task so that other channels are not starved by a busy one.
+                // once the executor is shut down, the remaining tasks are drained on this thread instead.
+            } while (more && !resubmit());
+        }
+
+        private boolean resubmit() {
+            try {
+                executor.execute(this);
+                return true;
+            } catch (RejectedExecutionException e) {
+                return false;
+            }
+        }
+    }
+
+    private static final class CommandThreadFactory implements ThreadFactory {
+
+        private final int pool = POOL_COUNT.incrementAndGet();
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            final Thread thread = new Thread(r, "BreadBot-Command-" + pool + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
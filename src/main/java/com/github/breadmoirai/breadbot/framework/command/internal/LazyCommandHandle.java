@@ -0,0 +1,134 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.framework.command.internal;
+
+import com.github.breadmoirai.breadbot.framework.command.Command;
+import com.github.breadmoirai.breadbot.framework.command.internal.builder.CommandHandleBuilderInternal;
+import com.github.breadmoirai.breadbot.framework.error.MissingCommandKeyException;
+import com.github.breadmoirai.breadbot.framework.event.internal.CommandEventInternal;
+import com.github.breadmoirai.breadbot.framework.inject.BreadInjector;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * A top level command whose {@link CommandHandleImpl} is not built until it is first needed.
+ *
+ * <p>The builder itself, including its parameters, type parsers, and modifiers, is created when the command is added.
+ * Its keys, name, group, and description are copied up front so that the command can be routed without building it.
+ * {@link #materialize()} runs {@link CommandHandleBuilderInternal#build} the first time the command is dispatched, which
+ * creates the method invoker, applies injection, instantiates persistent commands, and builds the parameters and
+ * subcommands. If building fails, the exception is thrown to the caller and the next dispatch tries again.
+ */
+public class LazyCommandHandle implements Command {
+
+    private final CommandHandleBuilderInternal builder;
+    private final BreadInjector injector;
+    private final String[] keys;
+    private final String name;
+    private final String group;
+    private final String description;
+
+    private volatile CommandHandleImpl handle;
+
+    /**
+     * @param builder  the builder to build the command from
+     * @param injector the injector to set on the builder before it is built, or {@code null} if injection is disabled
+     */
+    public LazyCommandHandle(CommandHandleBuilderInternal builder, BreadInjector injector) {
+        final String[] keys = builder.getKeys();
+        if (keys == null || keys.length == 0) {
+            throw new MissingCommandKeyException(builder);
+        }
+        this.builder = builder;
+        this.injector = injector;
+        this.keys = keys;
+        this.name = builder.getName();
+        this.group = builder.getGroup();
+        this.description = builder.getDescription();
+    }
+
+    /**
+     * Builds the command if it has not been built yet.
+     *
+     * @return the built command
+     */
+    public CommandHandleImpl materialize() {
+        CommandHandleImpl h = handle;
+        if (h == null) {
+            synchronized (this) {
+                h = handle;
+                if (h == null) {
+                    if (injector != null) {
+                        builder.setInjector(injector);
+                    }
+                    handle = h = builder.build(null);
+                }
+            }
+        }
+        return h;
+    }
+
+    public boolean isMaterialized() {
+        return handle != null;
+    }
+
+    @Override
+    public String[] getKeys() {
+        return Arrays.copyOf(keys, keys.length);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String getGroup() {
+        return group;
+    }
+
+    @Override
+    public String getDescription() {
+        return description;
+    }
+
+    @Override
+    public boolean handle(CommandEventInternal event, Iterator<String> keyItr) {
+        return materialize().handle(event, keyItr);
+    }
+
+    @Override
+    public Map<String, Command> getChildren() {
+        return materialize().getChildren();
+    }
+
+    @Override
+    public Command getParent() {
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        final CommandHandleImpl h = handle;
+        if (h != null) {
+            return h.toString();
+        }
+        return "LazyCommandHandle" + Arrays.toString(keys) + "{name: " + name + ", group: " + group + '}';
+    }
+}
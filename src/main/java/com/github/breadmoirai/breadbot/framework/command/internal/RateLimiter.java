@@ -0,0 +1,136 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.framework.command.internal;
+
+import com.github.breadmoirai.breadbot.framework.annotation.command.Cooldown;
+import com.github.breadmoirai.breadbot.framework.annotation.command.RateLimit;
+import com.github.breadmoirai.breadbot.framework.annotation.command.RateLimitScope;
+import com.github.breadmoirai.breadbot.framework.command.CommandPreprocessorPredicate;
+import com.github.breadmoirai.breadbot.framework.event.CommandEvent;
+import gnu.trove.map.hash.TLongLongHashMap;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket per user, channel, or guild for a single command.
+ *
+ * <p>Each bucket is stored as a single {@code long}, the theoretical arrival time of the next use (GCRA), so refilling
+ * happens lazily when the bucket is next checked and no timer is needed. A bucket whose arrival time has passed is
+ * full and equivalent to an absent one, so such entries are swept out periodically.
+ */
+public class RateLimiter implements CommandPreprocessorPredicate {
+
+    private static final int STRIPES = 16;
+    private static final int SWEEP_INTERVAL = 1024;
+
+    private final RateLimitScope scope;
+    private final long emissionInterval;
+    private final long tolerance;
+    private final String message;
+    private final long origin = System.nanoTime() - 1;
+    private final Stripe[] stripes = new Stripe[STRIPES];
+
+    public RateLimiter(int permits, long period, TimeUnit unit, RateLimitScope scope, String message) {
+        if (permits <= 0) throw new IllegalArgumentException("permits must be positive");
+        if (period <= 0) throw new IllegalArgumentException("period must be positive");
+        this.scope = scope;
+        this.emissionInterval = Math.max(1, unit.toNanos(period) / permits);
+        this.tolerance = emissionInterval * (permits - 1);
+        this.message = message == null || message.isEmpty() ? null : message;
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public static RateLimiter of(Cooldown cooldown) {
+        return new RateLimiter(1, cooldown.value(), cooldown.unit(), cooldown.scope(), cooldown.message());
+    }
+
+    public static RateLimiter of(RateLimit limit) {
+        return new RateLimiter(limit.permits(), limit.period(), limit.unit(), limit.scope(), limit.message());
+    }
+
+    @Override
+    public boolean test(CommandEvent event) {
+        if (tryAcquire(getKey(event))) {
+            return true;
+        }
+        if (message != null) {
+            event.reply(message).send();
+        }
+        return false;
+    }
+
+    /**
+     * Takes a token from the bucket of the key if one is available.
+     *
+     * @param key the id of a user, channel, or guild
+     * @return {@code true} if the use is allowed
+     */
+    public boolean tryAcquire(long key) {
+        final long now = System.nanoTime() - origin;
+        final Stripe stripe = stripes[spread(key) & (STRIPES - 1)];
+        synchronized (stripe) {
+            final long stored = stripe.buckets.get(key);
+            final long tat = Math.max(stored, now);
+            final boolean allowed = tat - now <= tolerance;
+            if (allowed) {
+                stripe.buckets.put(key, tat + emissionInterval);
+            }
+            if (++stripe.operations >= SWEEP_INTERVAL) {
+                stripe.operations = 0;
+                stripe.buckets.retainEntries((k, v) -> v > now);
+            }
+            return allowed;
+        }
+    }
+
+    /**
+     * @return the number of buckets that are currently not full.
+     */
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                size += stripe.buckets.size();
+            }
+        }
+        return size;
+    }
+
+    private long getKey(CommandEvent event) {
+        switch (scope) {
+            case CHANNEL:
+                return event.getChannelId();
+            case GUILD:
+                return event.getGuildId();
+            default:
+                return event.getAuthorId();
+        }
+    }
+
+    private static int spread(long key) {
+        final long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 32);
+    }
+
+    private static final class Stripe {
+        // a missing key returns 0, which is always in the past
+        private final TLongLongHashMap buckets = new TLongLongHashMap();
+        private int operations;
+    }
+}
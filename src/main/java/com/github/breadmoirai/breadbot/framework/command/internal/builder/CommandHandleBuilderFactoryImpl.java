@@ -20,10 +20,10 @@ import com.github.breadmoirai.breadbot.framework.annotation.command.Command;
 import com.github.breadmoirai.breadbot.framework.annotation.command.MainCommand;
 import com.github.breadmoirai.breadbot.framework.builder.BreadBotBuilder;
 import com.github.breadmoirai.breadbot.framework.builder.CommandParameterBuilder;
+import com.github.breadmoirai.breadbot.framework.command.internal.CommandIndex;
 import com.github.breadmoirai.breadbot.framework.command.internal.CommandObjectFactory;
 import com.github.breadmoirai.breadbot.framework.command.internal.CommandPropertiesManagerImpl;
 import com.github.breadmoirai.breadbot.framework.command.internal.CommandPropertyMapImpl;
-import com.github.breadmoirai.breadbot.framework.command.internal.InvokableCommandHandle;
 import com.github.breadmoirai.breadbot.framework.error.BreadBotException;
 import com.github.breadmoirai.breadbot.framework.error.CommandInitializationException;
 import com.github.breadmoirai.breadbot.framework.error.MissingMainCommandException;
@@ -31,13 +31,13 @@ import com.github.breadmoirai.breadbot.framework.error.TooManyMainCommandsExcept
 import com.github.breadmoirai.breadbot.framework.event.CommandEvent;
 import com.github.breadmoirai.breadbot.framework.inject.BreadInjector;
 import com.github.breadmoirai.breadbot.framework.parameter.internal.builder.CommandParameterBuilderImpl;
-import org.reflections.Reflections;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.lang.invoke.MethodHandle;
 import java.lang.invoke.MethodHandles;
 import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.lang.reflect.Parameter;
@@ -46,7 +46,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
-import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -113,8 +112,7 @@ public class CommandHandleBuilderFactoryImpl implements CommandHandleBuilderFact
 
     @Override
     public List<CommandHandleBuilderInternal> createCommands(String packageName) {
-        final Reflections reflections = new Reflections(packageName);
-        final Set<Class<?>> classes = reflections.getSubTypesOf(Object.class);
+        final Collection<Class<?>> classes = CommandIndex.getCommandClasses(packageName);
         List<CommandHandleBuilderInternal> builders = new ArrayList<>();
         for (Class<?> commandClass : classes) {
             final int mod = commandClass.getModifiers();
@@ -324,14 +322,6 @@ public class CommandHandleBuilderFactoryImpl implements CommandHandleBuilderFact
         final Parameter[] parameters = method.getParameters();
         final CommandParameterBuilder[] parameterBuilders = new CommandParameterBuilder[parameters.length];
 
-        final MethodHandle handle;
-        try {
-            handle = MethodHandles.publicLookup().unreflect(method);
-        } catch (IllegalAccessException e) {
-            throw new BreadBotException(method + " could not be accessed.", e);
-        }
-        final MethodHandle spread = handle.asSpreader(Object[].class, parameterBuilders.length);
-        InvokableCommandHandle invokableCommandHandle = new InvokableCommandHandle(spread);
         CommandObjectFactory factory;
         if (objectFactory != null) {
             factory = objectFactory;
@@ -341,8 +331,7 @@ public class CommandHandleBuilderFactoryImpl implements CommandHandleBuilderFact
 
         CommandHandleBuilderImpl commandHandleBuilder = new CommandHandleBuilderImpl(obj, commandClass, method,
                                                                                      clientBuilder, factory,
-                                                                                     parameterBuilders,
-                                                                                     invokableCommandHandle, map);
+                                                                                     parameterBuilders, null, map);
 
         Arrays.setAll(parameterBuilders,
                       value -> new CommandParameterBuilderImpl(clientBuilder, commandHandleBuilder, parameters[value],
@@ -351,6 +340,19 @@ public class CommandHandleBuilderFactoryImpl implements CommandHandleBuilderFact
     }
 
     private CommandObjectFactory getSupplierForClass(Class<?> klass) throws BreadBotException {
+        if (klass.getDeclaringClass() == null || Modifier.isStatic(klass.getModifiers())) {
+            final Constructor<?> injectableConstructor = BreadInjector.getInjectableConstructor(klass);
+            if (injectableConstructor != null) {
+                MethodHandle noArgsConstructor;
+                try {
+                    noArgsConstructor = MethodHandles.publicLookup()
+                            .findConstructor(klass, MethodType.methodType(void.class));
+                } catch (NoSuchMethodException | IllegalAccessException e) {
+                    noArgsConstructor = null;
+                }
+                return CommandObjectFactory.of(klass, injectableConstructor, noArgsConstructor);
+            }
+        }
         ArrayDeque<MethodHandle> constructors = new ArrayDeque<>();
         ArrayDeque<Class<?>> classes = new ArrayDeque<>();
         Class<?> aClass = klass;
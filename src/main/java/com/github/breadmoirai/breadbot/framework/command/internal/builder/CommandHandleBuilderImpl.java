@@ -23,13 +23,16 @@ import com.github.breadmoirai.breadbot.framework.command.Command;
 import com.github.breadmoirai.breadbot.framework.command.CommandPreprocessor;
 import com.github.breadmoirai.breadbot.framework.command.CommandResultHandler;
 import com.github.breadmoirai.breadbot.framework.command.internal.CommandHandleImpl;
+import com.github.breadmoirai.breadbot.framework.command.internal.CommandMethodInvokers;
 import com.github.breadmoirai.breadbot.framework.command.internal.CommandObjectFactory;
 import com.github.breadmoirai.breadbot.framework.command.internal.CommandPropertyMapImpl;
 import com.github.breadmoirai.breadbot.framework.command.internal.InvokableCommand;
 import com.github.breadmoirai.breadbot.framework.error.BreadBotException;
 import com.github.breadmoirai.breadbot.framework.error.MissingCommandKeyException;
+import com.github.breadmoirai.breadbot.framework.event.internal.DelimiterArgumentSplitter;
 import com.github.breadmoirai.breadbot.framework.inject.BreadInjector;
 import com.github.breadmoirai.breadbot.framework.parameter.CommandParameter;
+import com.github.breadmoirai.breadbot.framework.parameter.internal.ParameterBindingPlan;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
@@ -55,7 +58,7 @@ public class CommandHandleBuilderImpl implements CommandHandleBuilderInternal {
     private final BreadBotBuilder clientBuilder;
     private final CommandObjectFactory commandFactory;
     private final CommandParameterBuilder[] parameterBuilders;
-    private final InvokableCommand commandFunction;
+    private InvokableCommand commandFunction;
     private final List<CommandHandleBuilderInternal> subCommands;
     private final List<CommandPreprocessor> preprocessors;
     private final CommandPropertyMapImpl propertyMap;
@@ -66,6 +69,10 @@ public class CommandHandleBuilderImpl implements CommandHandleBuilderInternal {
     private Pattern splitRegex;
     private int splitLimit;
 
+    /**
+     * @param commandFunction the function to invoke the command with, or {@code null} to create one for
+     *                        {@code declaringMethod} when this is built
+     */
     public CommandHandleBuilderImpl(Object declaringObject,
                                     Class<?> declaringClass,
                                     Method declaringMethod,
@@ -306,6 +313,7 @@ public class CommandHandleBuilderImpl implements CommandHandleBuilderInternal {
         } else {
             subCommandMap = new HashMap<>();
         }
+        this.commandFactory.verify();
         CommandObjectFactory commandFactory;
         if (isPersistent) {
             final Object o;
@@ -324,12 +332,18 @@ public class CommandHandleBuilderImpl implements CommandHandleBuilderInternal {
             Class<?> returnType = declaringMethod.getReturnType();
             resultHandler = getClientBuilder().getResultHandler(returnType);
         }
+        if (commandFunction == null) {
+            commandFunction = CommandMethodInvokers.create(declaringMethod);
+        }
         CommandHandleImpl commandHandle = new CommandHandleImpl(keys, name, group, description, declaringObject,
                                                                 declaringClass, declaringMethod, commandFactory,
-                                                                commandParameters, commandFunction, resultHandler,
+                                                                commandParameters,
+                                                                ParameterBindingPlan.compile(commandParameters),
+                                                                commandFunction, resultHandler,
                                                                 subCommandMap, preprocessors,
-                                                                shouldRetainProperties ? propertyMap : null, splitRegex,
-                                                                splitLimit, parent);
+                                                                shouldRetainProperties ? propertyMap : null,
+                                                                splitRegex == null ? null : DelimiterArgumentSplitter.compile(splitRegex, splitLimit),
+                                                                parent);
 
         //would do null check on sucCommandMap but for loop does not run when subCommands isEmpty
         for (CommandHandleBuilderInternal subCommand : subCommands) {
@@ -339,6 +353,7 @@ public class CommandHandleBuilderImpl implements CommandHandleBuilderInternal {
                 subCommandMap.put(key, command);
             }
         }
+        commandHandle.compileSubCommands();
         return commandHandle;
     }
 
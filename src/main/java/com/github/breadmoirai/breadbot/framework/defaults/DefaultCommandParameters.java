@@ -31,6 +31,8 @@ import com.github.breadmoirai.breadbot.framework.parameter.internal.builder.Comm
 import com.github.breadmoirai.breadbot.framework.parameter.internal.builder.CommandParameterTypeManagerImpl;
 import com.github.breadmoirai.breadbot.util.Arguments;
 import com.github.breadmoirai.breadbot.util.Emoji;
+import gnu.trove.list.TIntList;
+import gnu.trove.list.TLongList;
 import net.dv8tion.jda.api.entities.Emote;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
@@ -41,10 +43,13 @@ import net.dv8tion.jda.api.entities.User;
 
 import java.awt.*;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.OptionalDouble;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
@@ -196,16 +201,24 @@ public class DefaultCommandParameters {
 
         map.put(String.class, CommandArgument::getArgument);
 
+        final Map<String, Color> colors = new HashMap<>();
+        for (Field field : Color.class.getFields()) {
+            if (field.getType() == Color.class && Modifier.isStatic(field.getModifiers())) {
+                try {
+                    colors.put(field.getName(), (Color) field.get(null));
+                } catch (IllegalAccessException ignored) {
+                }
+            }
+        }
         map.put(Color.class, (TypeParser<Color>) arg -> {
             final String strColor = arg.getArgument();
-            try {
-                Field field = java.awt.Color.class.getField(strColor);
-                return (java.awt.Color) field.get(null);
-            } catch (Exception ignored) {
+            final Color namedColor = colors.get(strColor);
+            if (namedColor != null) {
+                return namedColor;
             }
-            if (Arguments.isHex(strColor)) {
-                final String hexString = Arguments.stripHexPrefix(strColor);
-                final int i = Integer.parseInt(hexString, 16);
+            final Arguments.LongHolder hex = new Arguments.LongHolder();
+            if (Arguments.tryParseHex(strColor, hex) && hex.value <= Integer.MAX_VALUE) {
+                final int i = (int) hex.value;
                 if (i == 0) {
                     return new Color(0, 0, 1);
                 }
@@ -238,6 +251,12 @@ public class DefaultCommandParameters {
         map.bindTypeModifier(LongStream.class, builder -> CollectionTypes.setParserToLongStream(((CommandParameterBuilderImpl) builder)));
         map.bindTypeModifier(DoubleStream.class, builder -> CollectionTypes.setParserToDoubleStream(((CommandParameterBuilderImpl) builder)));
 
+        map.bindTypeModifier(int[].class, builder -> CollectionTypes.setParserToIntArray(((CommandParameterBuilderImpl) builder)));
+        map.bindTypeModifier(long[].class, builder -> CollectionTypes.setParserToLongArray(((CommandParameterBuilderImpl) builder)));
+        map.bindTypeModifier(double[].class, builder -> CollectionTypes.setParserToDoubleArray(((CommandParameterBuilderImpl) builder)));
+        map.bindTypeModifier(TIntList.class, builder -> CollectionTypes.setParserToIntList(((CommandParameterBuilderImpl) builder)));
+        map.bindTypeModifier(TLongList.class, builder -> CollectionTypes.setParserToLongList(((CommandParameterBuilderImpl) builder)));
+
         map.bindTypeModifier(Duration.class, builder -> {
             CollectionTypes.setParserToDuration(((CommandParameterBuilderImpl) builder));
         });
@@ -18,10 +18,12 @@ package com.github.breadmoirai.breadbot.framework.defaults;
 
 import com.github.breadmoirai.breadbot.framework.annotation.Name;
 import com.github.breadmoirai.breadbot.framework.annotation.command.Command;
+import com.github.breadmoirai.breadbot.framework.annotation.command.Cooldown;
 import com.github.breadmoirai.breadbot.framework.annotation.command.Delimiter;
 import com.github.breadmoirai.breadbot.framework.annotation.command.Description;
 import com.github.breadmoirai.breadbot.framework.annotation.command.Group;
 import com.github.breadmoirai.breadbot.framework.annotation.command.MainCommand;
+import com.github.breadmoirai.breadbot.framework.annotation.command.RateLimit;
 import com.github.breadmoirai.breadbot.framework.annotation.command.RequiredParameters;
 import com.github.breadmoirai.breadbot.framework.annotation.parameter.Author;
 import com.github.breadmoirai.breadbot.framework.annotation.parameter.Content;
@@ -34,6 +36,7 @@ import com.github.breadmoirai.breadbot.framework.annotation.parameter.Required;
 import com.github.breadmoirai.breadbot.framework.annotation.parameter.Width;
 import com.github.breadmoirai.breadbot.framework.builder.CommandHandleBuilder;
 import com.github.breadmoirai.breadbot.framework.command.internal.CommandPropertiesManagerImpl;
+import com.github.breadmoirai.breadbot.framework.command.internal.RateLimiter;
 import com.github.breadmoirai.breadbot.framework.error.BreadBotException;
 import com.github.breadmoirai.breadbot.framework.event.CommandArgumentList;
 import com.github.breadmoirai.breadbot.framework.event.CommandEvent;
@@ -88,7 +91,10 @@ public class DefaultCommandProperties {
             if (type == Integer.class || type == int.class) {
                 builder.setTypeParser(arg -> arg.isHex() ? arg.parseIntFromHex() : null);
             } else if (type == Long.class || type == long.class) {
-                builder.setTypeParser(arg -> arg.isHex() ? Long.parseLong(Arguments.stripHexPrefix(arg.getArgument()), 16) : null);
+                builder.setTypeParser(arg -> {
+                    final Arguments.LongHolder hex = new Arguments.LongHolder();
+                    return Arguments.tryParseHex(arg.getArgument(), hex) ? hex.value : null;
+                });
             } else if (type == String.class || type == CommandArgument.class) {
                 builder.addArgumentPredicate(CommandArgument::isHex);
             }
@@ -181,6 +187,8 @@ public class DefaultCommandProperties {
         cp.bindCommandModifier(Delimiter.class, (p, builder) -> {
             builder.setSplitRegex(p.regex(), p.limit());
         });
+        cp.bindPreprocessorPredicateFactory("cooldown", Cooldown.class, RateLimiter::of);
+        cp.bindPreprocessorPredicateFactory("ratelimit", RateLimit.class, RateLimiter::of);
 
         cp.bindCommandModifier(null, (o, builder) -> {
             Class<?> declaringClass = builder.getDeclaringClass();
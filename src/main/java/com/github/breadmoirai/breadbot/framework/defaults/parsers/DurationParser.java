@@ -1,72 +1,144 @@
 package com.github.breadmoirai.breadbot.framework.defaults.parsers;
 
+import com.github.breadmoirai.breadbot.framework.parameter.ArgumentSpan;
 import com.github.breadmoirai.breadbot.framework.parameter.CommandArgument;
-import com.github.breadmoirai.breadbot.framework.parameter.TypeParser;
+import com.github.breadmoirai.breadbot.framework.parameter.SpanTypeParser;
+import com.github.breadmoirai.breadbot.util.Arguments;
 
 import java.time.Duration;
-import java.time.temporal.ChronoUnit;
+import java.time.format.DateTimeParseException;
 
-public class DurationParser implements TypeParser<Duration> {
+/**
+ * Parses a positive {@link Duration} made of one or more {@code <number><unit>} components such as {@code 1h30m},
+ * {@code 2d 4h} or {@code 5 minutes}, or written in ISO-8601 such as {@code PT1H}.
+ * Components may be separated by whitespace or commas and units are matched without case.
+ */
+public class DurationParser implements SpanTypeParser<Duration> {
+
+    private static final String[] UNIT_NAMES = {
+            "s", "sec", "secs", "second", "seconds",
+            "m", "min", "mins", "minute", "minutes",
+            "h", "hr", "hrs", "hour", "hours",
+            "d", "day", "days",
+            "wk", "wks", "week", "weeks"
+    };
+    private static final long[] UNIT_SECONDS = {
+            1, 1, 1, 1, 1,
+            60, 60, 60, 60, 60,
+            3600, 3600, 3600, 3600, 3600,
+            86400, 86400, 86400,
+            604800, 604800, 604800, 604800
+    };
 
     @Override
     public Duration parse(CommandArgument arg) {
         final String argument = arg.getArgument();
-        final char[] chars = argument.toCharArray();
-        int i = 0;
-        int time = 0;
-        while (Character.isDigit(chars[i])) {
-            time *= 10;
-            time += Character.getNumericValue(chars[i]);
-            i++;
+        final int length = argument.length();
+        final int start = skipSeparators(argument, 0, length);
+        if (isIso(argument, start, length)) {
+            return parseIso(argument.substring(start).trim());
         }
-        if (time <= 0) {
-            return null;
+        final Arguments.LongHolder seconds = new Arguments.LongHolder();
+        int i = start;
+        while ((i = skipSeparators(argument, i, length)) < length) {
+            i = scanComponent(argument, i, length, seconds);
+            if (i < 0) return null;
         }
-        //noinspection StatementWithEmptyBody
-        while (Character.isWhitespace(chars[i])) {
-            i++;
+        return seconds.value > 0 ? Duration.ofSeconds(seconds.value) : null;
+    }
+
+    @Override
+    public int matchLongest(ArgumentSpan span) {
+        final CharSequence joined = span.getJoined();
+        final int length = joined.length();
+        final int start = skipSeparators(joined, 0, length);
+        if (isIso(joined, start, span.endOf(1))) {
+            return parseIso(joined.subSequence(start, span.endOf(1)).toString()) != null ? 1 : 0;
         }
+        final Arguments.LongHolder seconds = new Arguments.LongHolder();
+        final int size = span.size();
+        int best = 0;
+        int k = 1;
+        int i = start;
+        while (i < length) {
+            i = scanComponent(joined, i, length, seconds);
+            if (i < 0) break;
+            final int next = skipSeparators(joined, i, length);
+            // a component may be followed by separators within the same argument, such as "2d,"
+            while (k < size && span.endOf(k) < i) k++;
+            while (k < size && span.endOf(k + 1) <= next) k++;
+            if (span.endOf(k) >= i && span.endOf(k) <= next && seconds.value > 0) {
+                best = k;
+            }
+            i = next;
+        }
+        return best;
+    }
 
-        final String unitS = argument.substring(i).toLowerCase();
-        final ChronoUnit unit;
+    /**
+     * Reads a single component starting at {@code i} and adds it to {@code seconds}.
+     * Whitespace is allowed between the number and the unit.
+     *
+     * @return the offset just after the unit, or {@code -1} if there is no component at {@code i} or it would overflow
+     */
+    private static int scanComponent(CharSequence s, int i, int to, Arguments.LongHolder seconds) {
+        int j = i;
+        long amount = 0;
+        char c;
+        while (j < to && (c = s.charAt(j)) >= '0' && c <= '9') {
+            if (amount > (Long.MAX_VALUE - 9) / 10) return -1;
+            amount = amount * 10 + (c - '0');
+            j++;
+        }
+        if (j == i) return -1;
+        while (j < to && Character.isWhitespace(s.charAt(j))) j++;
+        int k = j;
+        while (k < to && isLetter(s.charAt(k))) k++;
+        final long unit = unitSeconds(s, j, k);
+        if (unit == 0) return -1;
+        if (amount > (Long.MAX_VALUE - seconds.value) / unit) return -1;
+        seconds.value += amount * unit;
+        return k;
+    }
 
-        switch (unitS) {
-            case "s":
-            case "sec":
-            case "secs":
-            case "second":
-            case "seconds":
-                unit = ChronoUnit.SECONDS;
-                break;
-            case "m":
-            case "min":
-            case "mins":
-            case "minute":
-            case "minutes":
-                unit = ChronoUnit.MINUTES;
-                break;
-            case "h":
-            case "hr":
-            case "hrs":
-            case "hour":
-            case "hours":
-                unit = ChronoUnit.HOURS;
-                break;
-            case "d":
-            case "day":
-            case "days":
-                unit = ChronoUnit.DAYS;
-                break;
-            case "wk":
-            case "wks":
-            case "week":
-            case "weeks":
-                unit = ChronoUnit.WEEKS;
-                break;
-            default:
-                return null;
+    private static long unitSeconds(CharSequence s, int from, int to) {
+        final int length = to - from;
+        outer:
+        for (int u = 0; u < UNIT_NAMES.length; u++) {
+            final String name = UNIT_NAMES[u];
+            if (name.length() != length) continue;
+            for (int k = 0; k < length; k++) {
+                if ((s.charAt(from + k) | 0x20) != name.charAt(k)) continue outer;
+            }
+            return UNIT_SECONDS[u];
         }
+        return 0;
+    }
+
+    private static boolean isLetter(char c) {
+        c |= 0x20;
+        return c >= 'a' && c <= 'z';
+    }
+
+    private static int skipSeparators(CharSequence s, int i, int to) {
+        char c;
+        while (i < to && ((c = s.charAt(i)) == ',' || Character.isWhitespace(c))) i++;
+        return i;
+    }
 
-        return Duration.of(time, unit);
+    private static boolean isIso(CharSequence s, int i, int to) {
+        if (i + 1 >= to || (s.charAt(i) | 0x20) != 'p') return false;
+        final char c = s.charAt(i + 1);
+        return (c | 0x20) == 't' || c >= '0' && c <= '9';
+    }
+
+    private static Duration parseIso(String s) {
+        final Duration duration;
+        try {
+            duration = Duration.parse(s);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+        return duration.isNegative() || duration.isZero() ? null : duration;
     }
 }
@@ -19,6 +19,8 @@ package com.github.breadmoirai.breadbot.framework.defaults.parsers;
 import com.github.breadmoirai.breadbot.framework.parameter.CommandArgument;
 import com.github.breadmoirai.breadbot.framework.parameter.TypeParser;
 
+import java.text.Format;
+import java.text.ParsePosition;
 import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -29,39 +31,29 @@ import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
-import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoField;
 import java.time.temporal.TemporalAccessor;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class OffsetDateTimeParser implements TypeParser<OffsetDateTime> {
 
-    DateTimeFormatter DATE_TIME_FORMATTER = new DateTimeFormatterBuilder()
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = new DateTimeFormatterBuilder()
             .parseCaseInsensitive()
             .appendPattern("[[MMMM][MMM][' ']d'th'[' ']][M/d[' ']]")
             .appendPattern("[h[':'mm[':'ss]][' ']a[' ']]")
             .appendPattern("[z][0][x]")
             .toFormatter();
-    Pattern DAY_SUFFIX = Pattern.compile("(?<=[0-9])(st|nd|rd|th)");
-    Pattern MONTH_DAY = Pattern.compile("[a-zA-Z]+ ([0-9]+?!(st|nd|rd|th))");
-
+    /**
+     * Reports a failed parse through the {@link ParsePosition} instead of throwing, which most arguments will do.
+     */
+    private static final Format DATE_TIME_FORMAT = DATE_TIME_FORMATTER.toFormat();
 
     @Override
     public OffsetDateTime parse(CommandArgument argument) {
         final OffsetDateTime base = argument.getEvent().getCreationTime();
-        String args = argument.getArgument().toLowerCase();
-        final Matcher monthDay = MONTH_DAY.matcher(args);
-        if (monthDay.find()) {
-            if (monthDay.start() == 0) {
-                args = args.substring(0, monthDay.end() + 1) + "th" + args.substring(monthDay.end() + 1);
-            }
-        } else
-            args = DAY_SUFFIX.matcher(args).replaceAll("th");
-        TemporalAccessor time;
-        try {
-            time = DATE_TIME_FORMATTER.parse(args);
-        } catch (DateTimeParseException e) {
+        final String args = normalizeDays(argument.getArgument());
+        final ParsePosition position = new ParsePosition(0);
+        final TemporalAccessor time = (TemporalAccessor) DATE_TIME_FORMAT.parseObject(args, position);
+        if (time == null || position.getIndex() != args.length()) {
             return null;
         }
 
@@ -105,4 +97,58 @@ public class OffsetDateTimeParser implements TypeParser<OffsetDateTime> {
         }
         return offsetDateTime;
     }
+
+    /**
+     * Rewrites the day of the month into the {@code d'th'} form that the formatter expects.
+     * {@code 1st}, {@code 2nd} and {@code 3rd} become {@code 1th}, {@code 2th} and {@code 3th}, and a bare day after a
+     * leading month name such as {@code mar 9} becomes {@code mar 9th}.
+     *
+     * @param s the argument
+     * @return the rewritten argument, or {@code s} itself if there is nothing to rewrite
+     */
+    static String normalizeDays(String s) {
+        final int length = s.length();
+        int bareDay = -1;
+        int monthEnd = 0;
+        while (monthEnd < length && isLetter(s.charAt(monthEnd))) monthEnd++;
+        if (monthEnd > 0 && monthEnd < length && s.charAt(monthEnd) == ' ') {
+            int d = monthEnd + 1;
+            while (d < length && isDigit(s.charAt(d))) d++;
+            if (d > monthEnd + 1 && (d == length || !isLetter(s.charAt(d)))) {
+                bareDay = d;
+            }
+        }
+        StringBuilder sb = null;
+        int copied = 0;
+        for (int i = 1; i <= length; i++) {
+            if (!isDigit(s.charAt(i - 1))) continue;
+            if (i == bareDay) {
+                if (sb == null) sb = new StringBuilder(length + 2);
+                sb.append(s, copied, i).append("th");
+                copied = i;
+            } else if (i + 1 < length && isOrdinalSuffix(s.charAt(i), s.charAt(i + 1))) {
+                if (sb == null) sb = new StringBuilder(length);
+                sb.append(s, copied, i).append("th");
+                copied = i + 2;
+                i++;
+            }
+        }
+        if (sb == null) return s;
+        return sb.append(s, copied, length).toString();
+    }
+
+    private static boolean isOrdinalSuffix(char a, char b) {
+        a |= 0x20;
+        b |= 0x20;
+        return a == 's' && b == 't' || a == 'n' && b == 'd' || a == 'r' && b == 'd';
+    }
+
+    private static boolean isLetter(char c) {
+        c |= 0x20;
+        return c >= 'a' && c <= 'z';
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
 }
\ No newline at end of file
@@ -19,9 +19,9 @@ package com.github.breadmoirai.breadbot.framework.event;
 import com.github.breadmoirai.breadbot.framework.BreadBot;
 import com.github.breadmoirai.breadbot.framework.command.Command;
 import com.github.breadmoirai.breadbot.framework.event.internal.CommandArgumentArrayList;
-import com.github.breadmoirai.breadbot.framework.event.internal.CommandArgumentLazyArrayList;
 import com.github.breadmoirai.breadbot.framework.event.internal.CommandArgumentLazyLinkedList;
 import com.github.breadmoirai.breadbot.framework.event.internal.DefaultArgumentSplitterImpl;
+import com.github.breadmoirai.breadbot.framework.event.internal.DelimiterArgumentSplitter;
 import com.github.breadmoirai.breadbot.framework.parameter.CommandArgument;
 import com.github.breadmoirai.breadbot.framework.response.RestActionExtension;
 import com.github.breadmoirai.breadbot.framework.response.internal.CommandResponseMessage;
@@ -238,8 +238,7 @@ public abstract class CommandEvent extends Event {
     public synchronized CommandArgumentList getArguments(ArgumentSplitter splitter) {
         if (splitter == null && hasContent()) {
             if (argumentList == null) {
-                final Iterator<String> arguments = new DefaultArgumentSplitterImpl().getArguments(getContent());
-                argumentList = new CommandArgumentLazyLinkedList(arguments, this);
+                argumentList = new CommandArgumentLazyLinkedList(getDefaultArguments(), this);
             }
             return argumentList;
         }
@@ -254,6 +253,15 @@ public abstract class CommandEvent extends Event {
         return new CommandArgumentLazyLinkedList(arguments, this);
     }
 
+    /**
+     * Splits {@link CommandEvent#getContent() getContent()} with the default splitter.
+     *
+     * @return an iterator over the arguments
+     */
+    protected Iterator<String> getDefaultArguments() {
+        return new DefaultArgumentSplitterImpl().getArguments(getContent());
+    }
+
     /**
      * Creates a new list of arguments using the provided regex to split the message contents.
      *
@@ -281,15 +289,10 @@ public abstract class CommandEvent extends Event {
      * @return a new {@link CommandArgumentList}.
      *
      * @see java.util.regex.Pattern#split(java.lang.CharSequence, int)
+     * @see DelimiterArgumentSplitter
      */
     public CommandArgumentList createNewArgumentList(Pattern splitter, int limit) {
-        final String[] split = splitter.split(getContent().replace('`', '\"'), limit);
-        final String[] strings = Arrays.stream(split)
-                .map(s -> s.replace('\"', ' '))
-                .map(String::trim)
-                .filter(s -> !s.isEmpty())
-                .toArray(String[]::new);
-        return new CommandArgumentLazyArrayList(strings, this);
+        return getArguments(DelimiterArgumentSplitter.compile(splitter, limit));
     }
 
     /**
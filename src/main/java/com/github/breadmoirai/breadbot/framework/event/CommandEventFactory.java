@@ -19,126 +19,197 @@ package com.github.breadmoirai.breadbot.framework.event;
 import com.github.breadmoirai.breadbot.framework.event.internal.CommandEventInternal;
 import com.github.breadmoirai.breadbot.framework.event.internal.MessageReceivedCommandEvent;
 import com.github.breadmoirai.breadbot.framework.internal.BreadBotImpl;
+import com.github.breadmoirai.breadbot.plugins.prefix.PrefixMatch;
 import com.github.breadmoirai.breadbot.plugins.prefix.PrefixPlugin;
+import com.github.breadmoirai.breadbot.util.CaseInsensitiveTrie;
+import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.events.message.guild.GenericGuildMessageEvent;
 
+import java.util.List;
 import java.util.function.Predicate;
 
 public class CommandEventFactory {
 
     private final PrefixPlugin prefixModule;
-    private String myId;
-    private Predicate<Message> preProcessPredicate;
-    private String mention;
-    private String nmention;
+    // events may be created concurrently; the lazily computed values below are idempotent so a racing write is benign
+    private volatile String myId;
+    private volatile Predicate<Message>[] preProcessPredicates = newPredicateArray(0);
+    private volatile CaseInsensitiveTrie<?> commandKeys;
+    private volatile boolean rejectUnknownKeys;
+    private volatile boolean ignoreBots;
+    private volatile String mention;
+    private volatile String nmention;
 
     public CommandEventFactory(PrefixPlugin prefixSupplier) {
         this.prefixModule = prefixSupplier;
     }
 
     public CommandEventInternal createEvent(GenericGuildMessageEvent event, Message message, BreadBotImpl client) {
-        String prefix = prefixModule.getPrefix(event.getGuild());
+        final Guild guild = event.getGuild();
         String contentRaw = message.getContentRaw();
 
-        if (contentRaw.startsWith(prefix)) {
-            if (checkMessage(message)) {
-                final String trim = contentRaw.substring(prefix.length()).trim();
-                return parseContent(event, message, client, prefix, trim);
-            }
+        final String prefix;
+        final int offset;
+        final PrefixMatch match = prefixModule.findPrefix(guild, contentRaw);
+        if (match != null) {
+            prefix = match.getPrefix();
+            offset = match.getLength();
+        } else if (prefixModule.isMentionAware()) {
+            return null;
         } else {
-            final String mention = getMention(false, event);
-            if (contentRaw.startsWith(mention)) {
-                if (checkMessage(message)) {
-                    final String s = contentRaw.substring(mention.length()).trim();
-                    return parseContent(event, message, client, prefix, s);
-                }
-            } else {
-                final String mention1 = getMention(true, event);
-                if (contentRaw.startsWith(mention1)) {
-                    if (checkMessage(message)) {
-                        final String s = contentRaw.substring(mention1.length()).trim();
-                        return parseContent(event, message, client, prefix, s);
-                    }
-                }
+            final int mentionLength = matchMention(event, contentRaw);
+            if (mentionLength < 0) {
+                return null;
             }
+            prefix = prefixModule.getPrefix(guild);
+            offset = mentionLength;
         }
-        return null;
+        if (ignoreBots && (message.isWebhookMessage() || message.getAuthor().isBot())) {
+            return null;
+        }
+        return parseContent(event, message, client, prefix, contentRaw, offset);
     }
 
     public void setPreprocessor(Predicate<Message> preProcessPredicate) {
-        this.preProcessPredicate = preProcessPredicate;
+        final Predicate<Message>[] predicates = newPredicateArray(preProcessPredicate == null ? 0 : 1);
+        if (preProcessPredicate != null) predicates[0] = preProcessPredicate;
+        this.preProcessPredicates = predicates;
+    }
+
+    /**
+     * Sets the predicates that each message must pass before a command event is created for it.
+     * They are evaluated in order and evaluation stops at the first predicate that returns {@code false}.
+     *
+     * @param preProcessPredicates a list of non-null predicates
+     */
+    public void setPreprocessors(List<Predicate<Message>> preProcessPredicates) {
+        this.preProcessPredicates = preProcessPredicates.toArray(newPredicateArray(preProcessPredicates.size()));
+    }
+
+    /**
+     * @param commandKeys the keys of all top-level commands, or {@code null} to accept any key.
+     * @see #setRejectUnknownKeys(boolean)
+     */
+    public void setCommandKeys(CaseInsensitiveTrie<?> commandKeys) {
+        this.commandKeys = commandKeys;
+    }
+
+    /**
+     * If enabled, messages whose first key is not contained in the {@link #setCommandKeys command keys} are rejected
+     * before a command event is created. Help events are always accepted.
+     *
+     * @param rejectUnknownKeys By default this is {@code false}.
+     */
+    public void setRejectUnknownKeys(boolean rejectUnknownKeys) {
+        this.rejectUnknownKeys = rejectUnknownKeys;
+    }
+
+    /**
+     * @param ignoreBots whether messages sent by bots or webhooks should be rejected.
+     */
+    public void setIgnoreBots(boolean ignoreBots) {
+        this.ignoreBots = ignoreBots;
     }
 
     private boolean checkMessage(Message m) {
-        return preProcessPredicate == null || preProcessPredicate.test(m);
+        for (Predicate<Message> predicate : preProcessPredicates) {
+            if (!predicate.test(m)) return false;
+        }
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate<Message>[] newPredicateArray(int size) {
+        return (Predicate<Message>[]) new Predicate[size];
     }
 
     private String getMyId(GenericGuildMessageEvent event) {
-        if (myId == null) {
-            myId = event.getJDA().getSelfUser().getId();
+        String id = myId;
+        if (id == null) {
+            myId = id = event.getJDA().getSelfUser().getId();
         }
-        return myId;
+        return id;
+    }
+
+    private int matchMention(GenericGuildMessageEvent event, String contentRaw) {
+        final String mention = getMention(false, event);
+        if (contentRaw.startsWith(mention)) {
+            return mention.length();
+        }
+        final String mention1 = getMention(true, event);
+        if (contentRaw.startsWith(mention1)) {
+            return mention1.length();
+        }
+        return -1;
     }
 
     private String getMention(boolean nick, GenericGuildMessageEvent event) {
         if (!nick) {
-            if (mention == null) {
-                mention = String.format("<@%s>", getMyId(event));
+            String m = mention;
+            if (m == null) {
+                mention = m = String.format("<@%s>", getMyId(event));
             }
-            return mention;
+            return m;
         } else {
-            if (nmention == null) {
-                nmention = String.format("<@!%s>", getMyId(event));
+            String m = nmention;
+            if (m == null) {
+                nmention = m = String.format("<@!%s>", getMyId(event));
             }
-            return nmention;
+            return m;
         }
     }
 
+    /**
+     * Locates the key and the content in a single pass over the raw message without copying either.
+     * The event only creates strings for them if they are requested.
+     */
     private CommandEventInternal parseContent(GenericGuildMessageEvent event, Message message, BreadBotImpl client,
-                                              String prefix, String contentRaw) {
-        final String[] split = splitContent(contentRaw);
-        final String key = split[0];
-        final String content = split[1];
-        if (key.equalsIgnoreCase("help")) {
-            if (content == null)
-                return new MessageReceivedCommandEvent(client, event, message, prefix, new String[]{key}, null, true);
-            else {
-                final String[] split2 = splitContent(content);
-                final String key2 = split2[0];
-                final String content2 = split2[1];
-                return new MessageReceivedCommandEvent(client, event, message, prefix, new String[]{key2},
-                                                       content2 != null ? content2 + " help" : "help", true);
+                                              String prefix, String contentRaw, int offset) {
+        // same bounds as String#trim
+        int end = contentRaw.length();
+        while (end > offset && contentRaw.charAt(end - 1) <= ' ') end--;
+        int keyStart = offset;
+        while (keyStart < end && contentRaw.charAt(keyStart) <= ' ') keyStart++;
+        final int keyEnd = nextWhitespace(contentRaw, keyStart, end);
+        final int contentStart = nextNonWhitespace(contentRaw, keyEnd, end);
+
+        final boolean isHelp = keyEnd - keyStart == 4 && contentRaw.regionMatches(true, keyStart, "help", 0, 4);
+        if (!isHelp && rejectUnknownKeys) {
+            final CaseInsensitiveTrie<?> keys = commandKeys;
+            if (keys != null && keys.get(contentRaw, keyStart, keyEnd) == null) {
+                return null;
             }
         }
-        return new MessageReceivedCommandEvent(client, event, message, prefix, new String[]{key}, content, false);
-    }
-
-    private String[] splitContent(String contentRaw) {
-        if (contentRaw == null) {
-            return new String[]{null, null};
+        if (!checkMessage(message)) {
+            return null;
         }
-        int i = 0;
-        int j = -1;
-        for (; i < contentRaw.length(); i++) {
-            if (Character.isWhitespace(contentRaw.charAt(i))) {
-                j = i + 1;
-                while (j < contentRaw.length()) {
-                    if (Character.isWhitespace(contentRaw.charAt(j))) {
-                        j++;
-                    } else {
-                        break;
-                    }
-                }
-                break;
+
+        if (isHelp) {
+            if (contentStart == end) {
+                return new MessageReceivedCommandEvent(client, event, message, prefix, contentRaw, keyStart, keyEnd,
+                                                       end, end, true);
+            } else {
+                final int key2End = nextWhitespace(contentRaw, contentStart, end);
+                final int content2Start = nextNonWhitespace(contentRaw, key2End, end);
+                final String key2 = contentRaw.substring(contentStart, key2End);
+                final String content2 = content2Start != end ? contentRaw.substring(content2Start, end) + " help" : "help";
+                return new MessageReceivedCommandEvent(client, event, message, prefix, new String[]{key2}, content2,
+                                                       true);
             }
         }
+        return new MessageReceivedCommandEvent(client, event, message, prefix, contentRaw, keyStart, keyEnd,
+                                               contentStart, end, false);
+    }
 
-        if (i == contentRaw.length()) {
-            return new String[]{contentRaw, null};
-        } else {
-            return new String[]{contentRaw.substring(0, i), contentRaw.substring(j)};
-        }
+    private static int nextWhitespace(String s, int from, int end) {
+        while (from < end && !Character.isWhitespace(s.charAt(from))) from++;
+        return from;
+    }
+
+    private static int nextNonWhitespace(String s, int from, int end) {
+        while (from < end && Character.isWhitespace(s.charAt(from))) from++;
+        return from;
     }
 
 }
\ No newline at end of file
@@ -45,6 +45,7 @@ public class CommandArgumentFactory {
     private final JDA jda;
     private final Guild guild;
     private final TextChannel channel;
+    private final Arguments.LongHolder id = new Arguments.LongHolder();
 
     public CommandArgumentFactory(CommandEvent event) {
         this.event = event;
@@ -62,10 +63,8 @@ public class CommandArgumentFactory {
                     switch (s.charAt(2)) {
                         case '&':
                             i++;
-                            String roleId = s.substring(i, s.length() - 1);
-
-                            if (Arguments.isLong(roleId)) {
-                                long idLong = Long.parseLong(roleId);
+                            if (Arguments.tryParseLong(s, i, s.length() - 1, id)) {
+                                long idLong = id.value;
                                 Role role = guild.getRoleById(idLong);
                                 if (role != null)
                                     return new RoleArgument(event, s, role);
@@ -74,9 +73,8 @@ public class CommandArgumentFactory {
                         case '!':
                             i++;
                         default:
-                            String userId = s.substring(i, s.length() - 1);
-                            if (Arguments.isLong(userId)) {
-                                long idLong = Long.parseLong(userId);
+                            if (Arguments.tryParseLong(s, i, s.length() - 1, id)) {
+                                long idLong = id.value;
                                 Member member = guild.getMemberById(idLong);
                                 if (member != null)
                                     return new MemberArgument(event, s, member);
@@ -89,9 +87,8 @@ public class CommandArgumentFactory {
                 }
                 break;
                 case '#': {
-                    String channelId = s.substring(i, s.length() - 1);
-                    if (Arguments.isLong(channelId)) {
-                        long idLong = Long.parseLong(channelId);
+                    if (Arguments.tryParseLong(s, i, s.length() - 1, id)) {
+                        long idLong = id.value;
                         TextChannel textChannel = guild.getTextChannelById(idLong);
                         if (textChannel != null)
                             return new TextChannelArgument(event, s, textChannel);
@@ -109,9 +106,8 @@ public class CommandArgumentFactory {
                     int seperator = emoteMention.indexOf(':');
                     if (seperator == -1 || seperator == emoteMention.length() - 1) break;
                     String name = emoteMention.substring(0, seperator);
-                    String id = emoteMention.substring(seperator + 1, emoteMention.length());
-                    if (Arguments.isLong(id) && Arguments.isAlphanumericWithUnderscoresOrDashesWithAMinimumLengthOf2AndAMaximumLengthOf32(name)) {
-                        long emoteId = Long.parseLong(id);
+                    if (Arguments.tryParseLong(emoteMention, seperator + 1, emoteMention.length(), id) && Arguments.isAlphanumericWithUnderscoresOrDashesWithAMinimumLengthOf2AndAMaximumLengthOf32(name)) {
+                        long emoteId = id.value;
                         Emote jdaEmote = jda.getEmoteById(emoteId);
                         if (jdaEmote == null) {
                             //fake emote
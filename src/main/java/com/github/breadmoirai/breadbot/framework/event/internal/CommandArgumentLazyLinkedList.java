@@ -23,7 +23,7 @@ public class CommandArgumentLazyLinkedList extends CommandArgumentList {
     @Override
     public CommandArgument get(int index) {
         int i = contents.size();
-        while (i < index && itr.hasNext()) {
+        while (i <= index && itr.hasNext()) {
             contents.add(factory.parse(itr.next()));
             i++;
         }
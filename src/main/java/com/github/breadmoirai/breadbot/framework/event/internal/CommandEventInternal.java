@@ -64,6 +64,15 @@ public abstract class CommandEventInternal extends CommandEvent {
         }
     }
 
+    /**
+     * The first key of this event. Implementations may return a view over the message rather than a copy.
+     *
+     * @return the key used to look up the top-level command
+     */
+    public CharSequence getRootKey() {
+        return getKeys()[0];
+    }
+
     protected abstract void setContent(String newContent);
 
     protected abstract void setKeys(String[] keys);
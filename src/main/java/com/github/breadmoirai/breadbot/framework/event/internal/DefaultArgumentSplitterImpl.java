@@ -2,6 +2,7 @@ package com.github.breadmoirai.breadbot.framework.event.internal;
 
 import com.github.breadmoirai.breadbot.framework.event.ArgumentSplitter;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -10,49 +11,44 @@ public class DefaultArgumentSplitterImpl implements ArgumentSplitter {
     @Override
     public Iterator<String> getArguments(String content) {
         if (content == null) {
-            return new Iterator<String>() {
-                @Override
-                public boolean hasNext() {
-                    return false;
-                }
-
-                @Override
-                public String next() {
-                    throw new NoSuchElementException();
-                }
-            };
+            return Collections.emptyIterator();
         }
-        if (content.startsWith("```") && content.endsWith("```")) {
-            final String code = content.substring(content.indexOf('\n'), content.length() - 3).trim();
-            return new Iterator<String>() {
-                private final String s = code;
-                private boolean r = true;
-
-                @Override
-                public boolean hasNext() {
-                    if (r) {
-                        r = false;
-                        return true;
-                    }
-                    return false;
-                }
+        return getArguments(content, 0, content.length());
+    }
 
-                @Override
-                public String next() {
-                    return s;
-                }
-            };
+    /**
+     * Splits the trimmed region {@code [start, end)} of {@code source} without copying it first.
+     * Each argument is only copied out of the source when it is requested from the iterator.
+     *
+     * @param source the string containing the content
+     * @param start the index of the first character of the content
+     * @param end the index after the last character of the content
+     * @return an iterator over the arguments
+     */
+    public Iterator<String> getArguments(String source, int start, int end) {
+        if (end - start >= 6 && source.startsWith("```", start) && source.startsWith("```", end - 3)) {
+            int codeStart = source.indexOf('\n', start);
+            if (codeStart == -1 || codeStart >= end - 3) {
+                codeStart = start + 3;
+            }
+            int codeEnd = end - 3;
+            while (codeStart < codeEnd && Character.isWhitespace(source.charAt(codeStart))) codeStart++;
+            while (codeEnd > codeStart && Character.isWhitespace(source.charAt(codeEnd - 1))) codeEnd--;
+            return Collections.singleton(source.substring(codeStart, codeEnd)).iterator();
         }
-        return new LazyIterator(content);
+        return new LazyIterator(source, start, end);
     }
 
     private static class LazyIterator implements Iterator<String> {
 
         private final String content;
+        private final int end;
         private int idx;
 
-        public LazyIterator(String content) {
+        public LazyIterator(String content, int start, int end) {
             this.content = content;
+            this.end = end;
+            this.idx = start < end ? start : -1;
         }
 
         @Override
@@ -62,10 +58,13 @@ public class DefaultArgumentSplitterImpl implements ArgumentSplitter {
 
         @Override
         public String next() {
+            if (idx < 0) {
+                throw new NoSuchElementException();
+            }
             if (content.charAt(idx) == '"') {
                 idx++;
                 final int y = content.indexOf('"', idx);
-                if (y > 0) {
+                if (y != -1 && y < end) {
                     final String next = content.substring(idx, y);
                     this.idx = nextNonWhitespace(content, y + 1);
                     return next;
@@ -73,7 +72,7 @@ public class DefaultArgumentSplitterImpl implements ArgumentSplitter {
             } else if (content.charAt(idx) == '`') {
                 idx++;
                 final int y = content.indexOf('`', idx);
-                if (y > 0) {
+                if (y != -1 && y < end) {
                     final String next = content.substring(idx, y);
                     this.idx = nextNonWhitespace(content, y + 1);
                     return next;
@@ -81,7 +80,7 @@ public class DefaultArgumentSplitterImpl implements ArgumentSplitter {
             }
             int w = nextWhitespace(content, idx);
             if (w == -1) {
-                final String next = content.substring(idx);
+                final String next = content.substring(idx, end);
                 idx = -1;
                 return next;
             }
@@ -92,7 +91,7 @@ public class DefaultArgumentSplitterImpl implements ArgumentSplitter {
         }
 
         private int nextWhitespace(String content, int idx) {
-            for (int i = idx; i < content.length(); i++) {
+            for (int i = idx; i < end; i++) {
                 if (Character.isWhitespace(content.charAt(i))) {
                     return i;
                 }
@@ -101,7 +100,7 @@ public class DefaultArgumentSplitterImpl implements ArgumentSplitter {
         }
 
         private int nextNonWhitespace(String content, int idx) {
-            for (int i = idx; i < content.length(); i++) {
+            for (int i = idx; i < end; i++) {
                 if (!Character.isWhitespace(content.charAt(i))) {
                     return i;
                 }
@@ -0,0 +1,207 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.framework.event.internal;
+
+import com.github.breadmoirai.breadbot.framework.event.ArgumentSplitter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.regex.Pattern;
+
+/**
+ * Splits content on a delimiter in the manner of {@link Pattern#split(CharSequence, int)}.
+ * Quotation marks and backticks are replaced with spaces, each argument is trimmed, and empty arguments are dropped.
+ * <p>A delimiter that is a plain string is found with {@link String#indexOf(String, int)} and its arguments are produced lazily.
+ * Any other pattern is split with {@link Pattern#split(CharSequence, int)}.
+ */
+public abstract class DelimiterArgumentSplitter implements ArgumentSplitter {
+
+    private static final String REGEX_METACHARACTERS = "\\[](){}.*+?^$|";
+
+    /**
+     * @param delimiter the pattern to split on
+     * @param limit the split limit. See {@link Pattern#split(CharSequence, int)}
+     * @return a splitter for the delimiter
+     */
+    public static DelimiterArgumentSplitter compile(Pattern delimiter, int limit) {
+        final String literal = getLiteral(delimiter);
+        if (literal != null) {
+            return new Literal(literal, limit);
+        }
+        return new Regex(delimiter, limit);
+    }
+
+    /**
+     * @return the string the pattern matches if it only matches one non-empty string that contains no quotation marks
+     * or backticks, otherwise {@code null}
+     */
+    static String getLiteral(Pattern pattern) {
+        final String regex = pattern.pattern();
+        final String literal;
+        if (pattern.flags() == Pattern.LITERAL) {
+            literal = regex;
+        } else if (pattern.flags() == 0) {
+            final StringBuilder sb = new StringBuilder(regex.length());
+            for (int i = 0; i < regex.length(); i++) {
+                final char c = regex.charAt(i);
+                if (c == '\\') {
+                    if (++i == regex.length()) return null;
+                    final char escaped = regex.charAt(i);
+                    // an escaped letter or digit is a character class, a quote or a back reference
+                    if (Character.isLetterOrDigit(escaped)) return null;
+                    sb.append(escaped);
+                } else if (REGEX_METACHARACTERS.indexOf(c) >= 0) {
+                    return null;
+                } else {
+                    sb.append(c);
+                }
+            }
+            literal = sb.toString();
+        } else {
+            return null;
+        }
+        if (literal.isEmpty() || literal.indexOf('"') >= 0 || literal.indexOf('`') >= 0) return null;
+        return literal;
+    }
+
+    @Override
+    public Iterator<String> getArguments(String content) {
+        if (content == null) {
+            return Collections.emptyIterator();
+        }
+        return getArguments(content, 0, content.length());
+    }
+
+    /**
+     * Splits the region {@code [start, end)} of {@code source}.
+     *
+     * @param source the string containing the content
+     * @param start the index of the first character of the content
+     * @param end the index after the last character of the content
+     * @return an iterator over the arguments
+     */
+    public abstract Iterator<String> getArguments(String source, int start, int end);
+
+    private static boolean isStripped(char c) {
+        return c <= ' ' || c == '"' || c == '`';
+    }
+
+    /**
+     * Replaces quotation marks and backticks with spaces and trims the region.
+     *
+     * @return the argument, or {@code null} if it is empty
+     */
+    private static String toArgument(String source, int from, int to) {
+        while (from < to && isStripped(source.charAt(from))) from++;
+        while (to > from && isStripped(source.charAt(to - 1))) to--;
+        if (from == to) return null;
+        final String s = source.substring(from, to);
+        return s.replace('"', ' ').replace('`', ' ');
+    }
+
+    private static class Literal extends DelimiterArgumentSplitter {
+
+        private final String delimiter;
+        private final int limit;
+
+        Literal(String delimiter, int limit) {
+            this.delimiter = delimiter;
+            this.limit = limit;
+        }
+
+        @Override
+        public Iterator<String> getArguments(String source, int start, int end) {
+            return new LiteralIterator(source, start, end, delimiter, limit);
+        }
+    }
+
+    private static class LiteralIterator implements Iterator<String> {
+
+        private final String source;
+        private final int end;
+        private final String delimiter;
+        private int splitsLeft;
+        private int idx;
+        private String next;
+
+        LiteralIterator(String source, int start, int end, String delimiter, int limit) {
+            this.source = source;
+            this.end = end;
+            this.delimiter = delimiter;
+            this.splitsLeft = limit > 0 ? limit - 1 : -1;
+            this.idx = start;
+            advance();
+        }
+
+        /**
+         * Finds the next non-empty argument. Empty arguments still count towards the limit, as they do for {@link Pattern#split(CharSequence, int)}.
+         */
+        private void advance() {
+            next = null;
+            while (next == null && idx >= 0) {
+                int d = splitsLeft == 0 ? -1 : source.indexOf(delimiter, idx);
+                if (d + delimiter.length() > end) d = -1;
+                if (d == -1) {
+                    next = toArgument(source, idx, end);
+                    idx = -1;
+                } else {
+                    next = toArgument(source, idx, d);
+                    idx = d + delimiter.length();
+                    if (splitsLeft > 0) splitsLeft--;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public String next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            final String s = next;
+            advance();
+            return s;
+        }
+    }
+
+    private static class Regex extends DelimiterArgumentSplitter {
+
+        private final Pattern delimiter;
+        private final int limit;
+
+        Regex(Pattern delimiter, int limit) {
+            this.delimiter = delimiter;
+            this.limit = limit;
+        }
+
+        @Override
+        public Iterator<String> getArguments(String source, int start, int end) {
+            final String content = source.substring(start, end).replace('`', '"');
+            return Arrays.stream(delimiter.split(content, limit))
+                    .map(s -> s.replace('"', ' '))
+                    .map(String::trim)
+                    .filter(s -> !s.isEmpty())
+                    .iterator();
+        }
+    }
+}
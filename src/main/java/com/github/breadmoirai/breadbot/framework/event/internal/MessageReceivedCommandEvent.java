@@ -17,6 +17,7 @@
 package com.github.breadmoirai.breadbot.framework.event.internal;
 
 import com.github.breadmoirai.breadbot.framework.internal.BreadBotImpl;
+import com.github.breadmoirai.breadbot.util.StringView;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
@@ -27,6 +28,7 @@ import net.dv8tion.jda.api.entities.TextChannel;
 import net.dv8tion.jda.api.entities.User;
 import net.dv8tion.jda.api.events.message.guild.GenericGuildMessageEvent;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -38,6 +40,13 @@ public class MessageReceivedCommandEvent extends CommandEventInternal {
     private String prefix;
     private String[] key;
     private String content;
+    /*
+     * When the key and content have not been copied out of the raw message, these hold their offsets into it.
+     * The raw message is dropped once both are materialized or replaced.
+     */
+    private String raw;
+    private int keyStart, keyEnd, contentStart, contentEnd;
+    private boolean contentResolved;
 
     public MessageReceivedCommandEvent(BreadBotImpl client, GenericGuildMessageEvent event, Message message,
                                        String prefix, String[] key, String content, boolean isHelpEvent) {
@@ -47,6 +56,21 @@ public class MessageReceivedCommandEvent extends CommandEventInternal {
         this.prefix = prefix;
         this.key = key;
         this.content = content;
+        this.contentResolved = true;
+    }
+
+    public MessageReceivedCommandEvent(BreadBotImpl client, GenericGuildMessageEvent event, Message message,
+                                       String prefix, String raw, int keyStart, int keyEnd, int contentStart,
+                                       int contentEnd, boolean isHelpEvent) {
+        super(event.getJDA(), event.getResponseNumber(), client, isHelpEvent);
+        this.event = event;
+        this.message = message;
+        this.prefix = prefix;
+        this.raw = raw;
+        this.keyStart = keyStart;
+        this.keyEnd = keyEnd;
+        this.contentStart = contentStart;
+        this.contentEnd = contentEnd;
     }
 
     @Override
@@ -56,14 +80,53 @@ public class MessageReceivedCommandEvent extends CommandEventInternal {
 
     @Override
     public String[] getKeys() {
+        if (key == null) {
+            key = new String[]{raw.substring(keyStart, keyEnd)};
+            releaseRaw();
+        }
         return key;
     }
 
+    @Override
+    public CharSequence getRootKey() {
+        if (key == null) {
+            return new StringView(raw, keyStart, keyEnd);
+        }
+        return key[0];
+    }
+
     @Override
     public String getContent() {
+        if (!contentResolved) {
+            content = contentStart < contentEnd ? raw.substring(contentStart, contentEnd) : null;
+            contentResolved = true;
+            releaseRaw();
+        }
         return content;
     }
 
+    @Override
+    public boolean hasContent() {
+        if (!contentResolved) {
+            return contentStart < contentEnd;
+        }
+        return super.hasContent();
+    }
+
+    @Override
+    protected Iterator<String> getDefaultArguments() {
+        if (!contentResolved) {
+            return new DefaultArgumentSplitterImpl().getArguments(raw, contentStart, contentEnd);
+        }
+        return super.getDefaultArguments();
+    }
+
+    private void releaseRaw() {
+        if (key != null && contentResolved) {
+            raw = null;
+        }
+    }
+
     @Override
     public Message getMessage() {
         return message;
@@ -148,11 +211,14 @@ public class MessageReceivedCommandEvent extends CommandEventInternal {
     @Override
     protected void setContent(String newContent) {
         this.content = newContent;
+        this.contentResolved = true;
+        releaseRaw();
     }
 
     @Override
     protected void setKeys(String[] keys) {
         this.key = keys;
+        releaseRaw();
     }
 
 //    @Override
@@ -18,6 +18,7 @@ package com.github.breadmoirai.breadbot.framework.event.internal.arguments;
 
 import com.github.breadmoirai.breadbot.framework.event.CommandEvent;
 import com.github.breadmoirai.breadbot.framework.parameter.CommandArgument;
+import com.github.breadmoirai.breadbot.util.Arguments;
 import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.Role;
 import net.dv8tion.jda.api.entities.TextChannel;
@@ -30,10 +31,39 @@ import java.util.stream.Stream;
 
 public class GenericCommandArgument implements CommandArgument {
 
+    private static final int NUMERIC = 1;
+    private static final int INTEGER = 1 << 1;
+    private static final int LONG = 1 << 2;
+    private static final int HEX = 1 << 3;
+    private static final int FLOAT = 1 << 4;
+    private static final int RANGE = 1 << 5;
+    private static final int BOOLEAN = 1 << 6;
+    private static final int DOUBLE_VALUE = 1 << 7;
+    private static final int CLASSIFIED = NUMERIC | INTEGER | LONG | HEX;
+
+    private static final int FLOAT_REJECT = -1;
+    private static final int FLOAT_START = 0;
+    private static final int FLOAT_SIGN = 1;
+    private static final int FLOAT_INTEGER = 2;
+    private static final int FLOAT_POINT = 3;
+    private static final int FLOAT_LEADING_POINT = 4;
+    private static final int FLOAT_FRACTION = 5;
+    private static final int FLOAT_E = 6;
+    private static final int FLOAT_E_SIGN = 7;
+    private static final int FLOAT_EXPONENT = 8;
+
     private final CommandEvent event;
 
     private final String arg;
 
+    /**
+     * The bits that have been determined in {@link #types}
+     */
+    private int known;
+    private int types;
+    private long longValue;
+    private double doubleValue;
+
     public GenericCommandArgument(CommandEvent event, String arg) {
         this.event = event;
         this.arg = arg;
@@ -49,6 +79,199 @@ public class GenericCommandArgument implements CommandArgument {
         return arg;
     }
 
+    @Override
+    public boolean isNumeric() {
+        return is(NUMERIC);
+    }
+
+    @Override
+    public boolean isInteger() {
+        return is(INTEGER);
+    }
+
+    @Override
+    public int parseInt() {
+        return is(INTEGER) ? (int) longValue : CommandArgument.super.parseInt();
+    }
+
+    @Override
+    public boolean isLong() {
+        return is(LONG);
+    }
+
+    @Override
+    public long parseLong() {
+        return is(LONG) ? longValue : CommandArgument.super.parseLong();
+    }
+
+    @Override
+    public boolean isHex() {
+        return is(HEX);
+    }
+
+    @Override
+    public boolean isFloat() {
+        if ((known & FLOAT) == 0) {
+            classify();
+            if ((known & FLOAT) == 0) {
+                // the characters could spell one of the rarer forms, such as a hexadecimal float or NaN
+                set(FLOAT, Arguments.isFloat(getArgument()));
+            }
+        }
+        return (types & FLOAT) != 0;
+    }
+
+    @Override
+    public double parseDouble() {
+        if ((known & DOUBLE_VALUE) == 0) {
+            doubleValue = CommandArgument.super.parseDouble();
+            known |= DOUBLE_VALUE;
+        }
+        return doubleValue;
+    }
+
+    @Override
+    public boolean isRange() {
+        if ((known & RANGE) == 0) {
+            set(RANGE, Arguments.isRange(getArgument()));
+        }
+        return (types & RANGE) != 0;
+    }
+
+    @Override
+    public boolean isBoolean() {
+        if ((known & BOOLEAN) == 0) {
+            set(BOOLEAN, Arguments.isBoolean(getArgument()));
+        }
+        return (types & BOOLEAN) != 0;
+    }
+
+    private boolean is(int type) {
+        if ((known & CLASSIFIED) == 0) classify();
+        return (types & type) != 0;
+    }
+
+    private void set(int type, boolean value) {
+        known |= type;
+        if (value) types |= type;
+    }
+
+    /**
+     * Determines in a single pass over the argument whether it is numeric, an integer, a long or hexadecimal, and
+     * usually whether it is a float. The value of an integer or long is kept.
+     */
+    private void classify() {
+        final String s = getArgument();
+        final int length = s.length();
+        int result = 0;
+        known |= CLASSIFIED;
+        if (length == 0) {
+            known |= FLOAT;
+            return;
+        }
+
+        final boolean negative = s.charAt(0) == '-';
+        // accumulate negatively like Long.parseLong so that Long.MIN_VALUE can be represented
+        final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        final long multmin = limit / 10;
+        long value = 0;
+        boolean numeric = !(negative && length == 1);
+        boolean fitsLong = true;
+
+        final int hexStart = s.startsWith("#") ? 1 : s.startsWith("0x") || s.startsWith("0X") ? 2 : 0;
+        boolean hex = true;
+
+        int floatState = FLOAT_START;
+        boolean floatAlphabet = true;
+
+        for (int i = 0; i < length; i++) {
+            final char c = s.charAt(i);
+            if (numeric && !(i == 0 && negative)) {
+                final int digit = Character.digit(c, 10);
+                if (digit < 0) {
+                    numeric = false;
+                } else if (fitsLong) {
+                    if (value < multmin) {
+                        fitsLong = false;
+                    } else {
+                        value *= 10;
+                        if (value < limit + digit) fitsLong = false;
+                        else value -= digit;
+                    }
+                }
+            }
+            if (hex && i >= hexStart && Character.digit(c, 16) < 0) {
+                hex = false;
+            }
+            if (floatAlphabet) {
+                if (floatState != FLOAT_REJECT) floatState = nextFloatState(floatState, c);
+                floatAlphabet = isFloatCharacter(c);
+            }
+        }
+
+        if (numeric) {
+            result |= NUMERIC;
+            if (fitsLong) {
+                result |= LONG;
+                longValue = negative ? value : -value;
+                if (longValue >= Integer.MIN_VALUE && longValue <= Integer.MAX_VALUE) {
+                    result |= INTEGER;
+                }
+            }
+        }
+        if (hex) {
+            result |= HEX;
+        }
+        if (floatState == FLOAT_INTEGER || floatState == FLOAT_POINT || floatState == FLOAT_FRACTION || floatState == FLOAT_EXPONENT) {
+            result |= FLOAT;
+            known |= FLOAT;
+        } else if (!floatAlphabet) {
+            known |= FLOAT;
+        }
+        types |= result;
+    }
+
+    /**
+     * Recognizes plain decimal floats, {@code [+-]?(digits(.digits?)?|.digits)([eE][+-]?digits)?}.
+     */
+    private static int nextFloatState(int state, char c) {
+        final boolean digit = c >= '0' && c <= '9';
+        switch (state) {
+            case FLOAT_START:
+                if (c == '+' || c == '-') return FLOAT_SIGN;
+            case FLOAT_SIGN:
+                if (digit) return FLOAT_INTEGER;
+                if (c == '.') return FLOAT_LEADING_POINT;
+                return FLOAT_REJECT;
+            case FLOAT_INTEGER:
+                if (digit) return FLOAT_INTEGER;
+                if (c == '.') return FLOAT_POINT;
+                if (c == 'e' || c == 'E') return FLOAT_E;
+                return FLOAT_REJECT;
+            case FLOAT_POINT:
+            case FLOAT_FRACTION:
+                if (digit) return FLOAT_FRACTION;
+                if (c == 'e' || c == 'E') return FLOAT_E;
+                return FLOAT_REJECT;
+            case FLOAT_LEADING_POINT:
+                return digit ? FLOAT_FRACTION : FLOAT_REJECT;
+            case FLOAT_E:
+                if (c == '+' || c == '-') return FLOAT_E_SIGN;
+            case FLOAT_E_SIGN:
+            case FLOAT_EXPONENT:
+                return digit ? FLOAT_EXPONENT : FLOAT_REJECT;
+            default:
+                return FLOAT_REJECT;
+        }
+    }
+
+    /**
+     * @return whether the character can appear anywhere in {@link com.github.breadmoirai.breadbot.util.DiscordPatterns#FLOAT_REGEX}
+     */
+    private static boolean isFloatCharacter(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F') || "+-.xXpPNInity".indexOf(c) >= 0;
+    }
+
     @Override
     public boolean isUser() {
         return false;
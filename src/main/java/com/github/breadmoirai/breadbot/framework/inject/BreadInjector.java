@@ -15,74 +15,152 @@
  */
 package com.github.breadmoirai.breadbot.framework.inject;
 
+import com.github.breadmoirai.breadbot.framework.error.BreadBotException;
 import com.github.breadmoirai.breadbot.util.TypeMap;
 
-import java.lang.reflect.AccessibleObject;
+import javax.inject.Inject;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.Map;
+import java.lang.reflect.Modifier;
 
 public class BreadInjector {
 
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType INJECT_TYPE = MethodType.methodType(void.class, Object.class);
+    private static final MethodType CONSTRUCT_TYPE = MethodType.methodType(Object.class);
+
     // -- INSTANCE -- //
     private final TypeMap map;
-    private final Map<Class<?>, Injector> injectors;
+    private final ClassValue<Injector> injectors = new ClassValue<Injector>() {
+        @Override
+        protected Injector computeValue(Class<?> type) {
+            return createInjector(type);
+        }
+    };
+
     public BreadInjector(TypeMap map) {
         this.map = map;
-        injectors = new HashMap<>();
     }
 
+    /**
+     * Returns an Injector that sets each {@link Inject @Inject} field of the class and its superclasses for which a
+     * value has been bound. Injectors are created once per class.
+     *
+     * @param aClass the class to inject
+     * @return the Injector, or {@code null} if there are no fields to inject
+     */
     public Injector getInjectorFor(Class<?> aClass) {
-        final Injector classInjector = injectors.get(aClass);
-        if (classInjector == null) {
-            final LinkedList<Object> values = new LinkedList<>();
-            final LinkedList<Field> fields = new LinkedList<>();
-            Class<?> classToItrOver = aClass;
-            while (classToItrOver != Object.class) {
-                for (Field field : classToItrOver.getDeclaredFields()) {
-                    if (field.isAnnotationPresent(javax.inject.Inject.class)) {
-                        Object in;
-                        if ((in = map.get(field.getType())) != null) {
-                            fields.add(field);
-                            values.add(in);
-                        }
+        final Injector injector = injectors.get(aClass);
+        return injector == Injector.NONE ? null : injector;
+    }
+
+    /**
+     * Creates a handle that calls the constructor with the bound value for each of its parameters.
+     * The handle has the type {@code ()Object}.
+     *
+     * @param constructor a constructor, usually one found with {@link #getInjectableConstructor(Class)}
+     * @return a MethodHandle
+     * @throws BreadBotException if a parameter has no value bound to its type
+     */
+    public MethodHandle getConstructorFor(Constructor<?> constructor) {
+        final Class<?>[] types = constructor.getParameterTypes();
+        final Object[] values = new Object[types.length];
+        for (int i = 0; i < types.length; i++) {
+            if ((values[i] = map.get(types[i])) == null) {
+                throw new BreadBotException(constructor + " requires a " + types[i].getName() +
+                                                    " but none has been bound for injection.");
+            }
+        }
+        final MethodHandle handle;
+        try {
+            constructor.setAccessible(true);
+            handle = LOOKUP.unreflectConstructor(constructor);
+        } catch (IllegalAccessException | SecurityException e) {
+            throw new BreadBotException(constructor + " could not be accessed.", e);
+        }
+        return MethodHandles.insertArguments(handle, 0, values).asType(CONSTRUCT_TYPE);
+    }
+
+    /**
+     * Finds the constructor marked with {@link Inject @Inject}.
+     *
+     * @param aClass the class to search
+     * @return the constructor, or {@code null} if the class does not have one
+     * @throws BreadBotException if more than one constructor is marked
+     */
+    public static Constructor<?> getInjectableConstructor(Class<?> aClass) {
+        Constructor<?> found = null;
+        for (Constructor<?> constructor : aClass.getDeclaredConstructors()) {
+            if (!constructor.isAnnotationPresent(Inject.class)) continue;
+            if (found != null) {
+                throw new BreadBotException(aClass + " has more than one constructor marked with @Inject.");
+            }
+            found = constructor;
+        }
+        return found;
+    }
+
+    private Injector createInjector(Class<?> aClass) {
+        MethodHandle setters = null;
+        Class<?> classToItrOver = aClass;
+        while (classToItrOver != null && classToItrOver != Object.class) {
+            for (Field field : classToItrOver.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Inject.class)) {
+                    Object in;
+                    if ((in = map.get(field.getType())) != null) {
+                        final MethodHandle setter = bindSetter(field, in);
+                        setters = setters == null ? setter : MethodHandles.foldArguments(setter, setters);
                     }
                 }
-                classToItrOver = classToItrOver.getSuperclass();
-            }
-            if (fields.isEmpty()) {
-                return null;
-            } else {
-                final Field[] fieldArr = fields.toArray(new Field[0]);
-                final Object[] valueArr = values.toArray();
-                AccessibleObject.setAccessible(fieldArr, true);
-                final Injector injector = new Injector(fieldArr, valueArr);
-                injectors.put(aClass, injector);
-                return injector;
             }
+            classToItrOver = classToItrOver.getSuperclass();
+        }
+        return setters == null ? Injector.NONE : new Injector(setters);
+    }
+
+    /**
+     * @return a handle of the type {@code (Object)void} that sets the field of its argument to the value
+     */
+    private static MethodHandle bindSetter(Field field, Object value) {
+        final MethodHandle setter;
+        try {
+            field.setAccessible(true);
+            setter = LOOKUP.unreflectSetter(field);
+        } catch (IllegalAccessException | SecurityException e) {
+            throw new BreadBotException(field + " could not be injected.", e);
+        }
+        if (Modifier.isStatic(field.getModifiers())) {
+            return MethodHandles.dropArguments(MethodHandles.insertArguments(setter, 0, value), 0, Object.class);
+        } else {
+            return MethodHandles.insertArguments(setter, 1, value).asType(INJECT_TYPE);
         }
-        return classInjector;
     }
 
     // -- STATIC INNER CLASS -- //
     public static class Injector {
 
-        private final Field[] fields;
-        private final Object[] values;
-        private int last = 0;
+        private static final Injector NONE = new Injector(null);
+
+        /**
+         * Every setter folded into a single handle of the type {@code (Object)void}.
+         */
+        private final MethodHandle setters;
 
-        private Injector(Field[] fields, Object[] values) {
-            this.fields = fields;
-            this.values = values;
+        private Injector(MethodHandle setters) {
+            this.setters = setters;
         }
 
-        public void inject(Object o) throws IllegalAccessException {
-            if (last == o.hashCode()) return;
-            for (int i = 0; i < fields.length; i++) {
-                fields[i].set(o, values[i]);
+        public void inject(Object o) {
+            try {
+                setters.invokeExact(o);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable t) {
+                throw new BreadBotException("Could not inject " + o.getClass(), t);
             }
-            last = o.hashCode();
         }
     }
 }
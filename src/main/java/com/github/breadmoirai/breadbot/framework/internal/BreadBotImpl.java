@@ -21,12 +21,16 @@ import com.github.breadmoirai.breadbot.framework.CommandPlugin;
 import com.github.breadmoirai.breadbot.framework.command.AbstractCommand;
 import com.github.breadmoirai.breadbot.framework.command.Command;
 import com.github.breadmoirai.breadbot.framework.command.CommandEngine;
+import com.github.breadmoirai.breadbot.framework.command.CommandExecutionStrategy;
 import com.github.breadmoirai.breadbot.framework.command.CommandResultManager;
 import com.github.breadmoirai.breadbot.framework.error.DuplicateCommandKeyException;
 import com.github.breadmoirai.breadbot.framework.event.CommandEventFactory;
 import com.github.breadmoirai.breadbot.framework.event.internal.CommandEventInternal;
+import com.github.breadmoirai.breadbot.framework.metrics.CommandMetrics;
+import com.github.breadmoirai.breadbot.framework.metrics.PipelineStage;
 import com.github.breadmoirai.breadbot.framework.parameter.CommandParameterManager;
 import com.github.breadmoirai.breadbot.framework.response.ResponseManager;
+import com.github.breadmoirai.breadbot.util.CaseInsensitiveTrie;
 import com.github.breadmoirai.breadbot.util.EventStringIterator;
 import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.entities.Message;
@@ -57,6 +61,8 @@ public class BreadBotImpl implements BreadBot, EventListener {
     private final CommandParameterManager argumentTypes;
     private final CommandEventFactory eventFactory;
     private final CommandEngine commandEngine;
+    private final CommandExecutionStrategy executionStrategy;
+    private final CommandMetrics metrics;
     private final ResponseManager responseManager;
     private final List<CommandPlugin> modules;
     private final Map<Type, CommandPlugin> moduleTypeMap;
@@ -69,40 +75,49 @@ public class BreadBotImpl implements BreadBot, EventListener {
             CommandResultManager resultManager,
             CommandParameterManager argumentTypes,
             CommandEventFactory eventFactory,
+            CommandExecutionStrategy executionStrategy,
             boolean shouldEvaluateCommandOnMessageUpdate) {
         this.modules = Collections.unmodifiableList(modules);
         this.resultManager = resultManager;
         this.argumentTypes = argumentTypes;
         this.eventFactory = eventFactory;
+        this.executionStrategy = executionStrategy;
         this.shouldEvaluateCommandOnMessageUpdate = shouldEvaluateCommandOnMessageUpdate;
         this.responseManager = new ResponseManager();
+        this.metrics = new CommandMetrics();
 
         HashMap<String, Command> handleMap = new HashMap<>();
+        CaseInsensitiveTrie.Builder<Command> router = CaseInsensitiveTrie.builder();
         for (Command command : commands) {
             String[] keys = command.getKeys();
             for (String key : keys) {
-                if (handleMap.containsKey(key)) {
-                    throw new DuplicateCommandKeyException(key, command, handleMap.get(key));
+                final Command existing = router.put(key, command);
+                if (existing != null) {
+                    throw new DuplicateCommandKeyException(key, command, existing);
                 }
                 handleMap.put(key, command);
             }
             LOG.info("Command Created: " + command);
         }
-        this.commandMap = handleMap;
+        this.commandMap = Collections.unmodifiableMap(handleMap);
         this.moduleTypeMap = typeMap;
 
-        this.commandEngine = getCommandEngine(commandMap);
+        final CaseInsensitiveTrie<Command> commandRouter = router.build();
+        this.commandEngine = getCommandEngine(commandRouter, metrics);
+        eventFactory.setCommandKeys(commandRouter);
 
         LOG.info("BreadBotClient Initialized");
     }
 
-    private static CommandEngine getCommandEngine(Map<String, Command> commandMap) {
+    private static CommandEngine getCommandEngine(CaseInsensitiveTrie<Command> router, CommandMetrics metrics) {
+        final Command help = router.get("help");
         return event -> {
-            Command commandHandle = commandMap.get(event.getKeys()[0].toLowerCase());
+            final long start = System.nanoTime();
+            Command commandHandle = router.get(event.getRootKey());
+            metrics.record(PipelineStage.ROUTING, System.nanoTime() - start);
             if (commandHandle != null) {
                 if (event.isHelpEvent()) {
                     if (!commandHandle.handle(event, new EventStringIterator(event))) {
-                        Command help = commandMap.get("help");
                         if (help != null) {
                             LOG.debug(String.format("Executing Command: %s (%s)", help.getName(), help.getGroup()));
                             help.handle(event, new EventStringIterator(event));
@@ -118,7 +133,6 @@ public class BreadBotImpl implements BreadBot, EventListener {
 
                 }
             } else if (event.isHelpEvent()) {
-                Command help = commandMap.get("help");
                 if (help != null) {
                     LOG.debug("Executing Command: help");
                     help.handle(event, new EventStringIterator(event));
@@ -167,6 +181,16 @@ public class BreadBotImpl implements BreadBot, EventListener {
         return commandMap;
     }
 
+    @Override
+    public CommandExecutionStrategy getExecutionStrategy() {
+        return executionStrategy;
+    }
+
+    @Override
+    public CommandMetrics getMetrics() {
+        return metrics;
+    }
+
     public ResponseManager getResponseManager() {
         return responseManager;
     }
@@ -219,9 +243,17 @@ public class BreadBotImpl implements BreadBot, EventListener {
     }
 
     private void onGuildMessageEvent(GenericGuildMessageEvent event, Message message) {
+        executionStrategy.execute(event, () -> evaluateMessage(event, message));
+    }
+
+    private void evaluateMessage(GenericGuildMessageEvent event, Message message) {
+        final long start = System.nanoTime();
         final CommandEventInternal commandEvent = eventFactory.createEvent(event, message, BreadBotImpl.this);
+        metrics.record(PipelineStage.EVENT_CREATION, System.nanoTime() - start);
         if (commandEvent != null) {
-            LOG.debug(commandEvent.toString());
+            if (LOG.isDebugEnabled()) {
+                LOG.debug(commandEvent.toString());
+            }
             commandEngine.handle(commandEvent);
             event.getJDA().getEventManager().handle(commandEvent);
         }
@@ -0,0 +1,146 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.framework.metrics;
+
+import com.github.breadmoirai.breadbot.framework.command.Command;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Latency histograms for each stage of the command pipeline.
+ * Stages that happen before a command is known are recorded globally, the rest are recorded per command.
+ *
+ * <p>The histograms are always recording. To report by interval, call {@link #snapshot(boolean) snapshot(true)}
+ * periodically.
+ */
+public class CommandMetrics {
+
+    private final LatencyHistogram[] global = newHistograms();
+    private final ConcurrentHashMap<Command, CommandLatencies> commands = new ConcurrentHashMap<>();
+
+    /**
+     * Records a stage that is not associated with a command, such as {@link PipelineStage#EVENT_CREATION} or
+     * {@link PipelineStage#ROUTING}.
+     *
+     * @param stage the stage
+     * @param nanos the time taken
+     */
+    public void record(PipelineStage stage, long nanos) {
+        global[stage.ordinal()].record(nanos);
+    }
+
+    /**
+     * Retrieves the histograms of a command, creating them if needed.
+     * Callers on the hot path should hold on to the result rather than looking it up each time.
+     *
+     * @param command the command
+     * @return the histograms of the command
+     */
+    public CommandLatencies getLatencies(Command command) {
+        final CommandLatencies latencies = commands.get(command);
+        if (latencies != null) return latencies;
+        return commands.computeIfAbsent(command, c -> new CommandLatencies());
+    }
+
+    /**
+     * Copies the global histograms.
+     *
+     * @param reset whether to clear the histograms
+     * @return a map of each stage to its snapshot
+     */
+    public Map<PipelineStage, LatencySnapshot> snapshotGlobal(boolean reset) {
+        return snapshot(global, reset);
+    }
+
+    /**
+     * Copies the histograms of every command that has been executed.
+     *
+     * @param reset whether to clear the histograms
+     * @return a map of each command to the snapshots of its stages.
+     */
+    public Map<Command, Map<PipelineStage, LatencySnapshot>> snapshot(boolean reset) {
+        final Map<Command, Map<PipelineStage, LatencySnapshot>> map = new HashMap<>();
+        commands.forEach((command, latencies) -> map.put(command, snapshot(latencies.stages, reset)));
+        return Collections.unmodifiableMap(map);
+    }
+
+    private static Map<PipelineStage, LatencySnapshot> snapshot(LatencyHistogram[] histograms, boolean reset) {
+        final EnumMap<PipelineStage, LatencySnapshot> map = new EnumMap<>(PipelineStage.class);
+        for (PipelineStage stage : PipelineStage.values()) {
+            map.put(stage, histograms[stage.ordinal()].snapshot(reset));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    private static LatencyHistogram[] newHistograms() {
+        final LatencyHistogram[] histograms = new LatencyHistogram[PipelineStage.values().length];
+        for (int i = 0; i < histograms.length; i++) {
+            histograms[i] = new LatencyHistogram();
+        }
+        return histograms;
+    }
+
+    /**
+     * The histograms of a single command.
+     */
+    public static final class CommandLatencies {
+
+        private final LatencyHistogram[] stages = newHistograms();
+        private final ConcurrentHashMap<String, LatencyHistogram> preprocessors = new ConcurrentHashMap<>();
+
+        private CommandLatencies() {
+        }
+
+        public void record(PipelineStage stage, long nanos) {
+            stages[stage.ordinal()].record(nanos);
+        }
+
+        /**
+         * Records the time taken by a single preprocessor, both under its identifier and under
+         * {@link PipelineStage#PREPROCESSOR}.
+         *
+         * @param identifier the identifier of the preprocessor
+         * @param nanos the time taken
+         */
+        public void recordPreprocessor(String identifier, long nanos) {
+            stages[PipelineStage.PREPROCESSOR.ordinal()].record(nanos);
+            if (identifier != null) {
+                LatencyHistogram histogram = preprocessors.get(identifier);
+                if (histogram == null) {
+                    histogram = preprocessors.computeIfAbsent(identifier, s -> new LatencyHistogram());
+                }
+                histogram.record(nanos);
+            }
+        }
+
+        public LatencyHistogram getHistogram(PipelineStage stage) {
+            return stages[stage.ordinal()];
+        }
+
+        /**
+         * @param identifier the identifier of a preprocessor
+         * @return the histogram of the preprocessor, or {@code null} if it has not run.
+         */
+        public LatencyHistogram getPreprocessorHistogram(String identifier) {
+            return preprocessors.get(identifier);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.framework.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size, lock-free histogram of latencies in nanoseconds.
+ *
+ * <p>Values are counted in log-linear buckets: every power of two is divided into 8 sub-buckets, so a recorded value is
+ * accurate to within 12.5%. Values of about 18 minutes or more are counted in the last bucket.
+ * Recording is a few arithmetic operations and an atomic increment.
+ */
+public final class LatencyHistogram {
+
+    static final int SUB_BUCKET_BITS = 3;
+    static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param nanos the latency to record. Negative values are recorded as 0.
+     */
+    public void record(long nanos) {
+        if (nanos < 0) nanos = 0;
+        counts.incrementAndGet(bucketOf(nanos));
+        sum.addAndGet(nanos);
+        long m;
+        while (nanos > (m = max.get())) {
+            if (max.compareAndSet(m, nanos)) break;
+        }
+    }
+
+    /**
+     * Copies the current counts.
+     *
+     * @param reset whether to clear each count as it is copied, so that no value is lost or counted twice between
+     * consecutive snapshots.
+     * @return a snapshot
+     */
+    public LatencySnapshot snapshot(boolean reset) {
+        final long[] copy = new long[BUCKETS];
+        long count = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            copy[i] = reset ? counts.getAndSet(i, 0) : counts.get(i);
+            count += copy[i];
+        }
+        final long s = reset ? sum.getAndSet(0) : sum.get();
+        final long m = reset ? max.getAndSet(0) : max.get();
+        return new LatencySnapshot(copy, count, s, m);
+    }
+
+    static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) return (int) value;
+        final int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) return BUCKETS - 1;
+        final int shift = exponent - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) ((value >>> shift) - SUB_BUCKETS);
+    }
+
+    /**
+     * @return the largest value that falls in the bucket
+     */
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) return bucket;
+        final int shift = bucket / SUB_BUCKETS - 1;
+        final long lower = ((long) (bucket % SUB_BUCKETS + SUB_BUCKETS)) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.framework.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * An immutable copy of a {@link LatencyHistogram}.
+ */
+public final class LatencySnapshot {
+
+    private final long[] counts;
+    private final long count;
+    private final long sum;
+    private final long max;
+
+    LatencySnapshot(long[] counts, long count, long sum, long max) {
+        this.counts = counts;
+        this.count = count;
+        this.sum = sum;
+        this.max = max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * @return the mean latency in nanoseconds, or 0 if nothing was recorded.
+     */
+    public double getMean() {
+        return count == 0 ? 0 : (double) sum / count;
+    }
+
+    /**
+     * @return the maximum latency in nanoseconds.
+     */
+    public long getMax() {
+        return max;
+    }
+
+    /**
+     * Finds the latency that the given percentage of recorded values are at or below.
+     *
+     * @param percentile a value between 0 and 100
+     * @return the upper bound of the bucket containing the percentile in nanoseconds, capped at {@link #getMax()}.
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (count == 0) return 0;
+        final long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(LatencyHistogram.upperBoundOf(i), max);
+            }
+        }
+        return max;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d, mean=%.1fus, p50=%dus, p99=%dus, p999=%dus, max=%dus", count,
+                             getMean() / 1000, toMicros(getValueAtPercentile(50)), toMicros(getValueAtPercentile(99)),
+                             toMicros(getValueAtPercentile(99.9)), toMicros(max));
+    }
+
+    private static long toMicros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+}
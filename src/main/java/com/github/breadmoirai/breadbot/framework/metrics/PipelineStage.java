@@ -0,0 +1,47 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.framework.metrics;
+
+/**
+ * The stages a message passes through between being received from JDA and its command completing.
+ */
+public enum PipelineStage {
+    /**
+     * Matching the prefix and constructing the CommandEvent. Not associated with a command.
+     */
+    EVENT_CREATION,
+    /**
+     * Resolving the top-level command from the key. Not associated with a command.
+     */
+    ROUTING,
+    /**
+     * Running a single preprocessor, up to the point where it continues to the next one or returns.
+     */
+    PREPROCESSOR,
+    /**
+     * Mapping the arguments to the command's parameters.
+     */
+    PARSING,
+    /**
+     * Invoking the command method.
+     */
+    INVOCATION,
+    /**
+     * Handling the value returned by the command.
+     */
+    RESULT_HANDLING
+}
@@ -0,0 +1,140 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.framework.parameter;
+
+import com.github.breadmoirai.breadbot.framework.event.CommandArgumentList;
+import com.github.breadmoirai.breadbot.framework.event.CommandEvent;
+import com.github.breadmoirai.breadbot.framework.event.internal.arguments.GenericCommandArgument;
+import com.github.breadmoirai.breadbot.util.StringView;
+
+/**
+ * A run of consecutive arguments joined by single spaces into one backing string.
+ * The span can be {@link #slice(int) sliced} to start at any of its arguments, and any leading part of it made of
+ * whole arguments can be viewed, by offset without joining the arguments again.
+ */
+public final class ArgumentSpan {
+
+    private final CommandEvent event;
+    private final int startIndex;
+    // the whole run and the offsets in it just after each argument. Slices share both.
+    private final String joined;
+    private final int[] ends;
+    // the index in ends of the first argument of this span, and the offset in joined of its first character
+    private final int first;
+    private final int base;
+
+    private ArgumentSpan(CommandEvent event, int startIndex, String joined, int[] ends, int first, int base) {
+        this.event = event;
+        this.startIndex = startIndex;
+        this.joined = joined;
+        this.ends = ends;
+        this.first = first;
+        this.base = base;
+    }
+
+    /**
+     * Joins the arguments {@code [from, to)} of the list.
+     *
+     * @param event the event the arguments belong to
+     * @param list the arguments
+     * @param from the index of the first argument, inclusive
+     * @param to the index of the last argument, exclusive
+     * @return a new ArgumentSpan
+     */
+    public static ArgumentSpan of(CommandEvent event, CommandArgumentList list, int from, int to) {
+        final int size = to - from;
+        final int[] ends = new int[size];
+        if (size == 1) {
+            final String argument = list.get(from).getArgument();
+            ends[0] = argument.length();
+            return new ArgumentSpan(event, from, argument, ends, 0, 0);
+        }
+        final StringBuilder sb = new StringBuilder();
+        for (int k = 0; k < size; k++) {
+            if (k != 0) sb.append(' ');
+            sb.append(list.get(from + k).getArgument());
+            ends[k] = sb.length();
+        }
+        return new ArgumentSpan(event, from, sb.toString(), ends, 0, 0);
+    }
+
+    /**
+     * @param k the index of an argument within this span
+     * @return the arguments of this span from the {@code k}th onwards, sharing the backing string of this span
+     */
+    public ArgumentSpan slice(int k) {
+        if (k == 0) return this;
+        return new ArgumentSpan(event, startIndex + k, joined, ends, first + k, base + startOf(k));
+    }
+
+    public CommandEvent getEvent() {
+        return event;
+    }
+
+    /**
+     * @return the index in the argument list of the first argument in this span
+     */
+    public int getStartIndex() {
+        return startIndex;
+    }
+
+    /**
+     * @return the number of arguments in this span
+     */
+    public int size() {
+        return ends.length - first;
+    }
+
+    /**
+     * @return all of the arguments in this span, separated by single spaces
+     */
+    public CharSequence getJoined() {
+        return StringView.of(joined, base, joined.length());
+    }
+
+    /**
+     * @param count a number of arguments from {@code 0} to {@link #size()}
+     * @return the offset in {@link #getJoined()} just after the last character of the first {@code count} arguments
+     */
+    public int endOf(int count) {
+        return count == 0 ? 0 : ends[first + count - 1] - base;
+    }
+
+    /**
+     * @param k the index of an argument within this span
+     * @return the offset in {@link #getJoined()} of the first character of the argument
+     */
+    public int startOf(int k) {
+        return k == 0 ? 0 : ends[first + k - 1] + 1 - base;
+    }
+
+    /**
+     * @param count a number of arguments from {@code 0} to {@link #size()}
+     * @return the first {@code count} arguments joined by spaces, as a view over {@link #getJoined()}
+     */
+    public CharSequence view(int count) {
+        return StringView.of(joined, base, base + endOf(count));
+    }
+
+    /**
+     * @param count a number of arguments from {@code 1} to {@link #size()}
+     * @return the first {@code count} arguments joined by spaces, as a single argument
+     */
+    public CommandArgument toArgument(int count) {
+        return new GenericCommandArgument(event, StringView.of(joined, base, base + endOf(count)).toString());
+    }
+}
@@ -170,13 +170,16 @@ public interface CommandArgument {
     }
 
     /**
-     * Parses the argument as an Integer with {@link java.lang.Integer#parseInt(String)}
+     * Parses the argument as an Integer, accepting the same input as {@link java.lang.Integer#parseInt(String)}
      *
      * @return an int
      * @throws NumberFormatException if {@link CommandArgument#isInteger isInteger()} returns {@code false}
      */
     default int parseInt() {
-        return Integer.parseInt(getArgument());
+        final String argument = getArgument();
+        final Arguments.LongHolder out = new Arguments.LongHolder();
+        // the JDK parser only runs for input that is rejected, to accept a leading + or to throw
+        return Arguments.tryParseInt(argument, out) ? (int) out.value : Integer.parseInt(argument);
     }
 
     /**
@@ -191,13 +194,15 @@ public interface CommandArgument {
     }
 
     /**
-     * Parses the argument as an Long with {@link java.lang.Long#parseLong(String)}
+     * Parses the argument as an Long, accepting the same input as {@link java.lang.Long#parseLong(String)}
      *
      * @return a long
-     * @throws NumberFormatException if {@link CommandArgument#isInteger isInteger()} returns {@code false}
+     * @throws NumberFormatException if {@link CommandArgument#isLong isLong()} returns {@code false}
      */
     default long parseLong() {
-        return Long.parseLong(getArgument());
+        final String argument = getArgument();
+        final Arguments.LongHolder out = new Arguments.LongHolder();
+        return Arguments.tryParseLong(argument, out) ? out.value : Long.parseLong(argument);
     }
 
     /**
@@ -280,9 +285,12 @@ public interface CommandArgument {
      * @throws NumberFormatException if {@link CommandArgument#isHex isHex()} would return false
      */
     default int parseIntFromHex() {
-        String s = getArgument();
-        s = Arguments.stripHexPrefix(s);
-        return Integer.parseInt(s, 16);
+        final String s = getArgument();
+        final Arguments.LongHolder out = new Arguments.LongHolder();
+        if (Arguments.tryParseHex(s, out) && out.value <= Integer.MAX_VALUE) {
+            return (int) out.value;
+        }
+        return Integer.parseInt(Arguments.stripHexPrefix(s), 16);
     }
 
     /**
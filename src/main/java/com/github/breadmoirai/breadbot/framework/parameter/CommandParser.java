@@ -19,19 +19,23 @@ package com.github.breadmoirai.breadbot.framework.parameter;
 import com.github.breadmoirai.breadbot.framework.command.Command;
 import com.github.breadmoirai.breadbot.framework.event.CommandArgumentList;
 import com.github.breadmoirai.breadbot.framework.event.CommandEvent;
-import gnu.trove.set.TIntSet;
-import gnu.trove.set.hash.TIntHashSet;
+import com.github.breadmoirai.breadbot.framework.parameter.internal.ParameterBindingPlan;
+import com.github.breadmoirai.breadbot.util.IndexBitSet;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 public class CommandParser {
 
+    private static final Object PARSE_FAILED = new Object();
+
     private final CommandEvent event;
     private final Command method;
     private final CommandArgumentList argumentList;
     private final CommandParameter[] parameters;
-    private final TIntSet set;
+    private final ParameterBindingPlan plan;
+    private final IndexBitSet mapped;
     private final int size;
 
     private boolean fail = false;
@@ -39,15 +43,32 @@ public class CommandParser {
 
     private final Object[] results;
 
+    private TypeParser<?>[] memoParsers;
+    private Object[][] memoResults;
+    private int[] memoCursors;
+    private int memoSize;
+
     public CommandParser(CommandEvent event, Command method, CommandArgumentList argumentList, CommandParameter[] parameters) {
+        this(event, method, argumentList, parameters, ParameterBindingPlan.compile(parameters));
+    }
+
+    /**
+     * @param plan a plan compiled from the same {@code parameters}
+     */
+    public CommandParser(CommandEvent event, Command method, CommandArgumentList argumentList, CommandParameter[] parameters, ParameterBindingPlan plan) {
         this.event = event;
         this.method = method;
         this.argumentList = argumentList;
         this.parameters = parameters;
-        this.set = new TIntHashSet();
+        this.plan = plan;
+        this.mapped = new IndexBitSet();
         this.pointer = 0;
         this.size = parameters.length;
         this.results = new Object[size];
+        // sizing a lazy argument list splits the whole message, so only do it when some argument is required
+        if (plan.getMinArguments() > 0 && argumentList.size() < plan.getMinArguments()) {
+            fail = true;
+        }
     }
 
     public CommandEvent getEvent() {
@@ -59,11 +80,15 @@ public class CommandParser {
     }
 
     public List<CommandParameter> getUnmappedParameters() {
-        return Arrays.asList(parameters).subList(pointer, size);
+        final List<CommandParameter> unmapped = new ArrayList<>(size - pointer);
+        for (int i = pointer; i < size; i++) {
+            unmapped.add(parameters[plan.getParameterIndex(i)]);
+        }
+        return unmapped;
     }
 
     /**
-     * The pointer points to the next CommandParameter.
+     * The pointer points to the next CommandParameter in the order of the {@link ParameterBindingPlan}.
      * When {@code getPointer() == size()}, all params have been mapped.
      *
      * @return and int ranging from {@code 1 - size()}.
@@ -86,7 +111,8 @@ public class CommandParser {
 
     public void mapNext() {
         if (!fail) {
-            results[pointer] = parameters[pointer].map(this);
+            final int p = plan.getParameterIndex(pointer);
+            results[p] = parameters[p].map(this);
             pointer++;
         }
     }
@@ -112,19 +138,122 @@ public class CommandParser {
     }
 
     public boolean hasMappedArguments(int index) {
-        return set.contains(index);
+        return mapped.contains(index);
     }
 
     public boolean markMappedArguments(int index) {
-        return set.add(index);
+        return mapped.add(index);
     }
 
     public boolean hasMappedArguments(int[] array) {
-        return set.containsAll(array);
+        for (int i : array) {
+            if (!mapped.contains(i)) return false;
+        }
+        return true;
     }
 
     public boolean markMappedArguments(int[] array) {
-        return set.addAll(array);
+        boolean changed = false;
+        for (int i : array) {
+            changed |= mapped.add(i);
+        }
+        return changed;
+    }
+
+    /**
+     * @param from the first argument index, inclusive
+     * @param to the last argument index, exclusive
+     * @return {@code true} if every argument in the range has been mapped
+     */
+    public boolean hasMappedArguments(int from, int to) {
+        return mapped.containsRange(from, to);
+    }
+
+    /**
+     * @param from the first argument index, inclusive
+     * @param to the last argument index, exclusive
+     * @return {@code true} if any argument in the range was not already mapped
+     */
+    public boolean markMappedArguments(int from, int to) {
+        return mapped.addRange(from, to);
+    }
+
+    /**
+     * @param from the argument index to start searching from
+     * @return the index of the first mapped argument at or after {@code from}, or {@code -1} if there is none
+     */
+    public int nextMappedArgument(int from) {
+        return mapped.nextSetBit(from);
+    }
+
+    /**
+     * @param from the argument index to start searching from
+     * @return the index of the first argument at or after {@code from} that has not been mapped.
+     * This may be past the end of the argument list.
+     */
+    public int nextUnmappedArgument(int from) {
+        return mapped.nextClearBit(from);
+    }
+
+    /**
+     * Parses the argument at the specified index with the provided {@link TypeParser}.
+     * The result, including a failed parse, is remembered for the rest of this invocation,
+     * so each {@code TypeParser} runs at most once per argument no matter how many parameters try it.
+     *
+     * @param index the index of the argument in {@link #getArgumentList()}
+     * @param typeParser the parser to apply
+     * @param <T> the parsed type
+     * @return the parsed value, or {@code null} if the argument could not be parsed
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T parseArgument(int index, TypeParser<T> typeParser) {
+        final int r = getMemoRow(typeParser);
+        final Object[] row = memoResults[r];
+        Object o = row[index];
+        if (o == null) {
+            o = typeParser.parse(argumentList.get(index));
+            row[index] = o == null ? PARSE_FAILED : o;
+        }
+        return o == PARSE_FAILED ? null : (T) o;
+    }
+
+    /**
+     * Finds the first argument that has not been mapped and can be parsed by the provided {@link TypeParser}.
+     * Every argument before the returned index has either been mapped or been rejected by the {@code TypeParser},
+     * which stays true for the rest of this invocation, so the next search with the same {@code TypeParser} resumes here.
+     *
+     * @param typeParser the parser to apply
+     * @return the index of the argument, or {@code -1} if there is none
+     */
+    public int nextParsableArgument(TypeParser<?> typeParser) {
+        final int row = getMemoRow(typeParser);
+        final int n = argumentList.size();
+        for (int i = nextUnmappedArgument(memoCursors[row]); i < n; i = nextUnmappedArgument(i + 1)) {
+            if (parseArgument(i, typeParser) != null) {
+                memoCursors[row] = i;
+                return i;
+            }
+        }
+        memoCursors[row] = n;
+        return -1;
+    }
+
+    private int getMemoRow(TypeParser<?> typeParser) {
+        for (int i = 0; i < memoSize; i++) {
+            if (memoParsers[i] == typeParser) return i;
+        }
+        if (memoParsers == null) {
+            memoParsers = new TypeParser<?>[4];
+            memoResults = new Object[4][];
+            memoCursors = new int[4];
+        } else if (memoSize == memoParsers.length) {
+            memoParsers = Arrays.copyOf(memoParsers, memoSize * 2);
+            memoResults = Arrays.copyOf(memoResults, memoSize * 2);
+            memoCursors = Arrays.copyOf(memoCursors, memoSize * 2);
+        }
+        memoParsers[memoSize] = typeParser;
+        memoResults[memoSize] = new Object[argumentList.size()];
+        return memoSize++;
     }
 
     public boolean mapAll() {
@@ -0,0 +1,40 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.framework.parameter;
+
+/**
+ * A {@link TypeParser} that can find its longest match in a run of arguments by itself.
+ * <p>Parameters with a width of {@code 0} take as many arguments as can be parsed. A plain {@link TypeParser} is
+ * offered every candidate from longest to shortest until one parses, which is quadratic in the number of arguments.
+ * A parser that implements this interface is instead asked once for the length of its longest match, so that it may
+ * scan the {@link ArgumentSpan#getJoined() joined arguments} a single time.
+ *
+ * @param <T> the type to map to.
+ */
+public interface SpanTypeParser<T> extends TypeParser<T> {
+
+    /**
+     * Finds the largest number of leading arguments in the span that this parser can map.
+     * {@link #parse(CommandArgument)} is then called with those arguments joined together.
+     *
+     * @param span the unmapped arguments
+     *
+     * @return a number from {@code 1} to {@link ArgumentSpan#size()}, or {@code 0} if no leading arguments can be mapped
+     */
+    int matchLongest(ArgumentSpan span);
+
+}
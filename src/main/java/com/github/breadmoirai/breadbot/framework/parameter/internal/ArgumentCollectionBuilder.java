@@ -16,6 +16,11 @@
 
 package com.github.breadmoirai.breadbot.framework.parameter.internal;
 
+import com.github.breadmoirai.breadbot.framework.parameter.CommandArgument;
+import gnu.trove.list.array.TDoubleArrayList;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.list.array.TLongArrayList;
+
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -48,6 +53,78 @@ public interface ArgumentCollectionBuilder {
         };
     }
 
+    /**
+     * Collects the {@link CommandArgument#parseInt() int value} of each argument into a growable primitive buffer.
+     * The type parser of the parameter should return the {@link CommandArgument} itself so that no value is boxed.
+     *
+     * @param finisher converts the buffer into the parameter value
+     * @return a new ArgumentCollectionBuilder
+     */
+    static ArgumentCollectionBuilder ofInts(Function<TIntArrayList, ?> finisher) {
+        return new ArgumentCollectionBuilder() {
+
+            private final TIntArrayList values = new TIntArrayList();
+
+            @Override
+            public void accept(Object o) {
+                values.add(((CommandArgument) o).parseInt());
+            }
+
+            @Override
+            public Object build() {
+                return finisher.apply(values);
+            }
+        };
+    }
+
+    /**
+     * Collects the {@link CommandArgument#parseLong() long value} of each argument into a growable primitive buffer.
+     *
+     * @param finisher converts the buffer into the parameter value
+     * @return a new ArgumentCollectionBuilder
+     * @see #ofInts(Function)
+     */
+    static ArgumentCollectionBuilder ofLongs(Function<TLongArrayList, ?> finisher) {
+        return new ArgumentCollectionBuilder() {
+
+            private final TLongArrayList values = new TLongArrayList();
+
+            @Override
+            public void accept(Object o) {
+                values.add(((CommandArgument) o).parseLong());
+            }
+
+            @Override
+            public Object build() {
+                return finisher.apply(values);
+            }
+        };
+    }
+
+    /**
+     * Collects the {@link CommandArgument#parseDouble() double value} of each argument into a growable primitive buffer.
+     *
+     * @param finisher converts the buffer into the parameter value
+     * @return a new ArgumentCollectionBuilder
+     * @see #ofInts(Function)
+     */
+    static ArgumentCollectionBuilder ofDoubles(Function<TDoubleArrayList, ?> finisher) {
+        return new ArgumentCollectionBuilder() {
+
+            private final TDoubleArrayList values = new TDoubleArrayList();
+
+            @Override
+            public void accept(Object o) {
+                values.add(((CommandArgument) o).parseDouble());
+            }
+
+            @Override
+            public Object build() {
+                return finisher.apply(values);
+            }
+        };
+    }
+
     void accept(Object o);
 
     Object build();
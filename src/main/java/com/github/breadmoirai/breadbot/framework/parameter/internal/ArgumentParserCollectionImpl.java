@@ -20,6 +20,7 @@ import com.github.breadmoirai.breadbot.framework.event.CommandArgumentList;
 import com.github.breadmoirai.breadbot.framework.parameter.ArgumentParser;
 import com.github.breadmoirai.breadbot.framework.parameter.CommandParameter;
 import com.github.breadmoirai.breadbot.framework.parameter.CommandParser;
+import com.github.breadmoirai.breadbot.framework.parameter.TypeParser;
 import com.github.breadmoirai.breadbot.framework.parameter.internal.builder.CommandParameterBuilderImpl;
 
 import java.util.function.Supplier;
@@ -27,6 +28,7 @@ import java.util.function.Supplier;
 public class ArgumentParserCollectionImpl implements ArgumentParser {
 
     private final ArgumentParser baseParser;
+    private final TypeParser<?> typeParser;
     private final Supplier<ArgumentCollectionBuilder> collectorFactory;
     private final int limit;
     private final boolean contiguous;
@@ -34,6 +36,7 @@ public class ArgumentParserCollectionImpl implements ArgumentParser {
     public ArgumentParserCollectionImpl(CommandParameterBuilderImpl param, Supplier<ArgumentCollectionBuilder> collectorFactory) {
         this.collectorFactory = collectorFactory;
         this.baseParser = new ArgumentParserImpl(param.getIndex(), param.getWidth(), false, null, param.getTypeParser());
+        this.typeParser = param.getTypeParser();
         this.limit = param.getLimit();
         this.contiguous = param.isContiguous();
     }
@@ -41,6 +44,7 @@ public class ArgumentParserCollectionImpl implements ArgumentParser {
     @Override
     public Object parse(CommandParameter parameter, CommandArgumentList list, CommandParser parser) {
         boolean contiguous = parameter.isContiguous();
+        final boolean memoize = list == parser.getArgumentList();
         final int limit = parameter.getLimit();
         int count = 0;
         final ArgumentCollectionBuilder collector = collectorFactory.get();
@@ -53,19 +57,22 @@ public class ArgumentParserCollectionImpl implements ArgumentParser {
                 count++;
             }
         } else {
-            for (int i = 0; i < list.size(); i++) {
-                if (parser.hasMappedArguments(i)) continue;
+            // find the first run of arguments that parse, then take arguments until one does not
+            for (int i = parser.nextUnmappedArgument(0); i < list.size(); i = parser.nextUnmappedArgument(i + 1)) {
                 int j = i;
                 Object o;
                 while (j < list.size() &&
                         !parser.hasMappedArguments(j) &&
                         (limit < 0 || count < limit) &&
-                        (o = baseParser.parse(parameter, list.subList(j, j + 1), parser)) != null) {
+                        (o = memoize ? parser.parseArgument(j, typeParser) : typeParser.parse(list.get(j))) != null) {
                     collector.accept(o);
                     j++;
                     count++;
                 }
-                if (j > i) break;
+                if (j > i) {
+                    parser.markMappedArguments(i, j);
+                    break;
+                }
             }
         }
         return collector.build();
@@ -18,18 +18,15 @@ package com.github.breadmoirai.breadbot.framework.parameter.internal;
 
 import com.github.breadmoirai.breadbot.framework.event.CommandArgumentList;
 import com.github.breadmoirai.breadbot.framework.event.CommandEvent;
-import com.github.breadmoirai.breadbot.framework.event.internal.arguments.GenericCommandArgument;
 import com.github.breadmoirai.breadbot.framework.parameter.AbsentArgumentHandler;
 import com.github.breadmoirai.breadbot.framework.parameter.ArgumentParser;
-import com.github.breadmoirai.breadbot.framework.parameter.CommandArgument;
+import com.github.breadmoirai.breadbot.framework.parameter.ArgumentSpan;
 import com.github.breadmoirai.breadbot.framework.parameter.CommandParameter;
 import com.github.breadmoirai.breadbot.framework.parameter.CommandParser;
+import com.github.breadmoirai.breadbot.framework.parameter.SpanTypeParser;
 import com.github.breadmoirai.breadbot.framework.parameter.TypeParser;
 
-import java.util.StringJoiner;
 import java.util.function.Function;
-import java.util.function.IntPredicate;
-import java.util.stream.IntStream;
 
 public class ArgumentParserImpl implements ArgumentParser {
 
@@ -55,86 +52,88 @@ public class ArgumentParserImpl implements ArgumentParser {
 
     @Override
     public Object parse(CommandParameter parameter, CommandArgumentList list, CommandParser parser) {
+        if (index == 0 && width == 1 && list == parser.getArgumentList()) {
+            final int i = parser.nextParsableArgument(typeParser);
+            if (i == -1) {
+                return getDefaultOrFail(parameter, parser);
+            }
+            parser.markMappedArguments(i);
+            return parser.parseArgument(i, typeParser);
+        }
+
         int i;
-        final IntPredicate condition;
+        final int end;
         final int increment;
         if (index > 0) {
             i = index - 1;
             if (i >= list.size()) {
                 return getDefaultOrFail(parameter, parser);
             }
-            final int limit = i + 1;
-            condition = value -> value < limit;
+            end = i + 1;
             increment = 1;
         } else if (index < 0) {
             i = list.size() + index;
             if (i < 0)
                 return getDefaultOrFail(parameter, parser);
-            condition = value -> value >= 0;
+            end = -1;
             increment = -1;
         } else {
             i = 0;
-            condition = value -> value < list.size();
+            end = list.size();
             increment = 1;
         }
 
-        for (; condition.test(i); i += increment) {
+        // the unmapped run containing i, built once and sliced for each start index within it
+        ArgumentSpan run = null;
+        for (; increment > 0 ? i < end : i > end; i += increment) {
             if (parser.hasMappedArguments(i)) continue;
             if (width == 1) {
-                CommandArgument arg = list.get(i);
-                Object o = typeParser.parse(arg);
+                Object o = list == parser.getArgumentList() ? parser.parseArgument(i, typeParser) : typeParser.parse(list.get(i));
                 if (o != null) {
                     parser.markMappedArguments(i);
                     return o;
                 }
             } else if (width == 0) {
-                int j = i;
-                for (; j < list.size(); j++) {
-                    if (parser.hasMappedArguments(j)) {
-                        break;
+                run = unmappedRun(run, parser, list, i);
+                final ArgumentSpan span = run.slice(i - run.getStartIndex());
+                if (typeParser instanceof SpanTypeParser) {
+                    final int count = ((SpanTypeParser<?>) typeParser).matchLongest(span);
+                    if (count > 0) {
+                        Object o = typeParser.parse(span.toArgument(count));
+                        if (o != null) {
+                            parser.markMappedArguments(i, i + count);
+                            return o;
+                        }
                     }
-                }
-                for (; j > i; j--) {
-                    StringJoiner sj = new StringJoiner(" ");
-                    for (int k = i; k < j; k++) {
-                        sj.add(list.get(k).getArgument());
-                    }
-                    int[] indexes = IntStream.range(i, j).toArray();
-                    Object o = typeParser.parse(new GenericCommandArgument(parser.getEvent(), sj.toString()));
-                    if (o != null) {
-                        parser.markMappedArguments(indexes);
-                        return o;
+                } else {
+                    for (int count = span.size(); count > 0; count--) {
+                        Object o = typeParser.parse(span.toArgument(count));
+                        if (o != null) {
+                            parser.markMappedArguments(i, i + count);
+                            return o;
+                        }
                     }
                 }
-
             } else if (width < 0) {
-                final StringJoiner sj = new StringJoiner(" ");
-                int j = i;
-                for (; j < list.size(); j++) {
-                    if (parser.hasMappedArguments(j)) break;
-                    sj.add(list.get(j).getArgument());
-                }
-                int[] indexes = IntStream.range(i, j).toArray();
+                run = unmappedRun(run, parser, list, i);
+                final ArgumentSpan span = run.slice(i - run.getStartIndex());
+                final int start = i;
+                final int j = start + span.size();
                 i = j;
-                Object o = typeParser.parse(new GenericCommandArgument(parser.getEvent(), sj.toString()));
+                Object o = typeParser.parse(span.toArgument(span.size()));
                 if (o != null) {
-                    parser.markMappedArguments(indexes);
+                    parser.markMappedArguments(start, j);
                     return o;
                 }
             } else {
-                final StringJoiner sj = new StringJoiner(" ");
                 if (i + width > list.size())
                     continue;
-                int j = i;
-                for (; j < i + width; j++) {
-                    if (parser.hasMappedArguments(j)) break;
-                    sj.add(list.get(j).getArgument());
-                }
-                if (j == i + width) {
-                    int[] indexes = IntStream.range(i, i + width).toArray();
-                    Object o = typeParser.parse(new GenericCommandArgument(parser.getEvent(), sj.toString()));
+                run = unmappedRun(run, parser, list, i);
+                final ArgumentSpan span = run.slice(i - run.getStartIndex());
+                if (span.size() >= width) {
+                    Object o = typeParser.parse(span.toArgument(width));
                     if (o != null) {
-                        parser.markMappedArguments(indexes);
+                        parser.markMappedArguments(i, i + width);
                         return o;
                     }
                 }
@@ -145,6 +144,46 @@ public class ArgumentParserImpl implements ArgumentParser {
         return getDefaultOrFail(parameter, parser);
     }
 
+    public int getIndex() {
+        return index;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public boolean isMustBePresent() {
+        return mustBePresent;
+    }
+
+    public AbsentArgumentHandler getAbsentArgumentHandler() {
+        return absentArgumentHandler;
+    }
+
+    public boolean hasDefaultValue() {
+        return defaultValue != null;
+    }
+
+    /**
+     * @return {@code run} if it contains the argument at {@code i}, otherwise the span of unmapped arguments around it
+     */
+    private static ArgumentSpan unmappedRun(ArgumentSpan run, CommandParser parser, CommandArgumentList list, int i) {
+        if (run != null && i >= run.getStartIndex() && i < run.getStartIndex() + run.size()) {
+            return run;
+        }
+        int from = i;
+        while (from > 0 && !parser.hasMappedArguments(from - 1)) from--;
+        return ArgumentSpan.of(parser.getEvent(), list, from, endOfUnmapped(parser, i, list.size()));
+    }
+
+    /**
+     * @return the index of the first mapped argument in {@code [from, limit)}, or {@code limit} if there is none
+     */
+    private static int endOfUnmapped(CommandParser parser, int from, int limit) {
+        final int next = parser.nextMappedArgument(from);
+        return next == -1 || next > limit ? limit : next;
+    }
+
     private Object getDefaultOrFail(CommandParameter parameter, CommandParser parser) {
         if (defaultValue != null) {
             final Object v = defaultValue.apply(parser.getEvent());
@@ -63,6 +63,10 @@ public class CommandParameterImpl implements CommandParameter {
         return argumentParser.parse(this, list, parser);
     }
 
+    public ArgumentParser getArgumentParser() {
+        return argumentParser;
+    }
+
     @Override
     public int getIndex() {
         return index;
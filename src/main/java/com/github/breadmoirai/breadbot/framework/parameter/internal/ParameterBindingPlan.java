@@ -0,0 +1,109 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.framework.parameter.internal;
+
+import com.github.breadmoirai.breadbot.framework.parameter.ArgumentParser;
+import com.github.breadmoirai.breadbot.framework.parameter.CommandParameter;
+
+/**
+ * The order in which a command's parameters are bound and the fewest arguments the command can accept.
+ * A plan is compiled once when the command is built, from the layout of its parameters.
+ * <p>
+ * Parameters that read a fixed argument index are bound first, so that a parameter scanning for a free argument
+ * cannot take an argument that is reserved for a fixed index.
+ * All other parameters keep their declared order.
+ */
+public final class ParameterBindingPlan {
+
+    private static final ParameterBindingPlan EMPTY = new ParameterBindingPlan(new int[0], 0);
+
+    private final int[] order;
+    private final int minArguments;
+
+    private ParameterBindingPlan(int[] order, int minArguments) {
+        this.order = order;
+        this.minArguments = minArguments;
+    }
+
+    /**
+     * Analyzes the parameters.
+     * Only parameters that use the default {@link ArgumentParserImpl} are understood.
+     * Any other {@link ArgumentParser} keeps its declared position and does not count towards the minimum arguments.
+     *
+     * @param parameters the parameters of a command, in declared order
+     * @return a new plan
+     */
+    public static ParameterBindingPlan compile(CommandParameter[] parameters) {
+        if (parameters.length == 0) return EMPTY;
+        final int[] order = new int[parameters.length];
+        int n = 0;
+        for (int i = 0; i < parameters.length; i++) {
+            final ArgumentParserImpl p = getArgumentParser(parameters[i]);
+            if (p != null && p.getIndex() != 0) order[n++] = i;
+        }
+        for (int i = 0; i < parameters.length; i++) {
+            final ArgumentParserImpl p = getArgumentParser(parameters[i]);
+            if (p == null || p.getIndex() == 0) order[n++] = i;
+        }
+
+        int min = 0;
+        boolean failsSilently = true;
+        for (CommandParameter parameter : parameters) {
+            final ArgumentParserImpl p = getArgumentParser(parameter);
+            if (p == null) continue;
+            final int width = p.getWidth();
+            if (p.getAbsentArgumentHandler() != null) {
+                failsSilently = false;
+            } else if (p.isMustBePresent() && !p.hasDefaultValue()) {
+                min += width > 0 ? width : 1;
+            }
+        }
+        // an absent argument handler must see the same parameter fail as it would without the plan
+        return new ParameterBindingPlan(order, failsSilently ? min : 0);
+    }
+
+    private static ArgumentParserImpl getArgumentParser(CommandParameter parameter) {
+        if (!(parameter instanceof CommandParameterImpl)) return null;
+        final ArgumentParser parser = ((CommandParameterImpl) parameter).getArgumentParser();
+        return parser instanceof ArgumentParserImpl ? (ArgumentParserImpl) parser : null;
+    }
+
+    /**
+     * @param position the position in the plan
+     * @return the declared index of the parameter that is bound at that position
+     */
+    public int getParameterIndex(int position) {
+        return order[position];
+    }
+
+    /**
+     * @return the number of parameters
+     */
+    public int size() {
+        return order.length;
+    }
+
+    /**
+     * If a command receives fewer arguments than this, one of its required parameters cannot be bound,
+     * so parsing can fail without trying any of them.
+     *
+     * @return the fewest arguments the command can be invoked with
+     */
+    public int getMinArguments() {
+        return minArguments;
+    }
+}
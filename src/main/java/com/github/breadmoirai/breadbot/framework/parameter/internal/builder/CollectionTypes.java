@@ -18,16 +18,22 @@ package com.github.breadmoirai.breadbot.framework.parameter.internal.builder;
 
 import com.github.breadmoirai.breadbot.framework.builder.BreadBotBuilder;
 import com.github.breadmoirai.breadbot.framework.builder.CommandParameterBuilder;
-import com.github.breadmoirai.breadbot.framework.parameter.CommandArgument;
 import com.github.breadmoirai.breadbot.framework.parameter.TypeParser;
 import com.github.breadmoirai.breadbot.framework.parameter.internal.ArgumentCollectionBuilder;
 import com.github.breadmoirai.breadbot.framework.parameter.internal.ArgumentParserCollectionImpl;
+import gnu.trove.list.array.TDoubleArrayList;
+import gnu.trove.list.array.TIntArrayList;
+import gnu.trove.list.array.TLongArrayList;
 
 import java.time.Duration;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Deque;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
 public class CollectionTypes {
@@ -59,22 +65,56 @@ public class CollectionTypes {
     }
 
 
-    public static void setParserToIntStream(CommandParameterBuilderImpl builder) {
+    private static void setParserToInts(CommandParameterBuilderImpl builder, Function<TIntArrayList, ?> finisher) {
         builder.setTypeParser(arg -> arg.isInteger() ? arg : null);
-        builder.setArgumentParser(p -> new ArgumentParserCollectionImpl(p, () -> ArgumentCollectionBuilder.<Stream.Builder<CommandArgument>, CommandArgument>of(Stream::<CommandArgument>builder, Stream.Builder::accept, stream -> stream.build().mapToInt(CommandArgument::parseInt))));
+        builder.setArgumentParser(p -> new ArgumentParserCollectionImpl(p, () -> ArgumentCollectionBuilder.ofInts(finisher)));
     }
 
-    public static void setParserToLongStream(CommandParameterBuilderImpl builder) {
+    private static void setParserToLongs(CommandParameterBuilderImpl builder, Function<TLongArrayList, ?> finisher) {
         builder.setTypeParser(arg -> arg.isLong() ? arg : null);
-        builder.setArgumentParser(p -> new ArgumentParserCollectionImpl(p, () -> ArgumentCollectionBuilder.<Stream.Builder<CommandArgument>, CommandArgument>of(Stream::<CommandArgument>builder, Stream.Builder::accept, stream -> stream.build().mapToLong(CommandArgument::parseLong))));
+        builder.setArgumentParser(p -> new ArgumentParserCollectionImpl(p, () -> ArgumentCollectionBuilder.ofLongs(finisher)));
     }
 
-    public static void setParserToDoubleStream(CommandParameterBuilderImpl builder) {
+    private static void setParserToDoubles(CommandParameterBuilderImpl builder, Function<TDoubleArrayList, ?> finisher) {
         builder.setTypeParser(arg -> arg.isFloat() ? arg : null);
-        builder.setArgumentParser(p -> new ArgumentParserCollectionImpl(p, () -> ArgumentCollectionBuilder.<Stream.Builder<CommandArgument>, CommandArgument>of(Stream::<CommandArgument>builder, Stream.Builder::accept, stream -> stream.build().mapToDouble(CommandArgument::parseDouble))));
+        builder.setArgumentParser(p -> new ArgumentParserCollectionImpl(p, () -> ArgumentCollectionBuilder.ofDoubles(finisher)));
+    }
+
+    public static void setParserToIntStream(CommandParameterBuilderImpl builder) {
+        setParserToInts(builder, values -> IntStream.of(values.toArray()));
+    }
+
+    public static void setParserToLongStream(CommandParameterBuilderImpl builder) {
+        setParserToLongs(builder, values -> LongStream.of(values.toArray()));
+    }
+
+    public static void setParserToDoubleStream(CommandParameterBuilderImpl builder) {
+        setParserToDoubles(builder, values -> DoubleStream.of(values.toArray()));
+    }
+
+    public static void setParserToIntArray(CommandParameterBuilderImpl builder) {
+        setParserToInts(builder, TIntArrayList::toArray);
+    }
+
+    public static void setParserToLongArray(CommandParameterBuilderImpl builder) {
+        setParserToLongs(builder, TLongArrayList::toArray);
+    }
+
+    public static void setParserToDoubleArray(CommandParameterBuilderImpl builder) {
+        setParserToDoubles(builder, TDoubleArrayList::toArray);
+    }
+
+    public static void setParserToIntList(CommandParameterBuilderImpl builder) {
+        setParserToInts(builder, Function.identity());
+    }
+
+    public static void setParserToLongList(CommandParameterBuilderImpl builder) {
+        setParserToLongs(builder, Function.identity());
     }
 
     public static void setParserToDuration(CommandParameterBuilderImpl builder) {
+        // a duration such as "2 days 4 hours" may be spread over several arguments
+        builder.setWidth(0);
         //noinspection ResultOfMethodCallIgnored
         builder.setArgumentParser(p -> new ArgumentParserCollectionImpl(p, () -> ArgumentCollectionBuilder.<Duration, Duration>off(() -> Duration.ZERO, Duration::plus, (d) -> d)));
     }
@@ -0,0 +1,338 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.plugins.prefix;
+
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.internal.utils.Checks;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Allows each guild to set its own prefix with the {@code prefix} command.
+ * Prefixes are stored in a memory-mapped file of fixed-size slots keyed by guild id, so startup only maps the file
+ * and each change only writes the slot of that guild.
+ *
+ * <p>Lookups do not lock. Each prefix is decoded from the file once and reused by later lookups.
+ */
+public class DynamicPrefixPlugin implements PrefixPlugin, Closeable {
+
+    /**
+     * The maximum length of a prefix.
+     */
+    public static final int MAX_PREFIX_LENGTH = 16;
+
+    private static final int MAGIC = 0x42505246; // BPRF
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int SLOT_SIZE = 48;
+    // slot layout: guild id (8), prefix length (2), prefix chars (2 * MAX_PREFIX_LENGTH)
+    private static final int ID_OFFSET = 0;
+    private static final int LENGTH_OFFSET = 8;
+    private static final int CHARS_OFFSET = 10;
+    // returned by Table#find when no slot matched and no slot was empty
+    private static final int PROBE_EXHAUSTED = Integer.MIN_VALUE;
+
+    private final PrefixMatch defaultMatch;
+    private final Path file;
+    private final StampedLock lock = new StampedLock();
+    private volatile Table table;
+
+    /**
+     * @param defaultPrefix the prefix used in guilds that have not set their own
+     * @param file the file the prefixes are stored in. It will be created if it does not exist.
+     */
+    public DynamicPrefixPlugin(String defaultPrefix, String file) {
+        this(defaultPrefix, Paths.get(file), 1024);
+    }
+
+    /**
+     * @param defaultPrefix the prefix used in guilds that have not set their own
+     * @param file the file the prefixes are stored in. It will be created if it does not exist.
+     * @param initialCapacity the number of guilds the file has room for when it is created. The file grows as needed.
+     */
+    public DynamicPrefixPlugin(String defaultPrefix, Path file, int initialCapacity) {
+        Checks.notEmpty(defaultPrefix, "defaultPrefix");
+        Checks.notNull(file, "file");
+        Checks.positive(initialCapacity, "initialCapacity");
+        this.defaultMatch = PrefixMatch.of(defaultPrefix);
+        this.file = file;
+        try {
+            this.table = Files.exists(file) ? Table.open(file) : Table.create(file, tableSizeFor(initialCapacity * 2));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public String getPrefix(Guild guild) {
+        return getPrefix(guild.getIdLong());
+    }
+
+    public String getPrefix(long guildId) {
+        return getMatch(guildId).getPrefix();
+    }
+
+    /**
+     * Matches the prefix of the guild, or the default prefix if it has not set one.
+     * The match is the one decoded when the guild's slot was first read, so this neither locks nor allocates unless a
+     * concurrent {@link #setPrefix(long, String)} forces a retry under the read lock.
+     *
+     * @param guild the guild the message was sent in
+     * @param content the raw content of the message
+     * @return the guild's prefix match, or {@code null} if the content does not start with it.
+     */
+    @Override
+    public PrefixMatch findPrefix(Guild guild, String content) {
+        final PrefixMatch match = getMatch(guild.getIdLong());
+        return content.startsWith(match.getPrefix()) ? match : null;
+    }
+
+    private PrefixMatch getMatch(long guildId) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0) {
+            final PrefixMatch match = table.getCached(guildId, defaultMatch);
+            if (match != null && lock.validate(stamp)) {
+                return match;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return table.load(guildId, defaultMatch);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Sets the prefix of a guild and writes it to the file before returning.
+     *
+     * @param guildId the id of the guild
+     * @param prefix a prefix of at most {@value #MAX_PREFIX_LENGTH} characters, or {@code null} to revert to the
+     * default prefix.
+     */
+    public void setPrefix(long guildId, String prefix) {
+        Checks.check(guildId != 0, "guildId must not be 0");
+        if (prefix != null) {
+            Checks.notEmpty(prefix, "prefix");
+            Checks.check(prefix.length() <= MAX_PREFIX_LENGTH,
+                         "prefix must not be longer than " + MAX_PREFIX_LENGTH + " characters");
+        }
+        final long stamp = lock.writeLock();
+        try {
+            Table t = table;
+            int slot = t.find(guildId);
+            if (slot < 0) {
+                if (prefix == null) return;
+                if (slot == PROBE_EXHAUSTED || (t.size() + 1) * 4 > t.capacity * 3) {
+                    t = grow(t);
+                    slot = t.find(guildId);
+                }
+                slot = -slot - 1;
+                t.setSize(t.size() + 1);
+            }
+            t.write(slot, guildId, prefix == null ? "" : prefix);
+            t.matches[slot] = prefix == null ? defaultMatch : PrefixMatch.of(prefix);
+            t.buffer.force();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Flushes any pending changes to the file.
+     */
+    @Override
+    public void close() {
+        final long stamp = lock.writeLock();
+        try {
+            table.buffer.force();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    private Table grow(Table old) throws IOException {
+        final Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        final Table grown = Table.create(tmp, old.capacity * 2);
+        int size = 0;
+        for (int slot = 0; slot < old.capacity; slot++) {
+            final int base = old.slotOffset(slot);
+            final long id = old.buffer.getLong(base + ID_OFFSET);
+            if (id == 0) continue;
+            final int target = -grown.find(id) - 1;
+            grown.copySlot(target, old, slot);
+            grown.matches[target] = old.matches[slot];
+            size++;
+        }
+        grown.setSize(size);
+        grown.buffer.force();
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        table = grown;
+        return grown;
+    }
+
+    private static int tableSizeFor(int n) {
+        int size = 16;
+        while (size < n) size <<= 1;
+        return size;
+    }
+
+    private static final class Table {
+
+        private final MappedByteBuffer buffer;
+        private final int capacity;
+        // decoded prefixes by slot, filled on first read. Entries are immutable so a racy read sees either null or a
+        // complete match, and the caller validates the stamp before using it.
+        private final PrefixMatch[] matches;
+
+        private Table(MappedByteBuffer buffer, int capacity) {
+            this.buffer = buffer;
+            this.capacity = capacity;
+            this.matches = new PrefixMatch[capacity];
+        }
+
+        private static Table create(Path path, int capacity) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                                                        StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                                                            HEADER_SIZE + (long) capacity * SLOT_SIZE);
+                buffer.putInt(0, MAGIC);
+                buffer.putInt(4, VERSION);
+                buffer.putInt(8, capacity);
+                buffer.putInt(12, 0);
+                buffer.force();
+                return new Table(buffer, capacity);
+            }
+        }
+
+        private static Table open(Path path) throws IOException {
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size());
+                if (channel.size() < HEADER_SIZE || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                    throw new IOException(path + " is not a prefix file");
+                }
+                final int capacity = buffer.getInt(8);
+                if (Integer.bitCount(capacity) != 1 || channel.size() != HEADER_SIZE + (long) capacity * SLOT_SIZE) {
+                    throw new IOException(path + " is corrupt");
+                }
+                return new Table(buffer, capacity);
+            }
+        }
+
+        private int size() {
+            return buffer.getInt(12);
+        }
+
+        private void setSize(int size) {
+            buffer.putInt(12, size);
+        }
+
+        /**
+         * @return the decoded prefix of the guild, or {@code null} if it has not been decoded yet or the probe was
+         * torn by a concurrent write
+         */
+        private PrefixMatch getCached(long guildId, PrefixMatch defaultMatch) {
+            final int slot = find(guildId);
+            if (slot == PROBE_EXHAUSTED) return null;
+            if (slot < 0) return defaultMatch;
+            return matches[slot];
+        }
+
+        /**
+         * Must be called while holding the read lock.
+         */
+        private PrefixMatch load(long guildId, PrefixMatch defaultMatch) {
+            final int slot = find(guildId);
+            if (slot < 0) return defaultMatch;
+            PrefixMatch match = matches[slot];
+            if (match == null) {
+                // concurrent readers may both decode the slot, but they store equal matches
+                match = matches[slot] = decode(slot, defaultMatch);
+            }
+            return match;
+        }
+
+        private PrefixMatch decode(int slot, PrefixMatch defaultMatch) {
+            final int base = slotOffset(slot);
+            final int length = Math.min(buffer.getShort(base + LENGTH_OFFSET), MAX_PREFIX_LENGTH);
+            if (length <= 0) return defaultMatch;
+            final char[] chars = new char[length];
+            for (int i = 0; i < length; i++) {
+                chars[i] = buffer.getChar(base + CHARS_OFFSET + 2 * i);
+            }
+            return PrefixMatch.of(new String(chars));
+        }
+
+        private int slotOffset(int slot) {
+            return HEADER_SIZE + slot * SLOT_SIZE;
+        }
+
+        /**
+         * Linear probing from the hash of the guild id.
+         *
+         * @return the slot holding the guild, {@code -(insertion slot) - 1} if it is absent, or
+         * {@link #PROBE_EXHAUSTED} if every slot was probed without finding either
+         */
+        private int find(long guildId) {
+            final int mask = capacity - 1;
+            int slot = hash(guildId) & mask;
+            for (int probes = 0; probes < capacity; probes++) {
+                final long id = buffer.getLong(slotOffset(slot) + ID_OFFSET);
+                if (id == guildId) return slot;
+                if (id == 0) return -slot - 1;
+                slot = (slot + 1) & mask;
+            }
+            // only reachable by a torn optimistic read; the caller will retry under the read lock
+            return PROBE_EXHAUSTED;
+        }
+
+        private void write(int slot, long guildId, String prefix) {
+            final int base = slotOffset(slot);
+            for (int i = 0; i < prefix.length(); i++) {
+                buffer.putChar(base + CHARS_OFFSET + 2 * i, prefix.charAt(i));
+            }
+            buffer.putShort(base + LENGTH_OFFSET, (short) prefix.length());
+            buffer.putLong(base + ID_OFFSET, guildId);
+        }
+
+        private void copySlot(int slot, Table from, int fromSlot) {
+            final int src = from.slotOffset(fromSlot);
+            final int dst = slotOffset(slot);
+            for (int i = 0; i < SLOT_SIZE; i++) {
+                buffer.put(dst + i, from.buffer.get(src + i));
+            }
+        }
+
+        private static int hash(long guildId) {
+            // snowflakes share their low bits within a millisecond, so spread the timestamp bits
+            long h = guildId * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
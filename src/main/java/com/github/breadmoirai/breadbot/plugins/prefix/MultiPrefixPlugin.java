@@ -0,0 +1,197 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.plugins.prefix;
+
+import gnu.trove.map.hash.TLongObjectHashMap;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.internal.utils.Checks;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Allows each guild to have several prefixes. Guilds without their own prefixes use the prefixes provided in the
+ * constructor. The prefixes of a guild and both forms of the bot's mention are matched in a single pass.
+ *
+ * <p>The prefixes of all guilds are kept in an immutable map that is copied whenever a guild's prefixes change, so
+ * matching a message does not lock. Changing prefixes takes time proportional to the number of guilds with their own
+ * prefixes.
+ */
+public class MultiPrefixPlugin implements PrefixPlugin {
+
+    private final String[] defaultPrefixes;
+    private final GuildPrefixes defaults;
+    private final Object writeLock = new Object();
+    private volatile TLongObjectHashMap<GuildPrefixes> guildPrefixes = new TLongObjectHashMap<>();
+    private volatile long selfId;
+
+    /**
+     * @param defaultPrefixes the prefixes used for guilds that have not been assigned any. The first is treated as
+     * the primary prefix.
+     */
+    public MultiPrefixPlugin(String... defaultPrefixes) {
+        Checks.notEmpty(defaultPrefixes, "defaultPrefixes");
+        this.defaultPrefixes = checkPrefixes(defaultPrefixes);
+        this.defaults = new GuildPrefixes(this.defaultPrefixes);
+    }
+
+    /**
+     * @return the first prefix assigned to the guild.
+     */
+    @Override
+    public String getPrefix(Guild guild) {
+        return getGuildPrefixes(guild.getIdLong()).prefixes[0];
+    }
+
+    /**
+     * Retrieves the prefixes that are used in a guild.
+     *
+     * @param guildId the id of the guild
+     * @return a copy of the prefixes, the first of which is the primary prefix.
+     */
+    public String[] getPrefixes(long guildId) {
+        return getGuildPrefixes(guildId).prefixes.clone();
+    }
+
+    /**
+     * Replaces the prefixes of a guild.
+     * This copies the map of every guild's prefixes, so it takes time proportional to the number of guilds with their
+     * own prefixes.
+     *
+     * @param guildId the id of the guild
+     * @param prefixes at least one non-empty prefix
+     */
+    public void setPrefixes(long guildId, String... prefixes) {
+        Checks.notEmpty(prefixes, "prefixes");
+        final GuildPrefixes guildPrefixes = new GuildPrefixes(checkPrefixes(prefixes));
+        synchronized (writeLock) {
+            final TLongObjectHashMap<GuildPrefixes> copy = new TLongObjectHashMap<>(this.guildPrefixes);
+            copy.put(guildId, guildPrefixes);
+            this.guildPrefixes = copy;
+        }
+    }
+
+    /**
+     * Adds a prefix to a guild in addition to the ones that it already uses.
+     * Like {@link #setPrefixes(long, String...)}, this copies the map of every guild's prefixes.
+     *
+     * @param guildId the id of the guild
+     * @param prefix a non-empty prefix
+     */
+    public void addPrefix(long guildId, String prefix) {
+        synchronized (writeLock) {
+            final Set<String> set = new LinkedHashSet<>(Arrays.asList(getPrefixes(guildId)));
+            set.add(prefix);
+            setPrefixes(guildId, set.toArray(new String[0]));
+        }
+    }
+
+    /**
+     * Removes a prefix from a guild. A guild cannot have its last prefix removed.
+     * Like {@link #setPrefixes(long, String...)}, this copies the map of every guild's prefixes.
+     *
+     * @param guildId the id of the guild
+     * @param prefix the prefix to remove
+     * @return {@code true} if the prefix was removed.
+     */
+    public boolean removePrefix(long guildId, String prefix) {
+        synchronized (writeLock) {
+            final Set<String> set = new LinkedHashSet<>(Arrays.asList(getPrefixes(guildId)));
+            if (set.size() == 1 || !set.remove(prefix)) return false;
+            setPrefixes(guildId, set.toArray(new String[0]));
+            return true;
+        }
+    }
+
+    /**
+     * Reverts a guild to the default prefixes.
+     * If the guild had its own prefixes, this copies the map of every guild's prefixes.
+     *
+     * @param guildId the id of the guild
+     */
+    public void resetPrefixes(long guildId) {
+        synchronized (writeLock) {
+            if (!guildPrefixes.containsKey(guildId)) return;
+            final TLongObjectHashMap<GuildPrefixes> copy = new TLongObjectHashMap<>(this.guildPrefixes);
+            copy.remove(guildId);
+            this.guildPrefixes = copy;
+        }
+    }
+
+    @Override
+    public PrefixMatch findPrefix(Guild guild, String content) {
+        return getGuildPrefixes(guild.getIdLong()).getMatcher(guild).match(content);
+    }
+
+    @Override
+    public boolean isMentionAware() {
+        return true;
+    }
+
+    private GuildPrefixes getGuildPrefixes(long guildId) {
+        final GuildPrefixes prefixes = guildPrefixes.get(guildId);
+        return prefixes == null ? defaults : prefixes;
+    }
+
+    private long getSelfId(Guild guild) {
+        long id = selfId;
+        if (id == 0) {
+            selfId = id = guild.getJDA().getSelfUser().getIdLong();
+        }
+        return id;
+    }
+
+    private static String[] checkPrefixes(String[] prefixes) {
+        for (String prefix : prefixes) {
+            Checks.notEmpty(prefix, "prefix");
+        }
+        return prefixes.clone();
+    }
+
+    /**
+     * Replaced whenever the prefixes of a guild change so that a stale matcher can never be used.
+     */
+    private final class GuildPrefixes {
+        private final String[] prefixes;
+        private volatile PrefixTrie matcher;
+
+        private GuildPrefixes(String[] prefixes) {
+            this.prefixes = prefixes;
+        }
+
+        private PrefixTrie getMatcher(Guild guild) {
+            PrefixTrie m = matcher;
+            if (m == null) {
+                final long id = getSelfId(guild);
+                final int n = prefixes.length;
+                final String[] all = Arrays.copyOf(prefixes, n + 2);
+                all[n] = "<@" + id + ">";
+                all[n + 1] = "<@!" + id + ">";
+                final PrefixMatch[] matches = new PrefixMatch[n + 2];
+                for (int i = 0; i < n; i++) {
+                    matches[i] = PrefixMatch.of(prefixes[i]);
+                }
+                // a mention reports the primary prefix, as the default command event factory does
+                matches[n] = new PrefixMatch(prefixes[0], all[n].length());
+                matches[n + 1] = new PrefixMatch(prefixes[0], all[n + 1].length());
+                matcher = m = PrefixTrie.compile(all, matches);
+            }
+            return m;
+        }
+    }
+}
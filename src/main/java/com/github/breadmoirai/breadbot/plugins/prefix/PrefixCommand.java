@@ -18,30 +18,33 @@ package com.github.breadmoirai.breadbot.plugins.prefix;
 
 import com.github.breadmoirai.breadbot.framework.annotation.command.MainCommand;
 import com.github.breadmoirai.breadbot.framework.event.CommandEvent;
+import com.github.breadmoirai.breadbot.util.DiscordPatterns;
+import net.dv8tion.jda.api.Permission;
 
 public class PrefixCommand {
 
-//    @Override
-//    public void handle(CommandEvent event, DynamicPrefixModule module) {
-//        if (event.hasContent()) {
-//            final String content = event.getContent();
-//            if (DiscordPatterns.WHITE_SPACE.matcher(content).find()) {
-//                event.reply("New prefix must not contain spaces");
-//                return;
-//            } else if (content.length() > 16) {
-//                event.reply("New prefix must not be greater than 16 characters");
-//                return;
-//            } else {
-//                module.changePrefix(event.getGuildId(), content);
-//                event.replyFormat("Prefix has been set to `%s`", content);
-//                return;
-//            }
-//        }
-//        event.replyFormat("The current prefix is `%s`", module.getPrefix(event.getGuildId()));
-//    }
-
     @MainCommand
     public void prefix(CommandEvent event, PrefixPlugin module) {
+        if (event.hasContent() && module instanceof DynamicPrefixPlugin) {
+            changePrefix(event, (DynamicPrefixPlugin) module);
+            return;
+        }
         event.sendFormat("The current prefix is `%s`", module.getPrefix(event.getGuild()));
     }
+
+    private void changePrefix(CommandEvent event, DynamicPrefixPlugin module) {
+        if (!event.getMember().hasPermission(Permission.MANAGE_SERVER)) {
+            event.send("You must have the Manage Server permission to change the prefix");
+            return;
+        }
+        final String content = event.getContent();
+        if (DiscordPatterns.WHITE_SPACE.matcher(content).find()) {
+            event.send("New prefix must not contain spaces");
+        } else if (content.length() > DynamicPrefixPlugin.MAX_PREFIX_LENGTH) {
+            event.sendFormat("New prefix must not be greater than %d characters", DynamicPrefixPlugin.MAX_PREFIX_LENGTH);
+        } else {
+            module.setPrefix(event.getGuildId(), content);
+            event.sendFormat("Prefix has been set to `%s`", content);
+        }
+    }
 }
\ No newline at end of file
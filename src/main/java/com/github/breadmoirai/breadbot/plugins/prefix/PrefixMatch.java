@@ -0,0 +1,71 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.plugins.prefix;
+
+/**
+ * The result of {@link PrefixPlugin#findPrefix}.
+ * Plugins are expected to reuse instances so that matching a message does not allocate.
+ */
+public final class PrefixMatch {
+
+    private static final int CACHE_SIZE = 64;
+    // indexed by the hash of the prefix. Entries are immutable so racing writers can only replace one valid match
+    // with another.
+    private static final PrefixMatch[] CACHE = new PrefixMatch[CACHE_SIZE];
+
+    private final String prefix;
+    private final int length;
+
+    /**
+     * @param prefix the prefix reported by {@link com.github.breadmoirai.breadbot.framework.event.CommandEvent#getPrefix()}
+     * @param length the number of characters at the start of the message that were matched. This differs from the
+     * length of the prefix when the message starts with a mention of the bot.
+     */
+    public PrefixMatch(String prefix, int length) {
+        this.prefix = prefix;
+        this.length = length;
+    }
+
+    /**
+     * Returns a match of the whole prefix. Recently requested prefixes are served from a small cache, so plugins that
+     * look up their prefix per message do not allocate a match each time.
+     *
+     * @param prefix the matched prefix
+     * @return a match with the length of the prefix
+     */
+    public static PrefixMatch of(String prefix) {
+        final int slot = prefix.hashCode() & (CACHE_SIZE - 1);
+        final PrefixMatch cached = CACHE[slot];
+        if (cached != null && cached.length == prefix.length() && cached.prefix.equals(prefix)) {
+            return cached;
+        }
+        return CACHE[slot] = new PrefixMatch(prefix, prefix.length());
+    }
+
+    public String getPrefix() {
+        return prefix;
+    }
+
+    public int getLength() {
+        return length;
+    }
+
+    @Override
+    public String toString() {
+        return "PrefixMatch{" + prefix + ", " + length + '}';
+    }
+}
@@ -31,4 +31,28 @@ public interface PrefixPlugin extends CommandPlugin {
     }
 
     String getPrefix(Guild guild);
+
+    /**
+     * Finds the prefix that the content of a message starts with.
+     * The default implementation compares the content to {@link #getPrefix(Guild)} and reuses the match from
+     * {@link PrefixMatch#of(String)}.
+     *
+     * @param guild the guild the message was sent in
+     * @param content the raw content of the message
+     * @return the matched prefix, or {@code null} if the content does not start with a prefix.
+     */
+    default PrefixMatch findPrefix(Guild guild, String content) {
+        final String prefix = getPrefix(guild);
+        return content.startsWith(prefix) ? PrefixMatch.of(prefix) : null;
+    }
+
+    /**
+     * Whether {@link #findPrefix(Guild, String)} also matches mentions of the bot, in which case they are not checked
+     * separately.
+     *
+     * @return {@code false} by default
+     */
+    default boolean isMentionAware() {
+        return false;
+    }
 }
\ No newline at end of file
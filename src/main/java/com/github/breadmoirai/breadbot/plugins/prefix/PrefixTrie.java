@@ -0,0 +1,113 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.plugins.prefix;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An immutable trie that finds the longest of a set of prefixes that a string starts with in a single pass.
+ */
+final class PrefixTrie {
+
+    private final char[][] edges;
+    private final int[][] targets;
+    private final PrefixMatch[] terminal;
+
+    private PrefixTrie(char[][] edges, int[][] targets, PrefixMatch[] terminal) {
+        this.edges = edges;
+        this.targets = targets;
+        this.terminal = terminal;
+    }
+
+    /**
+     * @param prefixes the prefixes to match
+     * @param matches the result of matching each prefix, at the same index
+     */
+    static PrefixTrie compile(String[] prefixes, PrefixMatch[] matches) {
+        final Node root = new Node();
+        int count = 1;
+        for (int p = 0; p < prefixes.length; p++) {
+            final String prefix = prefixes[p];
+            if (prefix == null || prefix.isEmpty()) continue;
+            Node node = root;
+            for (int i = 0; i < prefix.length(); i++) {
+                final char c = prefix.charAt(i);
+                Node next = node.children.get(c);
+                if (next == null) {
+                    next = new Node();
+                    node.children.put(c, next);
+                    count++;
+                }
+                node = next;
+            }
+            if (node.terminal == null) node.terminal = matches[p];
+        }
+        final char[][] edges = new char[count][];
+        final int[][] targets = new int[count][];
+        final PrefixMatch[] terminal = new PrefixMatch[count];
+        flatten(root, 0, new int[]{1}, edges, targets, terminal);
+        return new PrefixTrie(edges, targets, terminal);
+    }
+
+    private static void flatten(Node node, int id, int[] nextId, char[][] edges, int[][] targets,
+                                PrefixMatch[] terminal) {
+        final char[] e = new char[node.children.size()];
+        final int[] t = new int[e.length];
+        int i = 0;
+        for (Map.Entry<Character, Node> entry : node.children.entrySet()) {
+            e[i] = entry.getKey();
+            t[i] = nextId[0]++;
+            flatten(entry.getValue(), t[i], nextId, edges, targets, terminal);
+            i++;
+        }
+        edges[id] = e;
+        targets[id] = t;
+        terminal[id] = node.terminal;
+    }
+
+    /**
+     * @param s the string to match against
+     * @return the match of the longest prefix that {@code s} starts with, or {@code null}
+     */
+    PrefixMatch match(String s) {
+        int node = 0;
+        PrefixMatch best = null;
+        final int length = s.length();
+        for (int i = 0; ; i++) {
+            if (terminal[node] != null) best = terminal[node];
+            if (i == length) return best;
+            final char[] e = edges[node];
+            final int idx = e.length < 8 ? linearSearch(e, s.charAt(i)) : Arrays.binarySearch(e, s.charAt(i));
+            if (idx < 0) return best;
+            node = targets[node][idx];
+        }
+    }
+
+    private static int linearSearch(char[] e, char c) {
+        for (int i = 0; i < e.length; i++) {
+            if (e[i] == c) return i;
+        }
+        return -1;
+    }
+
+    private static final class Node {
+        private final TreeMap<Character, Node> children = new TreeMap<>();
+        private PrefixMatch terminal;
+    }
+}
@@ -24,9 +24,11 @@ import net.dv8tion.jda.api.entities.Guild;
 public class UnmodifiablePrefixPlugin implements PrefixPlugin {
 
     private final String defaultPrefix;
+    private final PrefixMatch match;
 
     public UnmodifiablePrefixPlugin(String prefix) {
         this.defaultPrefix = prefix;
+        this.match = PrefixMatch.of(prefix);
     }
 
     @Override
@@ -34,4 +36,9 @@ public class UnmodifiablePrefixPlugin implements PrefixPlugin {
         return defaultPrefix;
     }
 
+    @Override
+    public PrefixMatch findPrefix(Guild guild, String content) {
+        return content.startsWith(defaultPrefix) ? match : null;
+    }
+
 }
\ No newline at end of file
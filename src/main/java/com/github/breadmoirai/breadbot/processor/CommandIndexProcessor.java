@@ -0,0 +1,150 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.processor;
+
+import com.github.breadmoirai.breadbot.framework.command.internal.CommandIndex;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.util.Elements;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Writes {@value CommandIndex#RESOURCE}, listing every concrete top-level class that has a public method annotated
+ * with {@link com.github.breadmoirai.breadbot.framework.annotation.command.Command @Command} or
+ * {@link com.github.breadmoirai.breadbot.framework.annotation.command.MainCommand @MainCommand}, either itself or
+ * through a public nested class. Inherited methods count, so a class that only extends a command class is listed.
+ * {@code BreadBotBuilder#addCommands(String)} reads this index instead of scanning the classpath.
+ * <p>The processor is registered as a service. With Gradle it must be added to the {@code annotationProcessor}
+ * configuration as well as {@code implementation}.
+ */
+// every class is examined because a command class need not contain any of the annotations itself
+@SupportedAnnotationTypes("*")
+public class CommandIndexProcessor extends AbstractProcessor {
+
+    private static final String COMMAND = "com.github.breadmoirai.breadbot.framework.annotation.command.Command";
+    private static final String MAIN_COMMAND = "com.github.breadmoirai.breadbot.framework.annotation.command.MainCommand";
+
+    private final Set<String> classes = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (roundEnv.processingOver()) {
+            writeIndex();
+            return false;
+        }
+        final Elements elements = processingEnv.getElementUtils();
+        for (Element element : roundEnv.getRootElements()) {
+            if (element.getKind() != ElementKind.CLASS) continue;
+            final TypeElement type = (TypeElement) element;
+            if (isCommandClass(type)) {
+                classes.add(elements.getBinaryName(type).toString());
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The same check that {@code CommandHandleBuilderFactoryImpl#createCommands(String)} makes with
+     * {@link Class#getMethods()} and {@link Class#getClasses()}.
+     */
+    private boolean isCommandClass(TypeElement type) {
+        if (type.getModifiers().contains(Modifier.ABSTRACT)) return false;
+        if (hasCommandMethod(type)) return true;
+        for (Element member : processingEnv.getElementUtils().getAllMembers(type)) {
+            if ((member.getKind().isClass() || member.getKind().isInterface())
+                    && member.getModifiers().contains(Modifier.PUBLIC)
+                    && hasCommandMethod((TypeElement) member)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean hasCommandMethod(TypeElement type) {
+        for (Element member : processingEnv.getElementUtils().getAllMembers(type)) {
+            if (member.getKind() != ElementKind.METHOD || !member.getModifiers().contains(Modifier.PUBLIC)) continue;
+            for (AnnotationMirror annotation : member.getAnnotationMirrors()) {
+                final String name = ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName()
+                        .toString();
+                if (name.equals(COMMAND) || name.equals(MAIN_COMMAND)) return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeIndex() {
+        // an incremental compilation only sees the changed sources, so keep the classes from the previous index
+        // that still exist. Entries that no longer declare commands are filtered out when the index is read.
+        final Elements elements = processingEnv.getElementUtils();
+        try {
+            final FileObject existing = processingEnv.getFiler()
+                    .getResource(StandardLocation.CLASS_OUTPUT, "", CommandIndex.RESOURCE);
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(existing.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    line = line.trim();
+                    if (line.isEmpty() || line.charAt(0) == '#') continue;
+                    if (elements.getTypeElement(line) != null) {
+                        classes.add(line);
+                    }
+                }
+            }
+        } catch (IOException | IllegalArgumentException ignored) {
+            // there is no previous index
+        }
+        if (classes.isEmpty()) {
+            return;
+        }
+        try {
+            final FileObject index = processingEnv.getFiler()
+                    .createResource(StandardLocation.CLASS_OUTPUT, "", CommandIndex.RESOURCE);
+            try (Writer writer = new OutputStreamWriter(index.openOutputStream(), StandardCharsets.UTF_8)) {
+                for (String name : classes) {
+                    writer.write(name);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                                                     "Could not write " + CommandIndex.RESOURCE + ": " + e);
+        }
+    }
+}
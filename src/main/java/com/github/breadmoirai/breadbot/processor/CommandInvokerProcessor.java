@@ -0,0 +1,196 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.annotation.processing.SupportedOptions;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.PrimitiveType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a {@link GeneratedInvokers} class for every class that declares a method annotated with
+ * {@link com.github.breadmoirai.breadbot.framework.annotation.command.Command @Command} or
+ * {@link com.github.breadmoirai.breadbot.framework.annotation.command.MainCommand @MainCommand}.
+ * Each command method gets an invoker that casts its arguments and calls it directly. It is used in place of the
+ * invoker class that {@link com.github.breadmoirai.breadbot.framework.command.internal.CommandMethodInvokers} would
+ * otherwise define at runtime, and it also works for package-private command classes that the runtime invoker cannot
+ * link against. The command itself is still registered and built into a handle as usual, so help, subcommands,
+ * parsing and result handling are unaffected.
+ * <p>Only the invoker is generated. Parameter builders, type parsers, and the property maps built from annotations
+ * are still resolved reflectively when a command is added.
+ * <p>This processor does nothing unless the compiler is passed {@code -A}{@value #OPTION}.
+ */
+@SupportedAnnotationTypes({
+        "com.github.breadmoirai.breadbot.framework.annotation.command.Command",
+        "com.github.breadmoirai.breadbot.framework.annotation.command.MainCommand"
+})
+@SupportedOptions(CommandInvokerProcessor.OPTION)
+public class CommandInvokerProcessor extends AbstractProcessor {
+
+    public static final String OPTION = "breadbot.generateInvokers";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        if (!processingEnv.getOptions().containsKey(OPTION) || roundEnv.processingOver()) {
+            return false;
+        }
+        final Map<TypeElement, List<ExecutableElement>> commands = new LinkedHashMap<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.METHOD) continue;
+                final ExecutableElement method = (ExecutableElement) element;
+                final TypeElement type = (TypeElement) method.getEnclosingElement();
+                if (!canInvoke(method, type)) continue;
+                final List<ExecutableElement> methods = commands.computeIfAbsent(type, t -> new ArrayList<>());
+                if (!methods.contains(method)) methods.add(method);
+            }
+        }
+        commands.forEach(this::writeInvokers);
+        return false;
+    }
+
+    /**
+     * The generated class is in the same package, so it can call any method that is not private on a class that is
+     * not private. Local and anonymous classes cannot be named.
+     */
+    private static boolean canInvoke(ExecutableElement method, TypeElement type) {
+        if (method.getModifiers().contains(Modifier.STATIC) || method.getModifiers().contains(Modifier.PRIVATE)) {
+            return false;
+        }
+        for (Element e = type; e.getKind() != ElementKind.PACKAGE; e = e.getEnclosingElement()) {
+            if (!e.getKind().isClass() && !e.getKind().isInterface()) return false;
+            if (e.getModifiers().contains(Modifier.PRIVATE)) return false;
+        }
+        return true;
+    }
+
+    private void writeInvokers(TypeElement type, List<ExecutableElement> methods) {
+        final Elements elements = processingEnv.getElementUtils();
+        final Types types = processingEnv.getTypeUtils();
+        final String packageName = elements.getPackageOf(type).getQualifiedName().toString();
+        final String simpleName = getGeneratedSimpleName(type);
+        final String receiver = types.erasure(type.asType()).toString();
+
+        final StringBuilder sb = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            sb.append("package ").append(packageName).append(";\n\n");
+        }
+        sb.append("/**\n * Generated by ").append(CommandInvokerProcessor.class.getName()).append(".\n */\n");
+        sb.append("@SuppressWarnings({\"unchecked\", \"rawtypes\"})\n");
+        sb.append("public final class ").append(simpleName)
+                .append(" implements ").append(GeneratedInvokers.class.getName()).append(" {\n\n");
+        sb.append("    @Override\n");
+        sb.append("    public com.github.breadmoirai.breadbot.framework.command.internal.InvokableCommand get(String signature) {\n");
+        sb.append("        switch (signature) {\n");
+        for (ExecutableElement method : methods) {
+            final List<? extends VariableElement> parameters = method.getParameters();
+            final StringBuilder signature = new StringBuilder(method.getSimpleName()).append('(');
+            final StringBuilder call = new StringBuilder("((").append(receiver).append(") o).")
+                    .append(method.getSimpleName()).append('(');
+            for (int i = 0; i < parameters.size(); i++) {
+                final TypeMirror parameterType = types.erasure(parameters.get(i).asType());
+                if (i != 0) {
+                    signature.append(',');
+                    call.append(", ");
+                }
+                signature.append(getRuntimeName(parameterType));
+                call.append('(').append(getCastType(parameterType)).append(") p[").append(i).append(']');
+            }
+            signature.append(')');
+            call.append(')');
+            sb.append("            case \"").append(signature).append("\":\n");
+            if (method.getReturnType().getKind() == TypeKind.VOID) {
+                sb.append("                return (o, p) -> {\n");
+                sb.append("                    ").append(call).append(";\n");
+                sb.append("                    return null;\n");
+                sb.append("                };\n");
+            } else {
+                sb.append("                return (o, p) -> ").append(call).append(";\n");
+            }
+        }
+        sb.append("            default:\n");
+        sb.append("                return null;\n");
+        sb.append("        }\n");
+        sb.append("    }\n");
+        sb.append("}\n");
+
+        final String qualifiedName = packageName.isEmpty() ? simpleName : packageName + '.' + simpleName;
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, type).openWriter()) {
+            writer.write(sb.toString());
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                                                     "Could not write " + qualifiedName + ": " + e, type);
+        }
+    }
+
+    private static String getGeneratedSimpleName(TypeElement type) {
+        final StringBuilder sb = new StringBuilder(type.getSimpleName());
+        for (Element e = type.getEnclosingElement(); e.getKind() != ElementKind.PACKAGE; e = e.getEnclosingElement()) {
+            sb.insert(0, '_').insert(0, e.getSimpleName());
+        }
+        return sb.append(GeneratedInvokers.SUFFIX).toString();
+    }
+
+    /**
+     * @return the name of the erased type as {@link Class#getTypeName()} reports it at runtime
+     */
+    private String getRuntimeName(TypeMirror type) {
+        switch (type.getKind()) {
+            case ARRAY:
+                return getRuntimeName(((ArrayType) type).getComponentType()) + "[]";
+            case DECLARED:
+                final TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+                return processingEnv.getElementUtils().getBinaryName(element).toString();
+            default:
+                return type.toString();
+        }
+    }
+
+    private String getCastType(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass((PrimitiveType) type).getQualifiedName().toString();
+        }
+        return type.toString();
+    }
+}
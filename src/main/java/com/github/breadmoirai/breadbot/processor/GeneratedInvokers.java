@@ -0,0 +1,37 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.processor;
+
+import com.github.breadmoirai.breadbot.framework.command.internal.InvokableCommand;
+
+/**
+ * Implemented by the classes that {@link CommandInvokerProcessor} generates for each class with command methods.
+ * A generated class is named after the simple names of the command class and the classes enclosing it joined by
+ * {@code _}, followed by {@value #SUFFIX}, and sits in the same package.
+ */
+public interface GeneratedInvokers {
+
+    String SUFFIX = "_BreadBotInvokers";
+
+    /**
+     * @param signature the name of the method followed by the erased types of its parameters as returned by
+     *                  {@link Class#getTypeName()}, such as {@code add(int,java.lang.String)}
+     * @return an invoker that calls the method directly, or {@code null} if none was generated for it
+     */
+    InvokableCommand get(String signature);
+
+}
@@ -20,11 +20,26 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.IntStream;
 
+/**
+ * Checks and parsers for command arguments.
+ * The checks are single-pass scanners that do not allocate. The {@code parse...OrDefault} and {@code tryParse...}
+ * methods check and parse in the same pass and return a sentinel instead of throwing.
+ */
 public class Arguments {
 
+    private static final Pattern DEFAULT_BOOL_PATTERN = Pattern.compile("(true|yes|on)|(false|no|off)", Pattern.CASE_INSENSITIVE);
+
     private Arguments() {
     }
 
+    /**
+     * Receives the value from a {@code tryParse} method.
+     * A holder can be reused for any number of calls.
+     */
+    public static final class LongHolder {
+        public long value;
+    }
+
     public static boolean isNumber(String s) {
         if (s == null) return false;
         if (s.isEmpty()) return false;
@@ -38,171 +53,197 @@ public class Arguments {
         return true;
     }
 
+    /**
+     * @return {@code true} if {@link Integer#parseInt(String)} would accept the String. A leading {@code +} is not accepted.
+     */
     public static boolean isInteger(String s) {
-        if (s == null) return false;
-        if (s.isEmpty()) return false;
-        int neg = s.charAt(0) == '-' ? 1 : 0;
-        int length = s.length();
-        if (length > 10 + neg) return false;
-        if (length < 10 + neg) return isNumber(s);
-        for (int i = 0; i < length; i++) {
-            if (i == 0 && neg == 1) {
-                if (length == 1) return false;
-                else continue;
-            }
-            int digit = Character.digit(s.charAt(i), 10);
-            if (digit < 0) return false;
-            else {
-                switch (neg == 0 ? i : i - 1) {
-                    case 0:
-                        if (digit > 2) return false;
-                        break;
-                    case 1:
-                        if (digit > 1) return false;
-                        break;
-                    case 2:
-                        if (digit > 4) return false;
-                        break;
-                    case 3:
-                        if (digit > 7) return false;
-                        break;
-                    case 4:
-                        if (digit > 4) return false;
-                        break;
-                    case 5:
-                        if (digit > 8) return false;
-                        break;
-                    case 6:
-                        if (digit > 3) return false;
-                        break;
-                    case 7:
-                        if (digit > 6) return false;
-                        break;
-                    case 8:
-                        if (digit > 4) return false;
-                        break;
-                    case 9:
-                        if (digit > 7 + neg) return false;
-                        break;
-                }
-            }
+        return s != null && scanDecimal(s, 0, s.length(), true, null);
+    }
+
+    /**
+     * @return {@code true} if {@link Long#parseLong(String)} would accept the String. A leading {@code +} is not accepted.
+     */
+    public static boolean isLong(String s) {
+        return s != null && scanDecimal(s, 0, s.length(), false, null);
+    }
+
+    /**
+     * @return the value of the String as an int, or {@code defaultValue} if it is not an {@link #isInteger integer}.
+     */
+    public static int parseIntOrDefault(String s, int defaultValue) {
+        final LongHolder out = new LongHolder();
+        return s != null && scanDecimal(s, 0, s.length(), true, out) ? (int) out.value : defaultValue;
+    }
+
+    /**
+     * @return the value of the String as a long, or {@code defaultValue} if it is not a {@link #isLong long}.
+     */
+    public static long parseLongOrDefault(String s, long defaultValue) {
+        final LongHolder out = new LongHolder();
+        return s != null && scanDecimal(s, 0, s.length(), false, out) ? out.value : defaultValue;
+    }
+
+    /**
+     * Parses an int in the same pass that checks it.
+     *
+     * @param s the characters to parse
+     * @param out receives the value if the characters are an {@link #isInteger integer}. Otherwise it is left unchanged.
+     * @return {@code true} if the characters were parsed
+     */
+    public static boolean tryParseInt(CharSequence s, LongHolder out) {
+        return scanDecimal(s, 0, s.length(), true, out);
+    }
+
+    /**
+     * Parses a long in the same pass that checks it.
+     *
+     * @param s the characters to parse
+     * @param out receives the value if the characters are a {@link #isLong long}. Otherwise it is left unchanged.
+     * @return {@code true} if the characters were parsed
+     */
+    public static boolean tryParseLong(CharSequence s, LongHolder out) {
+        return tryParseLong(s, 0, s.length(), out);
+    }
+
+    /**
+     * Parses the characters {@code [from, to)} as a long, in the same pass that checks them.
+     *
+     * @param s the characters to parse
+     * @param from the index of the first character, inclusive
+     * @param to the index of the last character, exclusive
+     * @param out receives the value if the characters are a {@link #isLong long}. Otherwise it is left unchanged.
+     * @return {@code true} if the characters were parsed
+     */
+    public static boolean tryParseLong(CharSequence s, int from, int to, LongHolder out) {
+        return scanDecimal(s, from, to, false, out);
+    }
+
+    /**
+     * Accumulates negatively in the manner of {@link Long#parseLong(String)} so that the minimum value can be represented.
+     */
+    private static boolean scanDecimal(CharSequence s, int from, int to, boolean intRange, LongHolder out) {
+        if (from >= to) return false;
+        final boolean negative = s.charAt(from) == '-';
+        int i = negative ? from + 1 : from;
+        if (i == to) return false;
+        final long limit;
+        if (intRange) limit = negative ? Integer.MIN_VALUE : -Integer.MAX_VALUE;
+        else limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        final long multmin = limit / 10;
+        long value = 0;
+        for (; i < to; i++) {
+            final int digit = Character.digit(s.charAt(i), 10);
+            if (digit < 0 || value < multmin) return false;
+            value *= 10;
+            if (value < limit + digit) return false;
+            value -= digit;
         }
+        if (out != null) out.value = negative ? value : -value;
         return true;
     }
 
-    public static boolean isLong(String s) {
+    /**
+     * Matches the same Strings as {@link DiscordPatterns#FLOAT_REGEX}, which are the Strings that
+     * {@link Double#parseDouble(String)} accepts without surrounding whitespace.
+     *
+     * @param s the String to check
+     * @return {@code true} if the String can be parsed as a float or a double
+     */
+    public static boolean isFloat(String s) {
         if (s == null) return false;
-        if (s.isEmpty()) return false;
-        int neg = s.charAt(0) == '-' ? 1 : 0;
-        int length = s.length();
-        if (length > 19 + neg) return false;
-        if (length < 19 + neg) return isNumber(s);
-        for (int i = 0; i < length; i++) {
-            if (i == 0 && neg == 1) {
-                if (length == 1) return false;
-                else continue;
+        final int n = s.length();
+        int i = 0;
+        if (i < n && (s.charAt(i) == '+' || s.charAt(i) == '-')) i++;
+        if (s.startsWith("NaN", i)) return i + 3 == n;
+        if (s.startsWith("Infinity", i)) return i + 8 == n;
+        if (i + 1 < n && s.charAt(i) == '0' && (s.charAt(i + 1) == 'x' || s.charAt(i + 1) == 'X')) {
+            i += 2;
+            final int whole = i;
+            while (i < n && isAsciiHexDigit(s.charAt(i))) i++;
+            int digits = i - whole;
+            if (i < n && s.charAt(i) == '.') {
+                final int fraction = ++i;
+                while (i < n && isAsciiHexDigit(s.charAt(i))) i++;
+                digits += i - fraction;
             }
-            int digit = Character.digit(s.charAt(i), 10);
-            if (digit < 0) return false;
-            else {
-                switch (neg == 0 ? i : i - 1) {
-                    case 0:
-                        if (digit > 9) return false;
-                        break;
-                    case 1:
-                        if (digit > 2) return false;
-                        break;
-                    case 2:
-                        if (digit > 2) return false;
-                        break;
-                    case 3:
-                        if (digit > 3) return false;
-                        break;
-                    case 4:
-                        if (digit > 3) return false;
-                        break;
-                    case 5:
-                        if (digit > 7) return false;
-                        break;
-                    case 6:
-                        if (digit > 2) return false;
-                        break;
-                    case 7:
-                        if (digit > 0) return false;
-                        break;
-                    case 8:
-                        if (digit > 3) return false;
-                        break;
-                    case 9:
-                        if (digit > 6) return false;
-                        break;
-                    case 10:
-                        if (digit > 8) return false;
-                        break;
-                    case 11:
-                        if (digit > 5) return false;
-                        break;
-                    case 12:
-                        if (digit > 4) return false;
-                        break;
-                    case 13:
-                        if (digit > 7) return false;
-                        break;
-                    case 14:
-                        if (digit > 7) return false;
-                        break;
-                    case 15:
-                        if (digit > 5) return false;
-                        break;
-                    case 16:
-                        if (digit > 8) return false;
-                        break;
-                    case 17:
-                        if (digit > 0) return false;
-                        break;
-                    case 18:
-                        if (digit > 7 + neg) return false;
-                        break;
-                }
+            if (digits == 0 || i == n || (s.charAt(i) != 'p' && s.charAt(i) != 'P')) return false;
+            i = skipExponent(s, i + 1);
+        } else {
+            final int whole = i;
+            while (i < n && isAsciiDigit(s.charAt(i))) i++;
+            int digits = i - whole;
+            if (i < n && s.charAt(i) == '.') {
+                final int fraction = ++i;
+                while (i < n && isAsciiDigit(s.charAt(i))) i++;
+                digits += i - fraction;
             }
+            if (digits == 0) return false;
+            if (i < n && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) i = skipExponent(s, i + 1);
         }
-        return true;
+        if (i == -1) return false;
+        if (i < n) {
+            final char c = s.charAt(i);
+            if (c == 'f' || c == 'F' || c == 'd' || c == 'D') i++;
+        }
+        return i == n;
     }
 
-    public static boolean isFloat(String s) {
-        return DiscordPatterns.FLOAT_REGEX.matcher(s).matches();
+    /**
+     * @return the index after the exponent digits that start at {@code i}, or {@code -1} if there are none.
+     */
+    private static int skipExponent(String s, int i) {
+        final int n = s.length();
+        if (i < n && (s.charAt(i) == '+' || s.charAt(i) == '-')) i++;
+        final int digits = i;
+        while (i < n && isAsciiDigit(s.charAt(i))) i++;
+        return i == digits ? -1 : i;
+    }
+
+    private static boolean isAsciiDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isAsciiHexDigit(char c) {
+        return (c >= '0' && c <= '9') || (c >= 'a' && c <= 'f') || (c >= 'A' && c <= 'F');
     }
 
     public static boolean isDouble(String s) {
         return isFloat(s);
     }
 
+    /**
+     * @return the value of the String as a double, or {@code defaultValue} if it is not a {@link #isFloat float}.
+     */
+    public static double parseDoubleOrDefault(String s, double defaultValue) {
+        return isFloat(s) ? Double.parseDouble(s) : defaultValue;
+    }
+
     public static boolean isRange(String s) {
+        if (s == null || s.isEmpty()) return false;
         int neg1 = s.charAt(0) == '-' ? 1 : 0;
         int dash = s.indexOf('-', neg1);
         if (dash == -1 || dash + 1 == s.length()) return false;
-        String s1 = s.substring(0, dash);
-        String s2 = s.substring(dash + 1, s.length());
-        return isInteger(s1) && isInteger(s2);
+        return scanDecimal(s, 0, dash, true, null) && scanDecimal(s, dash + 1, s.length(), true, null);
     }
 
     public static IntStream parseRange(String s) {
+        if (s.isEmpty()) return null;
+        final LongHolder out = new LongHolder();
         int neg1 = s.charAt(0) == '-' ? 1 : 0;
         int dash = s.indexOf('-', neg1);
         if (dash == -1)
-            if (isInteger(s)) {
-                return IntStream.of(Integer.parseInt(s));
+            if (scanDecimal(s, 0, s.length(), true, out)) {
+                return IntStream.of((int) out.value);
             } else {
                 return null;
             }
         if (dash == s.length() - 1) {
             return null;
         }
-        String sa = s.substring(0, dash);
-        String sb = s.substring(dash + 1, s.length());
-        if (!isInteger(sa) || !isInteger(sb)) return null;
-        int a = Integer.parseInt(sa);
-        int b = Integer.parseInt(sb);
+        if (!scanDecimal(s, 0, dash, true, out)) return null;
+        final int a = (int) out.value;
+        if (!scanDecimal(s, dash + 1, s.length(), true, out)) return null;
+        final int b = (int) out.value;
         if (a < b) {
             return IntStream.rangeClosed(a, b);
         } else {
@@ -227,6 +268,33 @@ public class Arguments {
         return true;
     }
 
+    /**
+     * Parses a hexadecimal long, with an optional {@code #} or {@code 0x} prefix, in the same pass that checks it.
+     * Unlike {@link #isHex(String)}, at least one digit is required.
+     *
+     * @param s the characters to parse
+     * @param out receives the value if the characters are hexadecimal and fit in a long. Otherwise it is left unchanged.
+     * @return {@code true} if the characters were parsed
+     */
+    public static boolean tryParseHex(CharSequence s, LongHolder out) {
+        final int n = s.length();
+        int i = 0;
+        if (n > 0 && s.charAt(0) == '#') {
+            i = 1;
+        } else if (n > 1 && s.charAt(0) == '0' && (s.charAt(1) == 'x' || s.charAt(1) == 'X')) {
+            i = 2;
+        }
+        if (i == n) return false;
+        long value = 0;
+        for (; i < n; i++) {
+            final int digit = Character.digit(s.charAt(i), 16);
+            if (digit < 0 || (value & 0xF800000000000000L) != 0) return false;
+            value = value << 4 | digit;
+        }
+        out.value = value;
+        return true;
+    }
+
     public static boolean isMention(String s) {
         return s.startsWith("<") && s.endsWith(">");
     }
@@ -254,8 +322,9 @@ public class Arguments {
     /**
      * A Pattern that should be case insensitive and consists of 2 groups separated by an or.
      * The first group should consist of terms that indicate {@code true} and the second group {@code false}.
+     * <p>While this is the default pattern, it is matched with a scanner instead of the regex engine.
      */
-    public static Pattern boolPattern = Pattern.compile("(true|yes|on)|(false|no|off)", Pattern.CASE_INSENSITIVE);
+    public static Pattern boolPattern = DEFAULT_BOOL_PATTERN;
 
 
     /**
@@ -269,11 +338,57 @@ public class Arguments {
      * @return {@code true} if the string can be parsed into a boolean.
      */
     public static boolean isBoolean(String argument) {
-        return boolPattern.matcher(argument).matches();
+        final Pattern pattern = boolPattern;
+        if (pattern == DEFAULT_BOOL_PATTERN) return scanBoolean(argument) != null;
+        return pattern.matcher(argument).matches();
     }
 
     public static boolean parseBoolean(String argument) {
-        final Matcher matcher = boolPattern.matcher(argument);
-        return matcher.matches() && matcher.group(1) != null;
+        return parseBooleanOrNull(argument) == Boolean.TRUE;
+    }
+
+    /**
+     * @param argument a String to parse
+     * @return {@link Boolean#TRUE} or {@link Boolean#FALSE} if the String {@link #isBoolean is a boolean}, otherwise {@code null}
+     */
+    public static Boolean parseBooleanOrNull(String argument) {
+        final Pattern pattern = boolPattern;
+        if (pattern == DEFAULT_BOOL_PATTERN) return scanBoolean(argument);
+        final Matcher matcher = pattern.matcher(argument);
+        if (!matcher.matches()) return null;
+        return matcher.group(1) != null ? Boolean.TRUE : Boolean.FALSE;
+    }
+
+    /**
+     * Matches the terms of the default {@link #boolPattern}, ignoring ASCII case as the pattern does.
+     */
+    private static Boolean scanBoolean(String s) {
+        switch (s.length()) {
+            case 2:
+                if (equalsLowerCase(s, "on")) return Boolean.TRUE;
+                if (equalsLowerCase(s, "no")) return Boolean.FALSE;
+                return null;
+            case 3:
+                if (equalsLowerCase(s, "yes")) return Boolean.TRUE;
+                if (equalsLowerCase(s, "off")) return Boolean.FALSE;
+                return null;
+            case 4:
+                return equalsLowerCase(s, "true") ? Boolean.TRUE : null;
+            case 5:
+                return equalsLowerCase(s, "false") ? Boolean.FALSE : null;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * @param lower a lowercase ASCII word
+     */
+    private static boolean equalsLowerCase(String s, String lower) {
+        for (int i = 0; i < lower.length(); i++) {
+            // setting 0x20 lowercases an ASCII letter and cannot turn any other character into one
+            if ((s.charAt(i) | 0x20) != lower.charAt(i)) return false;
+        }
+        return true;
     }
-}
+}
\ No newline at end of file
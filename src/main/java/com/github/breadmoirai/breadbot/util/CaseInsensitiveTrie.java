@@ -0,0 +1,201 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * An immutable radix trie that matches keys case-insensitively directly against the characters of a
+ * {@link CharSequence}. Lookups do not allocate.
+ *
+ * @param <V> the value type
+ */
+public final class CaseInsensitiveTrie<V> {
+
+    private static final char[] EMPTY = new char[0];
+    private static final CaseInsensitiveTrie<?> EMPTY_TRIE = new CaseInsensitiveTrie<>(new Node<>(EMPTY, null, EMPTY, null), 0);
+
+    private final Node<V> root;
+    private final int size;
+
+    private CaseInsensitiveTrie(Node<V> root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    public static <V> CaseInsensitiveTrie<V> empty() {
+        @SuppressWarnings("unchecked") final CaseInsensitiveTrie<V> empty = (CaseInsensitiveTrie<V>) EMPTY_TRIE;
+        return empty;
+    }
+
+    public static <V> Builder<V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Finds the value associated with the key that equals the entire sequence, ignoring case.
+     *
+     * @param key the key to look up
+     * @return the value or {@code null} if there is none
+     */
+    public V get(CharSequence key) {
+        return key == null ? null : get(key, 0, key.length());
+    }
+
+    /**
+     * Finds the value associated with the key that equals {@code key.subSequence(start, end)}, ignoring case.
+     *
+     * @param key the sequence that contains the key
+     * @param start the index of the first character of the key, inclusive
+     * @param end the index after the last character of the key
+     * @return the value or {@code null} if there is none
+     */
+    public V get(CharSequence key, int start, int end) {
+        Node<V> node = root;
+        int i = start;
+        while (i < end) {
+            final int idx = Arrays.binarySearch(node.edges, fold(key.charAt(i)));
+            if (idx < 0) return null;
+            node = node.children[idx];
+            final char[] label = node.label;
+            if (end - i < label.length) return null;
+            // the first character was matched by the edge
+            for (int k = 1; k < label.length; k++) {
+                if (fold(key.charAt(i + k)) != label[k]) return null;
+            }
+            i += label.length;
+        }
+        return node.value;
+    }
+
+    public boolean containsKey(CharSequence key) {
+        return get(key) != null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private static char fold(char c) {
+        if (c < 0x80) {
+            return c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c;
+        }
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static final class Node<V> {
+        private final char[] label;
+        private final V value;
+        private final char[] edges;
+        private final Node<V>[] children;
+
+        private Node(char[] label, V value, char[] edges, Node<V>[] children) {
+            this.label = label;
+            this.value = value;
+            this.edges = edges;
+            this.children = children;
+        }
+    }
+
+    public static final class Builder<V> {
+
+        private final MutableNode<V> root = new MutableNode<>();
+        private int size;
+
+        private Builder() {
+        }
+
+        /**
+         * Associates a value with a key. Keys that only differ by case are considered to be the same key.
+         *
+         * @param key a non-empty key
+         * @param value a non-null value
+         * @return the value previously associated with the key, or {@code null}.
+         */
+        public V put(CharSequence key, V value) {
+            if (key == null || key.length() == 0) {
+                throw new IllegalArgumentException("key may not be null or empty");
+            }
+            if (value == null) {
+                throw new IllegalArgumentException("value may not be null");
+            }
+            MutableNode<V> node = root;
+            for (int i = 0; i < key.length(); i++) {
+                node = node.children.computeIfAbsent(fold(key.charAt(i)), c -> new MutableNode<>());
+            }
+            final V previous = node.value;
+            if (previous == null) size++;
+            node.value = value;
+            return previous;
+        }
+
+        public Builder<V> putAll(Map<? extends CharSequence, ? extends V> map) {
+            map.forEach(this::put);
+            return this;
+        }
+
+        public V get(CharSequence key) {
+            MutableNode<V> node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(fold(key.charAt(i)));
+            }
+            return node == null ? null : node.value;
+        }
+
+        public CaseInsensitiveTrie<V> build() {
+            return new CaseInsensitiveTrie<>(compile(EMPTY, root), size);
+        }
+
+        private static <V> Node<V> compile(char[] label, MutableNode<V> node) {
+            final char[] edges = new char[node.children.size()];
+            @SuppressWarnings("unchecked") final Node<V>[] children = new Node[edges.length];
+            int i = 0;
+            for (Map.Entry<Character, MutableNode<V>> entry : node.children.entrySet()) {
+                final List<Character> path = new ArrayList<>();
+                path.add(entry.getKey());
+                MutableNode<V> child = entry.getValue();
+                // collapse chains of single-child nodes into one edge
+                while (child.value == null && child.children.size() == 1) {
+                    final Map.Entry<Character, MutableNode<V>> only = child.children.firstEntry();
+                    path.add(only.getKey());
+                    child = only.getValue();
+                }
+                final char[] childLabel = new char[path.size()];
+                for (int j = 0; j < childLabel.length; j++) {
+                    childLabel[j] = path.get(j);
+                }
+                edges[i] = entry.getKey();
+                children[i] = compile(childLabel, child);
+                i++;
+            }
+            return new Node<>(label, node.value, edges, children);
+        }
+    }
+
+    private static final class MutableNode<V> {
+        private final TreeMap<Character, MutableNode<V>> children = new TreeMap<>();
+        private V value;
+    }
+}
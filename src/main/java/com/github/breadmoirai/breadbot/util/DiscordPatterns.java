@@ -29,7 +29,11 @@ public class DiscordPatterns {
      * Pattern: {@code [\s+](?=(?:[^"]*"[^"]*")*[^"]*$)}
      * <p>This pattern splits on spaces, ignoring spaces which are enclosed by quotation marks {@code "}.
      * If there is an uneven number of quotation marks, the result is indeterministic.
+     * <p>The lookahead scans the rest of the input at every whitespace, so splitting takes quadratic time.
+     *
+     * @deprecated The framework splits arguments with {@link com.github.breadmoirai.breadbot.framework.event.internal.DefaultArgumentSplitterImpl}, which does so in linear time.
      */
+    @Deprecated
     public static final Pattern ARGUMENT_SPLITTER = Pattern.compile("(\\s+)(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)");
 
     public static final Pattern FLOAT_REGEX = Pattern.compile("[+-]?(" +
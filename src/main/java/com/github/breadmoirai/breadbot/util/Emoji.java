@@ -17,8 +17,6 @@
 package com.github.breadmoirai.breadbot.util;
 
 import java.util.Arrays;
-import java.util.Comparator;
-import java.util.function.Function;
 
 /**
  * All default emojis in discord
@@ -1320,13 +1318,6 @@ public enum Emoji {
         PEOPLE, NATURE, FOOD, ACTIVITIES, TRAVEL, OBJECTS, SYMBOLS, FLAGS
     }
 
-    private static final Emoji[] SORTED;
-
-    static {
-        SORTED = Arrays.copyOf(Emoji.values(), Emoji.values().length);
-        Arrays.sort(SORTED, Comparator.comparing(Emoji::getUtf8));
-    }
-
     private final int[] codePoints;
     private final String utf8;
     private final Category category;
@@ -1392,24 +1383,16 @@ public enum Emoji {
     }
 
     /**
-     * This doesn't really work that well. Alternate names are not supported at this time.
-     * <p>This method relies on the {@link com.github.breadmoirai.breadbot.util.Emoji#valueOf} method with a small amount of prepossessing to ignore case and correct formatting. The {@link IllegalArgumentException} normally thrown by {@link Enum#valueOf Enum#valueOf(String)} is caught within this method and null is returned.
+     * Finds an emoji by its name, ignoring case. Spaces are treated as underscores.
+     * The name may be given in the {@link #getAsMention() :name:} format, and the leading underscore of
+     * {@link com.github.breadmoirai.breadbot.util.Emoji#_100 _100} and the like is optional.
+     * Alternate names are not supported at this time.
      *
      * @param name the name of the emoji.
-     * @return the emoji if found
+     * @return the emoji if found. Else {@code null}
      */
     public static Emoji getByName(String name) {
-        switch (name.charAt(0)) {
-            case '8':
-            case '1':
-                name = "_" + name;
-        }
-        name = name.replace(' ', '_');
-        try {
-            return Emoji.valueOf(name.toUpperCase());
-        } catch (IllegalArgumentException e) {
-            return null;
-        }
+        return EmojiIndex.getByName(name);
     }
 
     @Override
@@ -1419,48 +1402,12 @@ public enum Emoji {
 
     /**
      * Attempts to match an Emoji by their utf8 encoding.
-     * If the emoji is postfixed with a skin-tone, the skin-tone is ignored.
+     * If the emoji is postfixed with a skin-tone or a variation selector, it is ignored.
      *
      * @param s the String to match
      * @return the Emoji if found. Else {@code null}
      */
     public static Emoji find(String s) {
-        if (s.length() >= 2 && s.charAt(s.length() - 2) == '\uD83C') {
-            char tone = s.charAt(s.length() - 1);
-            if (tone >= '\uDFFC' && tone <= '\uDFFF') {
-                s = s.substring(0, s.length()-2);
-            }
-        }
-        int i = binarySearch(SORTED, s, Emoji::getUtf8, String::compareTo);
-        if (i == -1) return null;
-        else return SORTED[i];
+        return EmojiIndex.find(s);
     }
-
-    /**
-     * Just so you know, if there's an object with the same key, this function will find the first one that matches.
-     *
-     * @param array      array to search
-     * @param key        key to match
-     * @param extractor  extract key from object
-     * @param comparator comparator for key
-     * @param <T>        array type
-     * @param <V>        sort type
-     * @return index of object with key, -1 if not found
-     */
-    private static <T, V> int binarySearch(T[] array, V key, Function<T, V> extractor, Comparator<V> comparator) {
-        int low = 0;
-        int high = array.length - 1;
-        while (low <= high) {
-            int mid = low + ((high - low) / 2);
-            final int compare = comparator.compare(key, extractor.apply(array[mid]));
-            if (compare < 0)
-                high = mid - 1;
-            else if (compare > 0)
-                low = mid + 1;
-            else
-                return mid;
-        }
-        return -1;
-    }
-
 }
\ No newline at end of file
@@ -0,0 +1,165 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.util;
+
+import java.util.Locale;
+
+/**
+ * Open-addressed hash tables over every {@link Emoji}, keyed by utf8 and by name.
+ * Keys are hashed and compared directly from the input characters,
+ * so a lookup neither allocates nor throws, and anything longer than the longest key is rejected by its length.
+ */
+final class EmojiIndex {
+
+    private static final char VARIATION_SELECTOR = '\uFE0F';
+
+    private static final Emoji[] BY_UTF8;
+    private static final Emoji[] BY_NAME;
+    private static final String[] NAMES;
+    private static final int MASK;
+    private static final int MAX_UTF8_LENGTH;
+    private static final int MAX_NAME_LENGTH;
+
+    static {
+        final Emoji[] values = Emoji.values();
+        int capacity = Integer.highestOneBit(values.length * 3) << 1;
+        MASK = capacity - 1;
+        BY_UTF8 = new Emoji[capacity];
+        BY_NAME = new Emoji[capacity];
+        NAMES = new String[capacity];
+        int maxUtf8 = 0;
+        int maxName = 0;
+        for (Emoji emoji : values) {
+            final String utf8 = emoji.getUtf8();
+            maxUtf8 = Math.max(maxUtf8, utf8.length());
+            int i = utf8Hash(utf8, utf8.length()) & MASK;
+            while (BY_UTF8[i] != null) i = (i + 1) & MASK;
+            BY_UTF8[i] = emoji;
+
+            String name = emoji.name().toLowerCase(Locale.ROOT);
+            if (name.charAt(0) == '_') name = name.substring(1);
+            maxName = Math.max(maxName, name.length());
+            int j = nameHash(name, 0, name.length()) & MASK;
+            while (BY_NAME[j] != null) j = (j + 1) & MASK;
+            BY_NAME[j] = emoji;
+            NAMES[j] = name;
+        }
+        MAX_UTF8_LENGTH = maxUtf8;
+        MAX_NAME_LENGTH = maxName;
+    }
+
+    private EmojiIndex() {
+    }
+
+    /**
+     * A trailing variation selector and then a trailing skin-tone modifier are ignored if there is no exact match.
+     */
+    static Emoji find(CharSequence s) {
+        int end = s.length();
+        if (end == 0 || end > MAX_UTF8_LENGTH + 3) return null;
+        Emoji emoji = findUtf8(s, end);
+        if (emoji != null) return emoji;
+        if (s.charAt(end - 1) == VARIATION_SELECTOR) {
+            end--;
+            emoji = findUtf8(s, end);
+            if (emoji != null) return emoji;
+        }
+        if (end >= 2 && s.charAt(end - 2) == '\uD83C') {
+            final char tone = s.charAt(end - 1);
+            if (tone >= '\uDFFB' && tone <= '\uDFFF') {
+                return findUtf8(s, end - 2);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Names are matched ignoring case, with spaces treated as underscores.
+     * The name may be wrapped in colons, as in {@code :thumbsup:}, and the underscore before a name that
+     * starts with a digit is optional.
+     */
+    static Emoji getByName(CharSequence name) {
+        int from = 0;
+        int to = name.length();
+        if (to >= 2 && name.charAt(0) == ':' && name.charAt(to - 1) == ':') {
+            from++;
+            to--;
+        }
+        if (to - from >= 2 && name.charAt(from) == '_' && Character.isDigit(name.charAt(from + 1))) {
+            from++;
+        }
+        final int length = to - from;
+        if (length == 0 || length > MAX_NAME_LENGTH) return null;
+        for (int i = nameHash(name, from, to) & MASK; BY_NAME[i] != null; i = (i + 1) & MASK) {
+            final String key = NAMES[i];
+            if (key.length() == length && nameMatches(key, name, from)) {
+                return BY_NAME[i];
+            }
+        }
+        return null;
+    }
+
+    private static Emoji findUtf8(CharSequence s, int length) {
+        for (int i = utf8Hash(s, length) & MASK; BY_UTF8[i] != null; i = (i + 1) & MASK) {
+            final String key = BY_UTF8[i].getUtf8();
+            if (key.length() == length && utf8Matches(key, s)) {
+                return BY_UTF8[i];
+            }
+        }
+        return null;
+    }
+
+    private static boolean utf8Matches(String key, CharSequence s) {
+        for (int k = 0; k < key.length(); k++) {
+            if (key.charAt(k) != s.charAt(k)) return false;
+        }
+        return true;
+    }
+
+    private static boolean nameMatches(String key, CharSequence name, int from) {
+        for (int k = 0; k < key.length(); k++) {
+            if (key.charAt(k) != normalize(name.charAt(from + k))) return false;
+        }
+        return true;
+    }
+
+    private static int utf8Hash(CharSequence s, int length) {
+        int h = 0;
+        for (int k = 0; k < length; k++) {
+            h = 31 * h + s.charAt(k);
+        }
+        return mix(h);
+    }
+
+    private static int nameHash(CharSequence s, int from, int to) {
+        int h = 0;
+        for (int k = from; k < to; k++) {
+            h = 31 * h + normalize(s.charAt(k));
+        }
+        return mix(h);
+    }
+
+    private static char normalize(char c) {
+        if (c >= 'A' && c <= 'Z') return (char) (c + ('a' - 'A'));
+        if (c == ' ') return '_';
+        return c;
+    }
+
+    private static int mix(int h) {
+        return h ^ (h >>> 16);
+    }
+}
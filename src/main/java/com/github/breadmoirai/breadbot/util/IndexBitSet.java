@@ -0,0 +1,181 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.util;
+
+import java.util.Arrays;
+
+/**
+ * A growable set of non-negative indexes stored as bits.
+ * The first 64 indexes are kept in a single {@code long}; an array is only allocated once a larger index is added.
+ * Range operations work a word at a time.
+ */
+public final class IndexBitSet {
+
+    private static final int ADDRESS_BITS = 6;
+    private static final long WORD_MASK = -1L;
+
+    private long word;
+    private long[] overflow;
+
+    public boolean contains(int index) {
+        checkIndex(index);
+        return (getWord(index >>> ADDRESS_BITS) & (1L << index)) != 0;
+    }
+
+    /**
+     * @param index the index to add
+     * @return {@code true} if the index was not already present
+     */
+    public boolean add(int index) {
+        checkIndex(index);
+        final int w = index >>> ADDRESS_BITS;
+        final long old = getWord(w);
+        final long bit = 1L << index;
+        if ((old & bit) != 0) return false;
+        setWord(w, old | bit);
+        return true;
+    }
+
+    /**
+     * @param from the first index, inclusive
+     * @param to the last index, exclusive
+     * @return {@code true} if any index in the range was not already present
+     */
+    public boolean addRange(int from, int to) {
+        checkRange(from, to);
+        if (from == to) return false;
+        final int first = from >>> ADDRESS_BITS;
+        final int last = (to - 1) >>> ADDRESS_BITS;
+        boolean changed = false;
+        for (int w = first; w <= last; w++) {
+            final long mask = mask(w, first, last, from, to);
+            final long old = getWord(w);
+            if ((old & mask) != mask) {
+                setWord(w, old | mask);
+                changed = true;
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * @param from the first index, inclusive
+     * @param to the last index, exclusive
+     * @return {@code true} if every index in the range is present. An empty range is always present.
+     */
+    public boolean containsRange(int from, int to) {
+        checkRange(from, to);
+        if (from == to) return true;
+        final int first = from >>> ADDRESS_BITS;
+        final int last = (to - 1) >>> ADDRESS_BITS;
+        for (int w = first; w <= last; w++) {
+            final long mask = mask(w, first, last, from, to);
+            if ((getWord(w) & mask) != mask) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @param from the index to start searching from, inclusive
+     * @return the first index that is present at or after {@code from}, or {@code -1} if there is none
+     */
+    public int nextSetBit(int from) {
+        checkIndex(from);
+        int w = from >>> ADDRESS_BITS;
+        final int words = wordCount();
+        if (w >= words) return -1;
+        long bits = getWord(w) & (WORD_MASK << from);
+        while (bits == 0) {
+            if (++w == words) return -1;
+            bits = getWord(w);
+        }
+        return (w << ADDRESS_BITS) + Long.numberOfTrailingZeros(bits);
+    }
+
+    /**
+     * @param from the index to start searching from, inclusive
+     * @return the first index that is not present at or after {@code from}
+     */
+    public int nextClearBit(int from) {
+        checkIndex(from);
+        int w = from >>> ADDRESS_BITS;
+        final int words = wordCount();
+        if (w >= words) return from;
+        long bits = ~getWord(w) & (WORD_MASK << from);
+        while (bits == 0) {
+            if (++w == words) return w << ADDRESS_BITS;
+            bits = ~getWord(w);
+        }
+        return (w << ADDRESS_BITS) + Long.numberOfTrailingZeros(bits);
+    }
+
+    public boolean isEmpty() {
+        if (word != 0) return false;
+        if (overflow != null) {
+            for (long l : overflow) {
+                if (l != 0) return false;
+            }
+        }
+        return true;
+    }
+
+    public void clear() {
+        word = 0;
+        if (overflow != null) {
+            Arrays.fill(overflow, 0);
+        }
+    }
+
+    private static long mask(int w, int first, int last, int from, int to) {
+        long mask = WORD_MASK;
+        if (w == first) mask &= WORD_MASK << from;
+        if (w == last) mask &= WORD_MASK >>> -to;
+        return mask;
+    }
+
+    private int wordCount() {
+        return overflow == null ? 1 : overflow.length + 1;
+    }
+
+    private long getWord(int w) {
+        if (w == 0) return word;
+        if (overflow == null || w > overflow.length) return 0;
+        return overflow[w - 1];
+    }
+
+    private void setWord(int w, long value) {
+        if (w == 0) {
+            word = value;
+            return;
+        }
+        if (overflow == null) {
+            overflow = new long[Math.max(w, 2)];
+        } else if (w > overflow.length) {
+            overflow = Arrays.copyOf(overflow, Math.max(w, overflow.length * 2));
+        }
+        overflow[w - 1] = value;
+    }
+
+    private static void checkIndex(int index) {
+        if (index < 0) throw new IndexOutOfBoundsException("index < 0: " + index);
+    }
+
+    private static void checkRange(int from, int to) {
+        if (from < 0) throw new IndexOutOfBoundsException("from < 0: " + from);
+        if (from > to) throw new IndexOutOfBoundsException("from > to: " + from + " > " + to);
+    }
+}
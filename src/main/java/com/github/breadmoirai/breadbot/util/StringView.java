@@ -0,0 +1,89 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.breadbot.util;
+
+/**
+ * A {@link CharSequence} over a range of a {@link String} that does not copy the characters until
+ * {@link #toString()} is called.
+ */
+public final class StringView implements CharSequence {
+
+    private final String source;
+    private final int start;
+    private final int end;
+    private String string;
+
+    public StringView(String source, int start, int end) {
+        if (start < 0 || end > source.length() || start > end) {
+            throw new StringIndexOutOfBoundsException("start " + start + ", end " + end + ", length " + source.length());
+        }
+        this.source = source;
+        this.start = start;
+        this.end = end;
+    }
+
+    public static CharSequence of(String source, int start, int end) {
+        if (start == 0 && end == source.length()) return source;
+        return new StringView(source, start, end);
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public int getStart() {
+        return start;
+    }
+
+    public int getEnd() {
+        return end;
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        if (index < 0 || index >= end - start) {
+            throw new StringIndexOutOfBoundsException(index);
+        }
+        return source.charAt(start + index);
+    }
+
+    @Override
+    public CharSequence subSequence(int start, int end) {
+        if (start < 0 || end > length() || start > end) {
+            throw new StringIndexOutOfBoundsException("start " + start + ", end " + end + ", length " + length());
+        }
+        return new StringView(source, this.start + start, this.start + end);
+    }
+
+    public boolean contentEqualsIgnoreCase(String s) {
+        return s.length() == length() && source.regionMatches(true, start, s, 0, s.length());
+    }
+
+    @Override
+    public String toString() {
+        String s = string;
+        if (s == null) {
+            string = s = source.substring(start, end);
+        }
+        return s;
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.tests;
+
+import com.github.breadmoirai.breadbot.framework.builder.BreadBotBuilder;
+import com.github.breadmoirai.breadbot.framework.event.CommandArgumentList;
+import com.github.breadmoirai.breadbot.framework.event.CommandEvent;
+import com.github.breadmoirai.breadbot.framework.event.internal.CommandArgumentLazyLinkedList;
+import com.github.breadmoirai.breadbot.framework.event.internal.DelimiterArgumentSplitter;
+import com.github.breadmoirai.breadbot.framework.event.internal.arguments.GenericCommandArgument;
+import com.github.breadmoirai.breadbot.framework.parameter.CommandArgument;
+import com.github.breadmoirai.breadbot.util.Arguments;
+import com.github.breadmoirai.tests.commands.PingCommand;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.CALLS_REAL_METHODS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+public class ArgumentTester {
+
+    private static CommandArgument arg(String s) {
+        return new GenericCommandArgument(null, s);
+    }
+
+    @Test
+    public void integerClassification() {
+        assertTrue(arg("1999999999").isInteger());
+        assertEquals(1999999999, arg("1999999999").parseInt());
+        assertTrue(arg("-2147483648").isInteger());
+        assertFalse(arg("2147483648").isInteger());
+        assertTrue(arg("2147483648").isLong());
+        assertEquals(Long.MIN_VALUE, arg("-9223372036854775808").parseLong());
+        assertFalse(arg("9223372036854775808").isLong());
+        assertTrue(arg("9223372036854775808").isNumeric());
+        assertFalse(arg("-").isNumeric());
+        assertFalse(arg("").isNumeric());
+    }
+
+    @Test
+    public void floatClassification() {
+        assertTrue(arg("1.5").isFloat());
+        assertTrue(arg(".5e-3").isFloat());
+        assertTrue(arg("1.").isFloat());
+        assertTrue(arg("NaN").isFloat());
+        assertTrue(arg("0x1p3").isFloat());
+        assertTrue(arg("2f").isFloat());
+        assertFalse(arg("1e").isFloat());
+        assertFalse(arg("hello").isFloat());
+        assertEquals(0.0005, arg(".5e-3").parseDouble(), 0);
+    }
+
+    @Test
+    public void hexClassification() {
+        assertTrue(arg("#ff00AA").isHex());
+        assertTrue(arg("0x1F").isHex());
+        assertFalse(arg("0xfg").isHex());
+        assertEquals(0x1F, arg("0x1F").parseIntFromHex());
+    }
+
+    @Test
+    public void defaultParsers() {
+        // the interface defaults, which every argument type other than GenericCommandArgument inherits
+        assertEquals(-42, base("-42").parseInt());
+        assertEquals(5, base("+5").parseInt());
+        assertEquals(Long.MIN_VALUE, base("-9223372036854775808").parseLong());
+        assertEquals(0xff, base("#ff").parseIntFromHex());
+        assertEquals(Integer.MAX_VALUE, base("0x7fffffff").parseIntFromHex());
+        assertEquals(-0x10, base("-10").parseIntFromHex());
+        for (String s : new String[]{"2147483648", "1.5", ""}) {
+            try {
+                base(s).parseInt();
+                fail(s);
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        try {
+            base("0x80000000").parseIntFromHex();
+            fail();
+        } catch (NumberFormatException ignored) {
+        }
+    }
+
+    private static CommandArgument base(String s) {
+        final CommandArgument argument = mock(BaseArgument.class, CALLS_REAL_METHODS);
+        doReturn(s).when(argument).getArgument();
+        return argument;
+    }
+
+    // mockito can only call the interface defaults through a class that inherits them
+    abstract static class BaseArgument implements CommandArgument {
+    }
+
+    @Test
+    public void scanners() {
+        assertTrue(Arguments.isBoolean("Yes"));
+        assertFalse(Arguments.parseBoolean("OFF"));
+        assertEquals(null, Arguments.parseBooleanOrNull("yess"));
+        assertTrue(Arguments.isFloat("-0x1.8p1d"));
+        assertFalse(Arguments.isFloat("0x.p1"));
+        assertEquals(-7, Arguments.parseIntOrDefault("2147483648", -7));
+        assertEquals(Long.MIN_VALUE, Arguments.parseLongOrDefault("-9223372036854775808", 0));
+        final Arguments.LongHolder out = new Arguments.LongHolder();
+        assertTrue(Arguments.tryParseLong("<@1234>", 2, 6, out));
+        assertEquals(1234, out.value);
+        assertTrue(Arguments.tryParseHex("#ff", out));
+        assertEquals(255, out.value);
+        assertFalse(Arguments.tryParseHex("#", out));
+        assertTrue(Arguments.isRange("-3--1"));
+        assertEquals(3, Arguments.parseRange("-3--1").count());
+    }
+
+    @Test
+    public void delimiterSplitterMatchesPatternSplit() {
+        final Pattern[] delimiters = {
+                Pattern.compile("\\|"),
+                Pattern.compile("|", Pattern.LITERAL),
+                Pattern.compile(","),
+                Pattern.compile(", "),
+                Pattern.compile("||", Pattern.LITERAL)
+        };
+        final String[] inputs = {
+                "", " ", "|", "||", "a|b|c", "|a|", "a||b", " a | b ", "\"a|b\"", "`a`|b", "a,|, b", "a, b,, c",
+                "a|||b|", "| \" |` ` |a"
+        };
+        final int[] limits = {0, 1, 2, 3, -1};
+        for (Pattern delimiter : delimiters) {
+            for (int limit : limits) {
+                final DelimiterArgumentSplitter splitter = DelimiterArgumentSplitter.compile(delimiter, limit);
+                assertEquals(delimiter.pattern(), "Literal", splitter.getClass().getSimpleName());
+                for (String input : inputs) {
+                    assertSplit(splitter, delimiter, limit, input);
+                }
+            }
+        }
+
+        final Random random = new Random(18);
+        final char[] alphabet = {'|', '|', ',', ' ', ' ', 'a', 'b', '"', '`'};
+        for (int n = 0; n < 20000; n++) {
+            final char[] chars = new char[random.nextInt(12)];
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = alphabet[random.nextInt(alphabet.length)];
+            }
+            final Pattern delimiter = delimiters[random.nextInt(delimiters.length)];
+            final int limit = limits[random.nextInt(limits.length)];
+            assertSplit(DelimiterArgumentSplitter.compile(delimiter, limit), delimiter, limit, new String(chars));
+        }
+    }
+
+    @Test
+    public void delimiterSplitterRegion() {
+        final DelimiterArgumentSplitter splitter = DelimiterArgumentSplitter.compile(Pattern.compile("\\|"), 0);
+        final String source = "!cmd a | b |c";
+        assertEquals(Arrays.asList("a", "b"), toList(splitter.getArguments(source, 5, 11)));
+        assertEquals(Arrays.asList("a", "b", "c"), toList(splitter.getArguments(source, 5, source.length())));
+        assertEquals(Arrays.asList("b"), toList(splitter.getArguments(source, 7, 12)));
+        assertEquals(Arrays.asList("a"), toList(DelimiterArgumentSplitter.compile(Pattern.compile("\\s"), 0)
+                                                         .getArguments(source, 5, 7)));
+    }
+
+    @Test
+    public void lazyArgumentListReadsAhead() {
+        final CommandEvent event = MockFactory.mockCommand(new BreadBotBuilder().addCommand(PingCommand.class).build(),
+                                                           "!ping", MockFactory.UserType.BASIC);
+        final CommandArgumentList list = new CommandArgumentLazyLinkedList(Arrays.asList("a", "b", "c").iterator(), event);
+        // reading an index before the list has been filled that far
+        assertEquals("b", list.get(1).getArgument());
+        assertEquals("a", list.get(0).getArgument());
+        assertEquals("c", list.get(2).getArgument());
+        assertEquals(3, list.size());
+    }
+
+    /**
+     * The pipeline {@code @Delimiter} arguments went through before they were split with a {@link DelimiterArgumentSplitter}.
+     */
+    private static List<String> patternSplit(Pattern delimiter, int limit, String content) {
+        return Arrays.stream(delimiter.split(content.replace('`', '"'), limit))
+                .map(s -> s.replace('"', ' '))
+                .map(String::trim)
+                .filter(s -> !s.isEmpty())
+                .collect(Collectors.toList());
+    }
+
+    private static void assertSplit(DelimiterArgumentSplitter splitter, Pattern delimiter, int limit, String input) {
+        assertEquals(delimiter.pattern() + ", " + limit + ", [" + input + "]",
+                     patternSplit(delimiter, limit, input), toList(splitter.getArguments(input)));
+    }
+
+    private static List<String> toList(Iterator<String> iterator) {
+        final List<String> list = new ArrayList<>();
+        iterator.forEachRemaining(list::add);
+        return list;
+    }
+}
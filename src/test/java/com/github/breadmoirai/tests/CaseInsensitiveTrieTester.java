@@ -0,0 +1,125 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.tests;
+
+import com.github.breadmoirai.breadbot.util.CaseInsensitiveTrie;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CaseInsensitiveTrieTester {
+
+    @Test
+    public void caseFolding() {
+        final CaseInsensitiveTrie.Builder<String> builder = CaseInsensitiveTrie.builder();
+        assertNull(builder.put("Help", "help"));
+        assertEquals("help", builder.put("HELP", "HELP"));
+        final CaseInsensitiveTrie<String> trie = builder.build();
+
+        assertEquals(1, trie.size());
+        assertEquals("HELP", trie.get("help"));
+        assertEquals("HELP", trie.get("hElP"));
+        assertEquals("HELP", trie.get("HELP"));
+        assertNull(trie.get("hel"));
+        assertNull(trie.get("helps"));
+        assertNull(trie.get(""));
+        assertNull(trie.get(null));
+    }
+
+    @Test
+    public void sharedPrefixes() {
+        final CaseInsensitiveTrie<String> trie = CaseInsensitiveTrie.<String>builder()
+                .putAll(map("a", "ab", "abc", "abd", "hello", "help", "helpme", "b"))
+                .build();
+
+        assertEquals(8, trie.size());
+        for (String key : new String[]{"a", "ab", "abc", "abd", "hello", "help", "helpme", "b"}) {
+            assertEquals(key, trie.get(key));
+            assertEquals(key, trie.get(key.toUpperCase()));
+        }
+        // "hel" and "helpm" fall inside collapsed edges
+        assertNull(trie.get("he"));
+        assertNull(trie.get("hel"));
+        assertNull(trie.get("helpm"));
+        assertNull(trie.get("helx"));
+        assertNull(trie.get("abx"));
+        assertNull(trie.get("abcd"));
+        assertNull(trie.get("c"));
+        assertTrue(trie.containsKey("ABD"));
+        assertFalse(trie.containsKey("abe"));
+    }
+
+    @Test
+    public void subSequence() {
+        final CaseInsensitiveTrie<String> trie = CaseInsensitiveTrie.<String>builder()
+                .putAll(map("ping", "pin"))
+                .build();
+
+        final String message = "!PING pong";
+        assertEquals("ping", trie.get(message, 1, 5));
+        assertEquals("pin", trie.get(message, 1, 4));
+        assertNull(trie.get(message, 1, 3));
+        assertNull(trie.get(message, 0, 5));
+        assertNull(trie.get(message, 6, 10));
+    }
+
+    @Test
+    public void nonAscii() {
+        final CaseInsensitiveTrie<String> trie = CaseInsensitiveTrie.<String>builder()
+                .putAll(map("café", "cafe", "ΟΔΟΣ", "straße", "日本", "日本語"))
+                .build();
+
+        assertEquals("café", trie.get("CAFÉ"));
+        assertEquals("café", trie.get("Café"));
+        assertEquals("cafe", trie.get("CAFE"));
+        // final and medial sigma fold to the same character
+        assertEquals("ΟΔΟΣ", trie.get("οδος"));
+        assertEquals("ΟΔΟΣ", trie.get("οδοσ"));
+        assertEquals("straße", trie.get("STRAßE"));
+        assertEquals("日本", trie.get("日本"));
+        assertEquals("日本語", trie.get("日本語"));
+        assertNull(trie.get("日"));
+        assertNull(trie.get("cafè"));
+    }
+
+    @Test
+    public void empty() {
+        final CaseInsensitiveTrie<Object> trie = CaseInsensitiveTrie.empty();
+        assertTrue(trie.isEmpty());
+        assertNull(trie.get("anything"));
+        assertTrue(CaseInsensitiveTrie.builder().build().isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyKey() {
+        CaseInsensitiveTrie.builder().put("", "value");
+    }
+
+    private static Map<String, String> map(String... keys) {
+        final Map<String, String> map = new HashMap<>();
+        for (String key : keys) {
+            map.put(key, key);
+        }
+        return map;
+    }
+}
@@ -24,6 +24,7 @@ import com.github.breadmoirai.breadbot.framework.event.CommandEvent;
 import com.github.breadmoirai.breadbot.framework.event.internal.CommandEventInternal;
 import com.github.breadmoirai.breadbot.util.Emoji;
 import com.github.breadmoirai.tests.commands.ColorCommand;
+import com.github.breadmoirai.tests.commands.CooldownCommand;
 import com.github.breadmoirai.tests.commands.CountCommand;
 import com.github.breadmoirai.tests.commands.EmojiCommand;
 import com.github.breadmoirai.tests.commands.HelpCommand;
@@ -309,6 +310,16 @@ public class ClientTest {
         assertResponse("!ping", "bang!");
     }
 
+    @Test
+    public void cooldownTest() {
+        setupBread(bread -> bread.createCommands(CooldownCommand::new));
+        assertResponse("!cool", "cool");
+        assertResponse("!cool", null);
+        assertResponse("!limit", "ok");
+        assertResponse("!limit", "ok");
+        assertResponse("!limit", null);
+    }
+
     private void setupBread(Consumer<BreadBotBuilder> config) {
         BreadBotBuilder builder = new BreadBotBuilder();
         config.accept(builder);
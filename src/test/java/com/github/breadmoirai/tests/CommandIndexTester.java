@@ -0,0 +1,153 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.tests;
+
+import com.github.breadmoirai.breadbot.framework.BreadBot;
+import com.github.breadmoirai.breadbot.framework.builder.BreadBotBuilder;
+import com.github.breadmoirai.breadbot.framework.command.internal.CommandIndex;
+import com.github.breadmoirai.breadbot.processor.CommandIndexProcessor;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.annotation.processing.Processor;
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class CommandIndexTester {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void processorTest() throws IOException {
+        final File src = folder.newFolder("src");
+        final File out = folder.newFolder("out");
+        final File one = write(src, "One.java", "package idx;\n" +
+                "import com.github.breadmoirai.breadbot.framework.annotation.command.MainCommand;\n" +
+                "public class One { @MainCommand public String one() { return \"1\"; } }\n");
+        final File two = write(src, "Two.java", "package idx;\n" +
+                "import com.github.breadmoirai.breadbot.framework.annotation.command.Command;\n" +
+                "public class Two { public class Inner { @Command public String two() { return \"2\"; } } }\n");
+        final File three = write(src, "Three.java", "package idx;\n" +
+                "public class Three { public String three() { return \"3\"; } }\n");
+
+        assertEquals(Arrays.asList("idx.One", "idx.Two"), index(out, one, two, three));
+    }
+
+    @Test
+    public void inheritedCommandTest() throws IOException {
+        final File src = folder.newFolder("src");
+        final File out = folder.newFolder("out");
+        final File base = write(src, "Base.java", "package idx;\n" +
+                "import com.github.breadmoirai.breadbot.framework.annotation.command.Command;\n" +
+                "public abstract class Base { @Command public String base() { return \"b\"; } }\n");
+        final File foo = write(src, "Foo.java", "package idx;\n" +
+                "public class Foo extends Base {}\n");
+        final File stillAbstract = write(src, "StillAbstract.java", "package idx;\n" +
+                "public abstract class StillAbstract extends Base {}\n");
+        final File holder = write(src, "Holder.java", "package idx;\n" +
+                "public class Holder { public static class Inner extends Base {} }\n");
+        final File hidden = write(src, "Hidden.java", "package idx;\n" +
+                "public class Hidden { static class Inner extends Base {} }\n");
+        final File overridden = write(src, "Overridden.java", "package idx;\n" +
+                "public class Overridden extends Base { @Override public String base() { return \"o\"; } }\n");
+        // the annotated method is read from a class file rather than a source
+        final File pong = write(src, "Pong.java", "package idx;\n" +
+                "public class Pong extends com.github.breadmoirai.tests.commands.PingCommand {}\n");
+
+        assertEquals(Arrays.asList("idx.Foo", "idx.Holder", "idx.Pong"),
+                     index(out, base, foo, stillAbstract, holder, hidden, overridden, pong));
+    }
+
+    @Test
+    public void unindexedRootTest() throws IOException {
+        final File src = folder.newFolder("src");
+        final File indexed = folder.newFolder("indexed");
+        final File plain = folder.newFolder("plain");
+        final File one = write(src, "One.java", "package idx;\n" +
+                "import com.github.breadmoirai.breadbot.framework.annotation.command.MainCommand;\n" +
+                "public class One { @MainCommand public String one() { return \"1\"; } }\n");
+        final File two = write(src, "Two.java", "package idx;\n" +
+                "import com.github.breadmoirai.breadbot.framework.annotation.command.MainCommand;\n" +
+                "public class Two { @MainCommand public String two() { return \"2\"; } }\n");
+        compile(indexed, Collections.singletonList(new CommandIndexProcessor()), one);
+        compile(plain, Collections.emptyList(), two);
+        assertEquals(Collections.singletonList("idx.One"),
+                     Files.readAllLines(new File(indexed, CommandIndex.RESOURCE).toPath()));
+
+        final Thread thread = Thread.currentThread();
+        final ClassLoader contextLoader = thread.getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{indexed.toURI().toURL(), plain.toURI().toURL()},
+                                                        getClass().getClassLoader())) {
+            thread.setContextClassLoader(loader);
+            final List<String> names = CommandIndex.getCommandClasses("idx").stream()
+                    .map(Class::getName)
+                    .collect(Collectors.toList());
+            assertEquals(Arrays.asList("idx.One", "idx.Two"), names);
+
+            final BreadBot bot = new BreadBotBuilder().addCommands("idx").build();
+            assertNotNull(bot.getCommandMap().get("one"));
+            assertNotNull(bot.getCommandMap().get("two"));
+        } finally {
+            thread.setContextClassLoader(contextLoader);
+        }
+    }
+
+    private static void compile(File out, List<? extends Processor> processors, File... sources) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final JavaCompiler.CompilationTask task = compiler.getTask(
+                null, null, null,
+                Arrays.asList("-d", out.getPath(), "-classpath", System.getProperty("java.class.path")),
+                null,
+                compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8).getJavaFileObjects(sources));
+        task.setProcessors(processors);
+        assertTrue(task.call());
+    }
+
+    private static List<String> index(File out, File... sources) throws IOException {
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final JavaCompiler.CompilationTask task = compiler.getTask(
+                null, null, null,
+                Arrays.asList("-d", out.getPath(), "-classpath", System.getProperty("java.class.path"), "-proc:only"),
+                null,
+                compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8).getJavaFileObjects(sources));
+        task.setProcessors(Collections.singletonList(new CommandIndexProcessor()));
+        assertTrue(task.call());
+        return Files.readAllLines(new File(out, CommandIndex.RESOURCE).toPath());
+    }
+
+    private static File write(File dir, String name, String source) throws IOException {
+        final File file = new File(dir, name);
+        Files.write(file.toPath(), source.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+}
@@ -85,6 +85,9 @@ public class DefaultTester {
         assertResponse("!d2 1 day 5 hours 10 minutes 13 seconds", "PT29H10M13S");
         assertResponse("!d awff2 70s 21ttg1 4h 1raf", "PT4H1M10S");
         assertResponse("!d2 hello 2 sec my name is 4 h", "PT4H2S");
+        assertResponse("!d 1h30m", "PT1H30M");
+        assertResponse("!d PT2H", "PT2H");
+        assertResponse("!d in 2 hours, 30 Minutes", "PT2H30M");
     }
 
     @Ignore
@@ -0,0 +1,74 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.tests;
+
+import com.github.breadmoirai.breadbot.util.Emoji;
+import org.junit.Test;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class EmojiTester {
+
+    private static final String LIGHT_TONE = "\uD83C\uDFFB";
+    private static final String DARK_TONE = "\uD83C\uDFFF";
+    private static final String VARIATION_SELECTOR = "\uFE0F";
+
+    @Test
+    public void roundTrip() {
+        for (Emoji emoji : Emoji.values()) {
+            assertSame(emoji.name(), emoji, Emoji.find(emoji.getUtf8()));
+            assertSame(emoji.name(), emoji, Emoji.getByName(emoji.name()));
+            assertSame(emoji.name(), emoji, Emoji.getByName(emoji.getAsMention()));
+        }
+    }
+
+    @Test
+    public void findModifiers() {
+        final String thumbsUp = Emoji.THUMBSUP.getUtf8();
+        assertSame(Emoji.THUMBSUP, Emoji.find(thumbsUp + LIGHT_TONE));
+        assertSame(Emoji.THUMBSUP, Emoji.find(thumbsUp + DARK_TONE));
+        assertSame(Emoji.THUMBSUP, Emoji.find(thumbsUp + LIGHT_TONE + VARIATION_SELECTOR));
+        assertSame(Emoji.HEART, Emoji.find(Emoji.HEART.getUtf8() + VARIATION_SELECTOR));
+        // U+1F3FA is the code point just before the skin tones
+        assertNull(Emoji.find(thumbsUp + "\uD83C\uDFFA"));
+        assertNull(Emoji.find(thumbsUp + LIGHT_TONE + LIGHT_TONE));
+        assertNull(Emoji.find(VARIATION_SELECTOR));
+        assertNull(Emoji.find(LIGHT_TONE));
+        assertNull(Emoji.find(""));
+        assertNull(Emoji.find("thumbsup"));
+    }
+
+    @Test
+    public void getByNameForms() {
+        assertSame(Emoji.THUMBSUP, Emoji.getByName("thumbsup"));
+        assertSame(Emoji.THUMBSUP, Emoji.getByName(":ThumbsUp:"));
+        assertSame(Emoji.KISSING_HEART, Emoji.getByName("kissing heart"));
+        assertSame(Emoji.KISSING_HEART, Emoji.getByName(":kissing_heart:"));
+        assertSame(Emoji._100, Emoji.getByName("100"));
+        assertSame(Emoji._100, Emoji.getByName("_100"));
+        assertSame(Emoji._100, Emoji.getByName(":100:"));
+        assertSame(Emoji._100, Emoji.getByName(":_100:"));
+        assertNull(Emoji.getByName("__100"));
+        assertNull(Emoji.getByName("_thumbsup"));
+        assertNull(Emoji.getByName(":thumbsup"));
+        assertNull(Emoji.getByName(""));
+        assertNull(Emoji.getByName("::"));
+        assertNull(Emoji.getByName("_"));
+        assertNull(Emoji.getByName("thumbsup thumbsup thumbsup thumbsup thumbsup thumbsup thumbsup"));
+    }
+}
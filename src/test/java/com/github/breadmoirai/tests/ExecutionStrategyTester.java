@@ -0,0 +1,157 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.tests;
+
+import com.github.breadmoirai.breadbot.framework.command.CommandExecutionStrategy;
+import net.dv8tion.jda.api.events.message.guild.GuildMessageReceivedEvent;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ExecutionStrategyTester {
+
+    @Test
+    public void perChannelOrdering() throws InterruptedException {
+        final int channels = 5;
+        final int messages = 200;
+        final CommandExecutionStrategy strategy = CommandExecutionStrategy.perChannel(4, channels * messages);
+        final List<List<Integer>> executed = new ArrayList<>();
+        final AtomicInteger[] running = new AtomicInteger[channels];
+        final AtomicBoolean overlapped = new AtomicBoolean();
+        final CountDownLatch done = new CountDownLatch(channels * messages);
+        final GuildMessageReceivedEvent[] events = new GuildMessageReceivedEvent[channels];
+        for (int c = 0; c < channels; c++) {
+            executed.add(new ArrayList<>());
+            running[c] = new AtomicInteger();
+            events[c] = event(c);
+        }
+
+        for (int i = 0; i < messages; i++) {
+            for (int c = 0; c < channels; c++) {
+                final int channel = c;
+                final int message = i;
+                strategy.execute(events[c], () -> {
+                    if (running[channel].incrementAndGet() > 1) overlapped.set(true);
+                    executed.get(channel).add(message);
+                    running[channel].decrementAndGet();
+                    done.countDown();
+                });
+            }
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        strategy.shutdown();
+        assertFalse(overlapped.get());
+        for (List<Integer> list : executed) {
+            assertEquals(messages, list.size());
+            for (int i = 0; i < messages; i++) {
+                assertEquals(i, (int) list.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void rejectWhenFull() throws InterruptedException {
+        final CommandExecutionStrategy strategy = CommandExecutionStrategy.perChannel(1, 2);
+        final GuildMessageReceivedEvent event = event(1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(2);
+        final AtomicInteger count = new AtomicInteger();
+
+        strategy.execute(event, () -> {
+            started.countDown();
+            await(release);
+            count.incrementAndGet();
+            done.countDown();
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        strategy.execute(event, () -> {
+            count.incrementAndGet();
+            done.countDown();
+        });
+        strategy.execute(event, count::incrementAndGet);
+        assertEquals(2, strategy.getQueueDepth());
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        strategy.shutdown();
+        assertEquals(2, count.get());
+    }
+
+    @Test
+    public void shutdownDrainsAcceptedMessages() throws InterruptedException {
+        final CommandExecutionStrategy strategy = CommandExecutionStrategy.perChannel(1, 10);
+        final GuildMessageReceivedEvent first = event(1);
+        final GuildMessageReceivedEvent second = event(2);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch done = new CountDownLatch(4);
+        final List<String> executed = new ArrayList<>();
+
+        strategy.execute(first, () -> {
+            started.countDown();
+            await(release);
+            executed.add("a");
+            done.countDown();
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        strategy.execute(first, () -> {
+            executed.add("b");
+            done.countDown();
+        });
+        strategy.execute(first, () -> {
+            executed.add("c");
+            done.countDown();
+        });
+        strategy.execute(second, () -> {
+            executed.add("d");
+            done.countDown();
+        });
+        strategy.shutdown();
+        strategy.execute(first, () -> executed.add("rejected"));
+        strategy.execute(event(3), () -> executed.add("rejected"));
+
+        release.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(4, executed.size());
+        assertTrue(executed.indexOf("a") < executed.indexOf("b"));
+        assertTrue(executed.indexOf("b") < executed.indexOf("c"));
+        assertTrue(executed.contains("d"));
+    }
+
+    private static GuildMessageReceivedEvent event(long channelId) {
+        return MockFactory.mockMessageEvent("!ping", MockFactory.UserType.BASIC, 0L, channelId, message -> {});
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
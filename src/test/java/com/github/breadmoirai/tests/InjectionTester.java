@@ -4,6 +4,8 @@ import com.github.breadmoirai.breadbot.framework.BreadBot;
 import com.github.breadmoirai.breadbot.framework.CommandPlugin;
 import com.github.breadmoirai.breadbot.framework.annotation.command.MainCommand;
 import com.github.breadmoirai.breadbot.framework.builder.BreadBotBuilder;
+import com.github.breadmoirai.breadbot.framework.command.internal.LazyCommandHandle;
+import com.github.breadmoirai.breadbot.framework.error.BreadBotException;
 import com.github.breadmoirai.breadbot.framework.event.internal.CommandEventInternal;
 import com.github.breadmoirai.breadbot.plugins.prefix.PrefixPlugin;
 import com.github.breadmoirai.breadbot.plugins.waiter.EventWaiterPlugin;
@@ -18,8 +20,10 @@ import java.util.stream.Stream;
 
 import static com.github.breadmoirai.tests.MockFactory.mockCommand;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
@@ -74,7 +78,7 @@ public class InjectionTester {
     }
 
     @Test
-    public void sameObjBySupplierTest() {
+    public void equalHashCodeBySupplierTest() {
         client = new BreadBotBuilder()
                 .addPlugin(new TestPluginImpl())
                 .addCommand(() -> new InjectionTestCommand(1255365))
@@ -82,10 +86,91 @@ public class InjectionTester {
                 .build();
 
         assertResponse("!call", "ok ok ok");
-        assertResponse("!call", "null null ok");
+        assertResponse("!call", "ok ok ok");
         InjectionTestCommand.prefixPlugin = null;
-        assertResponse("!call", "null null null");
-        assertResponse("!call inner", "null null null ok");
+        assertResponse("!call", "ok ok ok");
+        assertResponse("!call inner", "ok ok ok ok");
+    }
+
+    @Test
+    public void constructorInjectionTest() {
+        client = new BreadBotBuilder()
+                .addPlugin(new TestPluginImpl())
+                .addCommand(ConstructorInjectionCommand.class)
+                .enableInjection()
+                .build();
+
+        assertResponse("!make", "ok ok");
+    }
+
+    @Test
+    public void constructorWithoutInjectionTest() {
+        client = new BreadBotBuilder()
+                .addPlugin(new TestPluginImpl())
+                .addCommand(DualConstructorCommand.class)
+                .build();
+        assertResponse("!dual", "default");
+
+        client = new BreadBotBuilder()
+                .addPlugin(new TestPluginImpl())
+                .addCommand(DualConstructorCommand.class)
+                .enableInjection()
+                .build();
+        assertResponse("!dual", "injected");
+
+        // without a no-args constructor the command cannot be created at all, which is reported by build
+        try {
+            new BreadBotBuilder()
+                    .addPlugin(new TestPluginImpl())
+                    .addCommand(ConstructorInjectionCommand.class)
+                    .build();
+            Assert.fail();
+        } catch (BreadBotException ignored) {
+        }
+    }
+
+    @Test
+    public void lazyInjectionTest() {
+        client = new BreadBotBuilder()
+                .addPlugin(new TestPluginImpl())
+                .addCommand(InjectionTestCommand::new)
+                .addCommand(ConstructorInjectionCommand.class)
+                .enableInjection()
+                .setLazyCommands(true)
+                .build();
+
+        final LazyCommandHandle call = (LazyCommandHandle) client.getCommandMap().get("call");
+        final LazyCommandHandle make = (LazyCommandHandle) client.getCommandMap().get("make");
+        assertFalse(call.isMaterialized());
+        assertFalse(make.isMaterialized());
+        assertResponse("!call", "ok ok ok");
+        assertResponse("!call inner", "ok ok ok ok");
+        assertTrue(call.isMaterialized());
+        assertFalse(make.isMaterialized());
+        assertResponse("!make", "ok ok");
+        assertTrue(make.isMaterialized());
+    }
+
+    @Test
+    public void lazyInvokerTest() {
+        // the invoker for a method in a package-private class cannot be created with the public lookup
+        try {
+            new BreadBotBuilder().addCommand(new HiddenCommand()).build();
+            Assert.fail();
+        } catch (BreadBotException ignored) {
+        }
+
+        client = new BreadBotBuilder()
+                .addCommand(new HiddenCommand())
+                .setLazyCommands(true)
+                .build();
+        final LazyCommandHandle hidden = (LazyCommandHandle) client.getCommandMap().get("hidden");
+        try {
+            hidden.materialize();
+            Assert.fail();
+        } catch (BreadBotException ignored) {
+        }
+        assertFalse(hidden.isMaterialized());
     }
 
     public static class InjectionTestCommand {
@@ -137,6 +222,50 @@ public class InjectionTester {
         }
     }
 
+    public static class ConstructorInjectionCommand {
+
+        private final TestPlugin testPlugin;
+        @Inject
+        public EventWaiterPlugin eventWaiter;
+
+        @Inject
+        public ConstructorInjectionCommand(TestPluginImpl testPlugin) {
+            this.testPlugin = testPlugin;
+        }
+
+        @MainCommand
+        public String make() {
+            return (testPlugin == null ? "null" : "ok") + (eventWaiter == null ? " null" : " ok");
+        }
+    }
+
+    public static class DualConstructorCommand {
+
+        private final String source;
+
+        public DualConstructorCommand() {
+            this.source = "default";
+        }
+
+        @Inject
+        public DualConstructorCommand(TestPluginImpl testPlugin) {
+            this.source = testPlugin == null ? "null" : "injected";
+        }
+
+        @MainCommand
+        public String dual() {
+            return source;
+        }
+    }
+
+    static class HiddenCommand {
+
+        @MainCommand
+        public String hidden() {
+            return "hidden";
+        }
+    }
+
     private void assertResponse(final String input, final String expected) {
         CommandEventInternal spy = mockCommand(client, input, MockFactory.UserType.BASIC);
 
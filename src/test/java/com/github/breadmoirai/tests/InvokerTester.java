@@ -0,0 +1,269 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.tests;
+
+import com.github.breadmoirai.breadbot.framework.annotation.command.Command;
+import com.github.breadmoirai.breadbot.framework.command.internal.CommandMethodInvokers;
+import com.github.breadmoirai.breadbot.framework.command.internal.InvokableCommand;
+import com.github.breadmoirai.breadbot.framework.command.internal.InvokableCommandHandle;
+import com.github.breadmoirai.breadbot.processor.CommandInvokerProcessor;
+import com.github.breadmoirai.breadbot.processor.GeneratedInvokers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class InvokerTester {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void spunInvokers() throws Throwable {
+        final Calculator calculator = new Calculator();
+
+        final InvokableCommand add = invoker("add", int.class, int.class);
+        assertEquals(42, add.invoke(calculator, new Object[]{12, 30}));
+
+        final InvokableCommand sum = invoker("sum", long[].class);
+        assertEquals(6L, sum.invoke(calculator, new Object[]{new long[]{1, 2, 3}}));
+
+        final InvokableCommand join = invoker("join", String.class, Object.class, char.class, String[].class);
+        assertEquals("a1!x,y", join.invoke(calculator, new Object[]{"a", 1, '!', new String[]{"x", "y"}}));
+
+        final InvokableCommand half = invoker("half", double.class, boolean.class);
+        assertEquals(1.5, half.invoke(calculator, new Object[]{3.0, true}));
+
+        final InvokableCommand touch = invoker("touch");
+        assertNull(touch.invoke(calculator, new Object[0]));
+        assertEquals(1, calculator.touched);
+
+        final InvokableCommand inherited = invoker("inherited", short.class, byte.class, float.class);
+        assertEquals("7 8 0.5", inherited.invoke(calculator, new Object[]{(short) 7, (byte) 8, 0.5f}));
+
+        // every method gets a class of its own
+        for (InvokableCommand invoker : Arrays.asList(add, sum, join, half, touch, inherited)) {
+            assertFalse(invoker instanceof InvokableCommandHandle);
+        }
+        assertNotEquals(add.getClass(), sum.getClass());
+        assertNotEquals(add.getClass(), invoker("add", int.class, int.class).getClass());
+    }
+
+    @Test
+    public void spunInvokerThrows() throws Throwable {
+        final IllegalStateException expected = new IllegalStateException();
+        try {
+            invoker("fail", RuntimeException.class).invoke(new Calculator(), new Object[]{expected});
+            fail();
+        } catch (IllegalStateException e) {
+            assertSame(expected, e);
+        }
+        try {
+            invoker("add", int.class, int.class).invoke(new Calculator(), new Object[]{"1", 2});
+            fail();
+        } catch (ClassCastException ignored) {
+        }
+    }
+
+    @Test
+    public void hiddenTypesFallBack() throws Throwable {
+        // the generated class could not link against a package-private parameter type
+        final InvokableCommand invoker = invoker("reveal", Hidden.class);
+        assertTrue(invoker instanceof InvokableCommandHandle);
+        assertEquals(-3, invoker.invoke(new Calculator(), new Object[]{new Hidden()}));
+    }
+
+    @Test
+    public void processorTest() throws Throwable {
+        final File src = folder.newFolder("src");
+        final File out = folder.newFolder("out");
+        final File sample = write(src, "Sample.java", "package gen;\n" +
+                "import com.github.breadmoirai.breadbot.framework.annotation.command.Command;\n" +
+                "import java.util.List;\n" +
+                "public class Sample {\n" +
+                "    @Command public int add(int a, int b) { return a + b; }\n" +
+                "    @Command public long sum(long[] values, int[][] grid) {\n" +
+                "        long s = 0; for (long v : values) s += v; for (int[] row : grid) for (int v : row) s += v;\n" +
+                "        return s;\n" +
+                "    }\n" +
+                "    @Command public String names(List<String> names, String... more) {\n" +
+                "        return String.join(\",\", names) + more.length;\n" +
+                "    }\n" +
+                "    @Command public <T extends Number> double total(T first, T[] rest) {\n" +
+                "        double t = first.doubleValue(); for (T n : rest) t += n.doubleValue(); return t;\n" +
+                "    }\n" +
+                "    @Command public int nested(Nested nested, Nested[] others) { return nested.value + others.length; }\n" +
+                "    @Command void hidden(StringBuilder sb) { sb.append(\"hidden\"); }\n" +
+                "    @Command public String primitives(char c, boolean b, byte by, short s, float f) {\n" +
+                "        return \"\" + c + b + by + s + f;\n" +
+                "    }\n" +
+                "    public static class Nested {\n" +
+                "        public final int value;\n" +
+                "        public Nested(int value) { this.value = value; }\n" +
+                "        @Command public int twice() { return value * 2; }\n" +
+                "    }\n" +
+                "    public class Inner { @Command public String inner() { return \"inner\"; } }\n" +
+                "    public static class Box<T> { @Command public T unbox(T value, List<? extends T> list) { return value; } }\n" +
+                "}\n" +
+                "class Hidden { @Command int secret(Sample.Nested nested) { return -nested.value; } }\n");
+
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        final JavaCompiler.CompilationTask task = compiler.getTask(
+                null, null, null,
+                Arrays.asList("-d", out.getPath(), "-classpath", System.getProperty("java.class.path"),
+                              "-A" + CommandInvokerProcessor.OPTION),
+                null,
+                compiler.getStandardFileManager(null, null, StandardCharsets.UTF_8).getJavaFileObjects(sample));
+        task.setProcessors(Collections.singletonList(new CommandInvokerProcessor()));
+        assertTrue(task.call());
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{out.toURI().toURL()}, getClass().getClassLoader())) {
+            final Map<String, Method> methods = new HashMap<>();
+            for (String name : new String[]{"Sample", "Sample$Nested", "Sample$Inner", "Sample$Box", "Hidden"}) {
+                final Class<?> type = loader.loadClass("gen." + name);
+                final String generatedName = "gen." + name.replace('$', '_') + GeneratedInvokers.SUFFIX;
+                final GeneratedInvokers generated = (GeneratedInvokers) loader.loadClass(generatedName)
+                        .getConstructor().newInstance();
+                for (Method method : type.getDeclaredMethods()) {
+                    if (!method.isAnnotationPresent(Command.class)) continue;
+                    // the processor names the parameter types as Class#getTypeName reports them
+                    assertNotNull(getSignature(method), generated.get(getSignature(method)));
+                    final InvokableCommand invoker = CommandMethodInvokers.create(method);
+                    assertTrue(invoker.getClass().getName(), invoker.getClass().getName().startsWith(generatedName));
+                    methods.put(method.getName(), method);
+                }
+            }
+            assertEquals(11, methods.size());
+
+            final Class<?> sampleClass = loader.loadClass("gen.Sample");
+            final Class<?> nestedClass = loader.loadClass("gen.Sample$Nested");
+            final Object sampleObject = sampleClass.getConstructor().newInstance();
+            final Object nested = nestedClass.getConstructor(int.class).newInstance(4);
+            final Object nestedArray = java.lang.reflect.Array.newInstance(nestedClass, 2);
+            assertEquals(42, invoke(methods, "add", sampleObject, 12, 30));
+            assertEquals(10L, invoke(methods, "sum", sampleObject, new long[]{1, 2}, new int[][]{{3}, {4}}));
+            assertEquals("a,b1", invoke(methods, "names", sampleObject, Arrays.asList("a", "b"), new String[]{"c"}));
+            assertEquals(6.5, invoke(methods, "total", sampleObject, 1, new Number[]{2.5, 3L}));
+            assertEquals(6, invoke(methods, "nested", sampleObject, nested, nestedArray));
+            final StringBuilder sb = new StringBuilder();
+            assertNull(invoke(methods, "hidden", sampleObject, sb));
+            assertEquals("hidden", sb.toString());
+            assertEquals("xtrue120.5", invoke(methods, "primitives", sampleObject, 'x', true, (byte) 1, (short) 2, 0.5f));
+            assertEquals(8, invoke(methods, "twice", nested));
+            final Object inner = loader.loadClass("gen.Sample$Inner").getConstructor(sampleClass).newInstance(sampleObject);
+            assertEquals("inner", invoke(methods, "inner", inner));
+            final Object box = loader.loadClass("gen.Sample$Box").getConstructor().newInstance();
+            assertEquals("v", invoke(methods, "unbox", box, "v", Collections.emptyList()));
+            final Constructor<?> hidden = loader.loadClass("gen.Hidden").getDeclaredConstructor();
+            hidden.setAccessible(true);
+            assertEquals(-4, invoke(methods, "secret", hidden.newInstance(), nested));
+        }
+    }
+
+    private static Object invoke(Map<String, Method> methods, String name, Object receiver, Object... arguments)
+            throws Throwable {
+        return CommandMethodInvokers.create(methods.get(name)).invoke(receiver, arguments);
+    }
+
+    private static String getSignature(Method method) {
+        final StringBuilder sb = new StringBuilder(method.getName()).append('(');
+        final Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (i != 0) sb.append(',');
+            sb.append(parameterTypes[i].getTypeName());
+        }
+        return sb.append(')').toString();
+    }
+
+    private static File write(File dir, String name, String source) throws IOException {
+        final File file = new File(dir, name);
+        Files.write(file.toPath(), source.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    private static InvokableCommand invoker(String name, Class<?>... parameterTypes) throws NoSuchMethodException {
+        return CommandMethodInvokers.create(Calculator.class.getMethod(name, parameterTypes));
+    }
+
+    public static class Base {
+
+        public String inherited(short a, byte b, float c) {
+            return a + " " + b + " " + c;
+        }
+    }
+
+    public static class Calculator extends Base {
+
+        int touched;
+
+        public int add(int a, int b) {
+            return a + b;
+        }
+
+        public long sum(long[] values) {
+            return Arrays.stream(values).sum();
+        }
+
+        public String join(String a, Object b, char c, String[] rest) {
+            return a + b + c + String.join(",", rest);
+        }
+
+        public double half(double value, boolean round) {
+            return round ? Math.round(value) / 2.0 : value / 2;
+        }
+
+        public void touch() {
+            touched++;
+        }
+
+        public void fail(RuntimeException e) {
+            throw e;
+        }
+
+        public int reveal(Hidden hidden) {
+            return hidden.value;
+        }
+    }
+
+    static class Hidden {
+
+        int value = -3;
+    }
+}
@@ -21,20 +21,29 @@ import com.github.breadmoirai.breadbot.framework.event.CommandEventFactory;
 import com.github.breadmoirai.breadbot.framework.event.internal.CommandEventInternal;
 import com.github.breadmoirai.breadbot.framework.internal.BreadBotImpl;
 import com.github.breadmoirai.breadbot.plugins.prefix.UnmodifiablePrefixPlugin;
+import net.dv8tion.jda.api.JDA;
 import net.dv8tion.jda.api.Permission;
 import net.dv8tion.jda.api.entities.Guild;
 import net.dv8tion.jda.api.entities.Member;
 import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.SelfUser;
+import net.dv8tion.jda.api.entities.TextChannel;
 import net.dv8tion.jda.api.entities.User;
 import net.dv8tion.jda.api.events.message.guild.GenericGuildMessageEvent;
+import net.dv8tion.jda.api.events.message.guild.GuildMessageReceivedEvent;
+import net.dv8tion.jda.api.hooks.IEventManager;
+import net.dv8tion.jda.api.requests.restaction.MessageAction;
+import org.mockito.MockSettings;
 
 import java.time.OffsetDateTime;
+import java.util.function.Consumer;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
 
 public class MockFactory {
 
@@ -98,9 +107,83 @@ public class MockFactory {
         return spy;
     }
 
+    /**
+     * Creates a message event as JDA would deliver it, so that it can be passed directly to {@link BreadBotImpl#onEvent}.
+     * The mocks are stub-only and do not record invocations, so the event may be dispatched repeatedly.
+     */
+    public static GuildMessageReceivedEvent mockMessageEvent(String input, UserType userType) {
+        return mockMessageEvent(input, userType, 0L, CHANNEL_ID, message -> {});
+    }
+
+    /**
+     * Creates a message event in the given guild and channel.
+     * Messages that the bot sends to the channel are passed to the {@code outbox} instead of being sent.
+     */
+    public static GuildMessageReceivedEvent mockMessageEvent(String input, UserType userType, long guildId, long channelId, Consumer<Message> outbox) {
+        final MockSettings settings = withSettings().stubOnly();
+        SelfUser mockSelf = mock(SelfUser.class, settings);
+        when(mockSelf.getIdLong()).thenReturn(SELF_ID);
+        when(mockSelf.getId()).thenReturn(String.valueOf(SELF_ID));
+        when(mockSelf.getName()).thenReturn(SELF_NAME);
+
+        JDA mockJDA = mock(JDA.class, settings);
+        IEventManager mockEventManager = mock(IEventManager.class, settings);
+        when(mockJDA.getSelfUser()).thenReturn(mockSelf);
+        when(mockJDA.getEventManager()).thenReturn(mockEventManager);
+
+        Guild mockGuild = mock(Guild.class, settings);
+        when(mockGuild.getIdLong()).thenReturn(guildId);
+        when(mockGuild.getJDA()).thenReturn(mockJDA);
+        Member mockSelfMember = mock(Member.class, settings);
+        when(mockSelfMember.getUser()).thenReturn(mockSelf);
+        when(mockSelfMember.getEffectiveName()).thenReturn(SELF_NAME);
+        when(mockSelfMember.getGuild()).thenReturn(mockGuild);
+        when(mockGuild.getSelfMember()).thenReturn(mockSelfMember);
+        when(mockGuild.getMemberById(SELF_ID)).thenReturn(mockSelfMember);
+        when(mockGuild.getMember(mockSelf)).thenReturn(mockSelfMember);
+
+        MessageAction mockAction = mock(MessageAction.class, settings);
+        TextChannel mockChannel = mock(TextChannel.class, settings);
+        when(mockChannel.getIdLong()).thenReturn(channelId);
+        when(mockChannel.getGuild()).thenReturn(mockGuild);
+        when(mockChannel.getJDA()).thenReturn(mockJDA);
+        when(mockChannel.sendMessage(any(Message.class))).thenAnswer(invocation -> {
+            outbox.accept(invocation.getArgument(0));
+            return mockAction;
+        });
+        when(mockGuild.getTextChannelById(channelId)).thenReturn(mockChannel);
+
+        Member mockMember = getMockMember(userType, settings);
+        User mockUser = mockMember.getUser();
+        when(mockMember.getGuild()).thenReturn(mockGuild);
+        when(mockGuild.getMember(mockUser)).thenReturn(mockMember);
+        when(mockGuild.getMemberById(USER_ID)).thenReturn(mockMember);
+
+        Message mockMessage = mock(Message.class, settings);
+        when(mockMessage.getContentRaw()).thenReturn(input);
+        when(mockMessage.getAuthor()).thenReturn(mockUser);
+        when(mockMessage.getMember()).thenReturn(mockMember);
+        when(mockMessage.getGuild()).thenReturn(mockGuild);
+        when(mockMessage.getTextChannel()).thenReturn(mockChannel);
+        when(mockMessage.getJDA()).thenReturn(mockJDA);
+
+        GuildMessageReceivedEvent mockEvent = mock(GuildMessageReceivedEvent.class, settings);
+        when(mockEvent.getJDA()).thenReturn(mockJDA);
+        when(mockEvent.getGuild()).thenReturn(mockGuild);
+        when(mockEvent.getChannel()).thenReturn(mockChannel);
+        when(mockEvent.getMessage()).thenReturn(mockMessage);
+        when(mockEvent.getAuthor()).thenReturn(mockUser);
+        when(mockEvent.getMember()).thenReturn(mockMember);
+        return mockEvent;
+    }
+
     private static Member getMockMember(UserType userType) {
-        final Member mock = mock(Member.class);
-        final User mocku = mock(User.class);
+        return getMockMember(userType, withSettings());
+    }
+
+    private static Member getMockMember(UserType userType, MockSettings settings) {
+        final Member mock = mock(Member.class, settings);
+        final User mocku = mock(User.class, settings);
         when(mock.getUser()).thenReturn(mocku);
         when(mocku.getIdLong()).thenReturn(USER_ID);
 
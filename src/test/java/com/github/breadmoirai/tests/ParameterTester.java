@@ -18,10 +18,15 @@ package com.github.breadmoirai.tests;
 
 import com.github.breadmoirai.breadbot.framework.BreadBot;
 import com.github.breadmoirai.breadbot.framework.builder.BreadBotBuilder;
+import com.github.breadmoirai.breadbot.framework.event.CommandArgumentList;
 import com.github.breadmoirai.breadbot.framework.event.internal.CommandEventInternal;
+import com.github.breadmoirai.breadbot.framework.parameter.ArgumentSpan;
+import com.github.breadmoirai.breadbot.framework.parameter.CommandParameter;
+import com.github.breadmoirai.breadbot.framework.parameter.CommandParser;
 import com.github.breadmoirai.tests.commands.NameCommand;
 import com.github.breadmoirai.tests.commands.ParameterFallbackCommand;
 import com.github.breadmoirai.tests.commands.PingCommand;
+import com.github.breadmoirai.tests.commands.PrimitiveArrayCommand;
 import com.github.breadmoirai.tests.commands.SSICommand;
 import com.github.breadmoirai.tests.commands.WikiParameterCommand;
 import org.junit.Test;
@@ -30,8 +35,10 @@ import uk.org.lidalia.slf4jtest.TestLoggerFactory;
 
 import static com.github.breadmoirai.tests.MockFactory.mockCommand;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -67,6 +74,42 @@ public class ParameterTester {
         assertResponse("!ssi a b 1", "a b 1, null, null");
         assertResponse("!iss a b 1", "1, a b, null");
         assertResponse("!iss a b 1 c ddd", "1, a b, c ddd");
+        assertResponse("!iss a b c d e 1", "1, a b c d e, null");
+        assertResponse("!sis a b 1 c d e", "a b 1 c d e, null, null");
+    }
+
+    @Test
+    public void optionalParametersDoNotSizeArguments() {
+        final CommandArgumentList arguments = mock(CommandArgumentList.class);
+        final CommandParser parser = new CommandParser(null, null, arguments, new CommandParameter[0]);
+        verify(arguments, never()).size();
+        assertFalse(parser.hasFailed());
+    }
+
+    @Test
+    public void argumentSpanSlices() {
+        client = new BreadBotBuilder()
+                .addCommand(PingCommand.class)
+                .build();
+        final CommandEventInternal event = mockCommand(client, "!ping ab c def", MockFactory.UserType.BASIC);
+        final ArgumentSpan run = ArgumentSpan.of(event, event.getArguments(), 0, 3);
+        assertEquals("ab c def", run.getJoined().toString());
+
+        final ArgumentSpan slice = run.slice(1);
+        assertEquals(1, slice.getStartIndex());
+        assertEquals(2, slice.size());
+        assertEquals("c def", slice.getJoined().toString());
+        assertEquals(1, slice.endOf(1));
+        assertEquals(5, slice.endOf(2));
+        assertEquals(2, slice.startOf(1));
+        assertEquals("c", slice.view(1).toString());
+        assertEquals("c def", slice.toArgument(2).getArgument());
+
+        final ArgumentSpan last = slice.slice(1);
+        assertEquals(2, last.getStartIndex());
+        assertEquals(1, last.size());
+        assertEquals("def", last.toArgument(1).getArgument());
+        assertEquals("def", run.slice(2).getJoined().toString());
     }
 
     @Test
@@ -118,6 +161,28 @@ public class ParameterTester {
         assertResponse("!sis a b 1 c", "c, 1, b");
     }
 
+    @Test
+    public void indexMixed() {
+        client = new BreadBotBuilder()
+                .addCommand(SSICommand.class, command -> command
+                        .configureParameter(2, param -> param.setIndex(1)))
+                .build();
+        assertResponse("!ssi 1 a b", "a, b, 1");
+        assertResponse("!ssi a b 1", "a, b, null");
+        assertResponse("!sis 1 a b", "a, null, 1");
+    }
+
+    @Test
+    public void primitiveArrays() {
+        client = new BreadBotBuilder()
+                .addCommand(PrimitiveArrayCommand.class)
+                .build();
+        assertResponse("!sum", "0");
+        assertResponse("!sum 1 2 three 4", "7");
+        assertResponse("!max 1.5 -2 x 3e1", "30.0");
+        assertResponse("!ids 123456789012 42 nope 5", "3 123456789012");
+    }
+
     @Test
     public void parameterPropertyTest() {
         client = new BreadBotBuilder().addCommand(NameCommand.class).build();
@@ -0,0 +1,260 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.tests;
+
+import com.github.breadmoirai.breadbot.framework.BreadBot;
+import com.github.breadmoirai.breadbot.framework.builder.BreadBotBuilder;
+import com.github.breadmoirai.breadbot.framework.event.CommandEventFactory;
+import com.github.breadmoirai.breadbot.framework.event.internal.CommandEventInternal;
+import com.github.breadmoirai.breadbot.framework.internal.BreadBotImpl;
+import com.github.breadmoirai.breadbot.plugins.prefix.DynamicPrefixPlugin;
+import com.github.breadmoirai.breadbot.plugins.prefix.MultiPrefixPlugin;
+import com.github.breadmoirai.breadbot.plugins.prefix.PrefixMatch;
+import com.github.breadmoirai.breadbot.plugins.prefix.PrefixPlugin;
+import com.github.breadmoirai.tests.commands.PingCommand;
+import net.dv8tion.jda.api.events.message.guild.GuildMessageReceivedEvent;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PrefixTester {
+
+    private static final long GUILD = 5L;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void multiPrefixDefaults() {
+        final MultiPrefixPlugin plugin = new MultiPrefixPlugin("!", "?");
+        final BreadBot client = client(plugin);
+
+        assertEvent(client, plugin, "!ping", "!", "ping");
+        assertEvent(client, plugin, "?ping", "?", "ping");
+        // mentions report the primary prefix
+        assertEvent(client, plugin, "<@1> ping", "!", "ping");
+        assertEvent(client, plugin, "<@!1>ping", "!", "ping");
+        assertNull(event(client, plugin, ".ping"));
+        assertNull(event(client, plugin, "<@2> ping"));
+    }
+
+    @Test
+    public void multiPrefixPerGuild() {
+        final MultiPrefixPlugin plugin = new MultiPrefixPlugin("!");
+        final BreadBot client = client(plugin);
+
+        plugin.setPrefixes(GUILD, ">", ">>");
+        assertArrayEquals(new String[]{">", ">>"}, plugin.getPrefixes(GUILD));
+        assertArrayEquals(new String[]{"!"}, plugin.getPrefixes(GUILD + 1));
+        // the longest prefix wins
+        assertEvent(client, plugin, ">>ping", ">>", "ping");
+        assertEvent(client, plugin, ">ping", ">", "ping");
+        assertNull(event(client, plugin, "!ping"));
+
+        plugin.addPrefix(GUILD, "$");
+        assertEvent(client, plugin, "$ping", "$", "ping");
+        assertTrue(plugin.removePrefix(GUILD, ">"));
+        assertEvent(client, plugin, ">>ping", ">>", "ping");
+        assertEvent(client, plugin, "<@1>ping", ">>", "ping");
+        assertNull(event(client, plugin, ">ping"));
+        assertTrue(plugin.removePrefix(GUILD, ">>"));
+        assertFalse(plugin.removePrefix(GUILD, "$"));
+
+        plugin.resetPrefixes(GUILD);
+        assertEvent(client, plugin, "!ping", "!", "ping");
+        assertNull(event(client, plugin, "$ping"));
+    }
+
+    @Test
+    public void multiPrefixMatchesAreReused() {
+        final MultiPrefixPlugin plugin = new MultiPrefixPlugin("!", "?");
+        final GuildMessageReceivedEvent event = MockFactory.mockMessageEvent("?ping", MockFactory.UserType.BASIC);
+        final PrefixMatch match = plugin.findPrefix(event.getGuild(), "?ping");
+        assertNotNull(match);
+        assertEquals("?", match.getPrefix());
+        assertEquals(1, match.getLength());
+        assertSame(match, plugin.findPrefix(event.getGuild(), "?pong"));
+    }
+
+    @Test
+    public void defaultMatchesAreReused() {
+        final String[] prefix = {"!"};
+        final PrefixPlugin plugin = guild -> prefix[0];
+        final GuildMessageReceivedEvent event = MockFactory.mockMessageEvent("!ping", MockFactory.UserType.BASIC);
+        final PrefixMatch match = plugin.findPrefix(event.getGuild(), "!ping");
+        assertEquals("!", match.getPrefix());
+        assertSame(match, plugin.findPrefix(event.getGuild(), "!pong"));
+        assertNull(plugin.findPrefix(event.getGuild(), "?ping"));
+        // an equal prefix that is a different instance, as a plugin building it per call would return
+        prefix[0] = new String(new char[]{'!'});
+        assertSame(match, plugin.findPrefix(event.getGuild(), "!ping"));
+        prefix[0] = ">>";
+        assertEquals(2, plugin.findPrefix(event.getGuild(), ">>ping").getLength());
+    }
+
+    @Test
+    public void dynamicPrefixPersistsAcrossReopen() throws IOException {
+        final Path file = folder.getRoot().toPath().resolve("prefixes.bin");
+        final DynamicPrefixPlugin plugin = new DynamicPrefixPlugin("!", file, 4);
+        plugin.setPrefix(GUILD, "?");
+        plugin.setPrefix(GUILD + 1, ">>");
+        plugin.close();
+
+        final DynamicPrefixPlugin reopened = new DynamicPrefixPlugin("!", file, 4);
+        assertEquals("?", reopened.getPrefix(GUILD));
+        assertEquals(">>", reopened.getPrefix(GUILD + 1));
+        assertEquals("!", reopened.getPrefix(GUILD + 2));
+        reopened.close();
+    }
+
+    @Test
+    public void dynamicPrefixGrows() throws IOException {
+        final Path file = folder.getRoot().toPath().resolve("prefixes.bin");
+        final DynamicPrefixPlugin plugin = new DynamicPrefixPlugin("!", file, 4);
+        final long initialSize = Files.size(file);
+        for (long id = 1; id <= 500; id++) {
+            plugin.setPrefix(id, "p" + id);
+        }
+        assertTrue(Files.size(file) > initialSize);
+        assertFalse(Files.exists(file.resolveSibling("prefixes.bin.tmp")));
+        for (long id = 1; id <= 500; id++) {
+            assertEquals("p" + id, plugin.getPrefix(id));
+        }
+        plugin.close();
+
+        final DynamicPrefixPlugin reopened = new DynamicPrefixPlugin("!", file, 4);
+        for (long id = 1; id <= 500; id++) {
+            assertEquals("p" + id, reopened.getPrefix(id));
+        }
+        assertEquals("!", reopened.getPrefix(501));
+        reopened.close();
+    }
+
+    @Test
+    public void dynamicPrefixRevertsToDefault() throws IOException {
+        final Path file = folder.getRoot().toPath().resolve("prefixes.bin");
+        final DynamicPrefixPlugin plugin = new DynamicPrefixPlugin("!", file, 4);
+        final BreadBot client = client(plugin);
+
+        plugin.setPrefix(GUILD, "?");
+        assertEvent(client, plugin, "?ping", "?", "ping");
+        assertNull(event(client, plugin, "!ping"));
+
+        plugin.setPrefix(GUILD, null);
+        assertEquals("!", plugin.getPrefix(GUILD));
+        assertEvent(client, plugin, "!ping", "!", "ping");
+        assertNull(event(client, plugin, "?ping"));
+        // reverting a guild that never set a prefix does nothing
+        plugin.setPrefix(GUILD + 1, null);
+        plugin.close();
+
+        final DynamicPrefixPlugin reopened = new DynamicPrefixPlugin("!", file, 4);
+        assertEquals("!", reopened.getPrefix(GUILD));
+        reopened.setPrefix(GUILD, "$");
+        assertEquals("$", reopened.getPrefix(GUILD));
+        reopened.close();
+    }
+
+    @Test
+    public void dynamicPrefixMatchesAreReused() throws IOException {
+        final DynamicPrefixPlugin plugin = new DynamicPrefixPlugin("!", folder.getRoot().toPath().resolve("p.bin"), 4);
+        plugin.setPrefix(GUILD, "?");
+        final GuildMessageReceivedEvent event = MockFactory.mockMessageEvent("?ping", MockFactory.UserType.BASIC, GUILD,
+                                                                             MockFactory.CHANNEL_ID, message -> {});
+        final PrefixMatch match = plugin.findPrefix(event.getGuild(), "?ping");
+        assertNotNull(match);
+        assertSame(match, plugin.findPrefix(event.getGuild(), "?pong"));
+        assertSame(plugin.getPrefix(GUILD), plugin.getPrefix(GUILD));
+        plugin.close();
+    }
+
+    @Test
+    public void dynamicPrefixReadsDuringWrites() throws Exception {
+        final DynamicPrefixPlugin plugin = new DynamicPrefixPlugin("!", folder.getRoot().toPath().resolve("p.bin"), 4);
+        final int guilds = 300;
+        final AtomicBoolean writing = new AtomicBoolean(true);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < 4; r++) {
+            final Thread reader = new Thread(() -> {
+                try {
+                    while (writing.get()) {
+                        for (long id = 1; id <= guilds; id++) {
+                            final String prefix = plugin.getPrefix(id);
+                            // every write to a guild is either absent, reverted, or starts with its id
+                            if (!prefix.equals("!") && !prefix.startsWith(id + ":")) {
+                                throw new AssertionError(id + " read " + prefix);
+                            }
+                        }
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            });
+            reader.start();
+            readers.add(reader);
+        }
+
+        for (int round = 0; round < 3; round++) {
+            for (long id = 1; id <= guilds; id++) {
+                plugin.setPrefix(id, (id % 7 == round) ? null : id + ":" + round);
+            }
+        }
+        writing.set(false);
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        if (failure.get() != null) throw new AssertionError(failure.get());
+        for (long id = 1; id <= guilds; id++) {
+            assertEquals(id % 7 == 2 ? "!" : id + ":2", plugin.getPrefix(id));
+        }
+        plugin.close();
+    }
+
+    private static BreadBot client(PrefixPlugin plugin) {
+        return new BreadBotBuilder().addPlugin(plugin).addCommand(PingCommand.class).build();
+    }
+
+    private static CommandEventInternal event(BreadBot client, PrefixPlugin plugin, String input) {
+        final GuildMessageReceivedEvent event = MockFactory.mockMessageEvent(input, MockFactory.UserType.BASIC, GUILD,
+                                                                             MockFactory.CHANNEL_ID, message -> {});
+        return new CommandEventFactory(plugin).createEvent(event, event.getMessage(), (BreadBotImpl) client);
+    }
+
+    private static void assertEvent(BreadBot client, PrefixPlugin plugin, String input, String prefix, String key) {
+        final CommandEventInternal event = event(client, plugin, input);
+        assertNotNull(input, event);
+        assertEquals(input, prefix, event.getPrefix());
+        assertEquals(input, key, event.getKeys()[0]);
+    }
+}
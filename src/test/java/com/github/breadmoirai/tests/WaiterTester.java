@@ -0,0 +1,88 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.tests;
+
+import com.github.breadmoirai.breadbot.framework.builder.BreadBotBuilder;
+import com.github.breadmoirai.breadbot.framework.event.CommandEvent;
+import com.github.breadmoirai.breadbot.framework.internal.BreadBotImpl;
+import com.github.breadmoirai.breadbot.plugins.waiter.EventWaiterPlugin;
+import com.github.breadmoirai.tests.commands.PingCommand;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.message.guild.GuildMessageReceivedEvent;
+import net.dv8tion.jda.api.hooks.IEventManager;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+public class WaiterTester {
+
+    @Test
+    public void unclaimedKeysReachWaiters() {
+        final EventWaiterPlugin waiter = new EventWaiterPlugin();
+        final BreadBotImpl bot = (BreadBotImpl) new BreadBotBuilder()
+                .addPlugin(waiter)
+                .addCommand(PingCommand.class)
+                .build();
+        final List<String> received = new ArrayList<>();
+        waiter.getEventWaiter().waitForCommand()
+                .withKeys("yes")
+                .action(event -> received.add(event.getKey()))
+                .build();
+
+        dispatch(bot, "!no", waiter.getEventWaiter()::onEvent);
+        assertTrue(received.isEmpty());
+        dispatch(bot, "!yes", waiter.getEventWaiter()::onEvent);
+        assertEquals(1, received.size());
+        assertEquals("yes", received.get(0));
+    }
+
+    @Test
+    public void rejectUnknownKeys() {
+        final BreadBotImpl bot = (BreadBotImpl) new BreadBotBuilder()
+                .addCommand(PingCommand.class)
+                .setRejectUnknownKeys(true)
+                .build();
+        final List<String> posted = new ArrayList<>();
+        final Consumer<GenericEvent> listener = event -> posted.add(((CommandEvent) event).getKey());
+
+        dispatch(bot, "!yes", listener);
+        assertTrue(posted.isEmpty());
+        dispatch(bot, "!ping", listener);
+        dispatch(bot, "!help", listener);
+        assertEquals(2, posted.size());
+    }
+
+    /**
+     * Sends the message to the bot and forwards everything it posts to the JDA event manager to the listener.
+     */
+    private static void dispatch(BreadBotImpl bot, String input, Consumer<GenericEvent> listener) {
+        final GuildMessageReceivedEvent event = MockFactory.mockMessageEvent(input, MockFactory.UserType.BASIC);
+        final IEventManager eventManager = event.getJDA().getEventManager();
+        doAnswer(invocation -> {
+            listener.accept(invocation.getArgument(0));
+            return null;
+        }).when(eventManager).handle(any());
+        bot.onEvent(event);
+    }
+}
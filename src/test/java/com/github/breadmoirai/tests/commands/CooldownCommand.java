@@ -0,0 +1,39 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.tests.commands;
+
+import com.github.breadmoirai.breadbot.framework.annotation.command.Command;
+import com.github.breadmoirai.breadbot.framework.annotation.command.Cooldown;
+import com.github.breadmoirai.breadbot.framework.annotation.command.RateLimit;
+import com.github.breadmoirai.breadbot.framework.event.CommandEvent;
+
+import java.util.concurrent.TimeUnit;
+
+public class CooldownCommand {
+
+    @Command
+    @Cooldown(value = 1, unit = TimeUnit.HOURS)
+    public void cool(CommandEvent event) {
+        event.reply("cool");
+    }
+
+    @Command
+    @RateLimit(permits = 2, period = 1, unit = TimeUnit.HOURS)
+    public void limit(CommandEvent event) {
+        event.reply("ok");
+    }
+}
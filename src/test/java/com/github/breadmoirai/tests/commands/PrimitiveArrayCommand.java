@@ -0,0 +1,40 @@
+/*
+ *        Copyright 2017 Ton Ly (BreadMoirai)
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package com.github.breadmoirai.tests.commands;
+
+import com.github.breadmoirai.breadbot.framework.annotation.command.Command;
+import gnu.trove.list.TLongList;
+
+import java.util.Arrays;
+
+public class PrimitiveArrayCommand {
+
+    @Command
+    public String sum(int[] values) {
+        return String.valueOf(Arrays.stream(values).sum());
+    }
+
+    @Command
+    public String max(double[] values) {
+        return String.valueOf(Arrays.stream(values).max().orElse(0));
+    }
+
+    @Command
+    public String ids(TLongList ids) {
+        return ids.size() + " " + ids.max();
+    }
+}